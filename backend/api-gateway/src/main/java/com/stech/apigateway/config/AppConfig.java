@@ -1,11 +1,16 @@
 package com.stech.apigateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.micrometer.observation.ObservationRegistry;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -13,13 +18,30 @@ import lombok.extern.slf4j.Slf4j;
 public class AppConfig {	
     @Bean
     @LoadBalanced
-    RestTemplate restTemplate(){
-       return new RestTemplate();
+    RestTemplate restTemplate(ObservationRegistry observationRegistry){
+       RestTemplate restTemplate = new RestTemplate();
+       restTemplate.setObservationRegistry(observationRegistry);
+       return restTemplate;
     }
     
     @Bean
     @LoadBalanced
-    WebClient.Builder webClient() {
-        return WebClient.builder();
-    }    
+    WebClient.Builder webClient(ObservationRegistry observationRegistry) {
+        // Client spans for the validate-token call, continuing the trace of the routed request
+        return WebClient.builder().observationRegistry(observationRegistry);
+    }
+
+    @Bean
+    SnowflakeIdGenerator requestIdGenerator(@Value("${app.ids.node-id:-1}") int nodeId, Environment environment) {
+        if (nodeId < 0) {
+            // Request ids must not repeat across instances; only a single local gateway may derive one
+            if (!environment.acceptsProfiles(Profiles.of("local", "loadtest"))) {
+                throw new IllegalStateException("app.ids.node-id (ID_NODE_ID) must be set to a node id between 0 and "
+                        + SnowflakeIdGenerator.MAX_NODE_ID + " that no other running instance uses");
+            }
+            nodeId = SnowflakeIdGenerator.derivedNodeId();
+            log.warn("app.ids.node-id is not set, using derived node id {}; set it when running several instances", nodeId);
+        }
+        return new SnowflakeIdGenerator(nodeId);
+    }
 }
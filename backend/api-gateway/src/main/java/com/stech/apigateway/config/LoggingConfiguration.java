@@ -1,5 +1,6 @@
 package com.stech.apigateway.config;
 
+import ch.qos.logback.classic.AsyncAppender;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
@@ -25,7 +26,7 @@ public class LoggingConfiguration {
 
         // Check if appenders already exist to avoid duplication on refresh
         Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
-        if (rootLogger.getAppender("FILE") != null) {
+        if (rootLogger.getAppender("ASYNC") != null) {
             return;
         }
 
@@ -57,9 +58,20 @@ public class LoggingConfiguration {
         fileAppender.setEncoder(fileEncoder);
         fileAppender.start();
 
+        // --- Async Wrapper ---
+        // Event-loop threads must never wait on the disk: INFO and below are discarded once the queue
+        // is 80% full, and nothing blocks when it is full
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("ASYNC");
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+
         // --- Add to Root Logger ---
         // rootLogger.addAppender(lokiAppender);
-        rootLogger.addAppender(fileAppender);
+        rootLogger.addAppender(asyncAppender);
         
         log.info("Logback configuration completed for API Gateway.");
     }
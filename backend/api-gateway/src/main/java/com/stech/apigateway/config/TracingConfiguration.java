@@ -0,0 +1,23 @@
+package com.stech.apigateway.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports the gateway's sampled spans to {@code <directory>/API-GATEWAY-spans.jsonl} when
+ * {@code app.tracing.file-export.enabled=true}, alongside or instead of OTLP.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.tracing.file-export", name = "enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    @Bean
+    FileSpanExporter fileSpanExporter(@Value("${spring.application.name:API-GATEWAY}") String appName,
+            @Value("${app.tracing.file-export.directory:../../logs}") String directory) {
+        return new FileSpanExporter(Path.of(directory, appName + "-spans.jsonl"));
+    }
+}
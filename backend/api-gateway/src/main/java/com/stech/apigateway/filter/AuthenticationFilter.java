@@ -44,14 +44,14 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
-            log.info("Authentication filter started");
+            requestLog(exchange, "Authentication filter started");
             if (!validator.isSecured.test(exchange.getRequest())) {
-                log.info("Authentication filter skipped");
+                requestLog(exchange, "Authentication filter skipped");
                 return chain.filter(exchange);
             }
 
             try {
-                log.info("Authentication filter processing");
+                requestLog(exchange, "Authentication filter processing");
                 String authHeader = getAuthorizationHeader(exchange);
                 String token = extractToken(authHeader);
                 String extractedPath = extractApiPath(exchange);
@@ -95,6 +95,17 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
         }
     }
 
+    /**
+     * Per-request trace lines: DEBUG normally, INFO for requests flagged by {@link CorrelationFilter}.
+     */
+    private void requestLog(ServerWebExchange exchange, String format, Object... args) {
+        if (CorrelationFilter.isDebugRequest(exchange)) {
+            log.info(format, args);
+        } else {
+            log.debug(format, args);
+        }
+    }
+
     private String getAuthorizationHeader(ServerWebExchange exchange) {
         //log.info("Authorization header: {}", exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
         if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
@@ -159,8 +170,8 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
             JsonObject data = jsonResponse.get("data").getAsJsonObject();
             String ipAddress = data.has(IP_ADDRESS) ? data.get(IP_ADDRESS).getAsString() : "-";
             String userId = data.has("userId") ? data.get("userId").getAsString() : "unknown";
-            log.info("IP Address: {}", ipAddress);
-            log.info("User ID: {}", userId);
+            requestLog(exchange, "IP Address: {}", ipAddress);
+            requestLog(exchange, "User ID: {}", userId);
             ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
                     .header(IP_ADDRESS, ipAddress)
                     .header("X-User-Id", userId)
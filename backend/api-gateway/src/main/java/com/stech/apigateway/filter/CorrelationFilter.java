@@ -1,28 +1,59 @@
 package com.stech.apigateway.filter;
 
-import java.util.UUID;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.stech.apigateway.config.SnowflakeIdGenerator;
+
 import reactor.core.publisher.Mono;
 
+/**
+ * Ensures every request carries an X-Request-ID. Only IDs listed in
+ * {@code app.logging.debug-request.ids} mark the exchange for full logging here; the ID is
+ * forwarded so the downstream services, which honour the same list, flag the same request.
+ * Requests without an ID, or with one that is not a short token, get a Snowflake id as 16 hex
+ * digits instead.
+ */
 @Component
 public class CorrelationFilter implements GlobalFilter, Ordered {
 
     private static final String CORRELATION_ID_HEADER_NAME = "X-Request-ID";
+    // Client IDs end up in every log line of the request, so only plain tokens are kept
+    private static final Pattern CLIENT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    /** Exchange attribute set on requests flagged for debug */
+    public static final String DEBUG_REQUEST_ATTRIBUTE = CorrelationFilter.class.getName() + ".debugRequest";
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    @Value("${app.logging.debug-request.ids:}")
+    private Set<String> debugIds;
+
+    public CorrelationFilter(SnowflakeIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    public static boolean isDebugRequest(ServerWebExchange exchange) {
+        return exchange.getAttribute(DEBUG_REQUEST_ATTRIBUTE) != null;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String correlationId = request.getHeaders().getFirst(CORRELATION_ID_HEADER_NAME);
 
-        if (correlationId == null || correlationId.isEmpty()) {
-             correlationId = UUID.randomUUID().toString();
+        if (correlationId == null || !CLIENT_ID.matcher(correlationId).matches()) {
+             correlationId = idGenerator.nextHexId();
+        } else if (debugIds.contains(correlationId)) {
+            exchange.getAttributes().put(DEBUG_REQUEST_ATTRIBUTE, Boolean.TRUE);
         }
 
         // Add correlation ID to request headers so downstream services receive it
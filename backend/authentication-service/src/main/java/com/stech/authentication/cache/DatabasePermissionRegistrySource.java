@@ -0,0 +1,74 @@
+package com.stech.authentication.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stech.authentication.entity.PermissionEntity;
+import com.stech.authentication.entity.PermissionRegistryEntity;
+import com.stech.authentication.repository.PermissionRegistryRepository;
+import com.stech.authentication.repository.PermissionRepository;
+import com.stech.common.security.authority.PermissionRegistrySnapshot;
+import com.stech.common.security.authority.PermissionRegistrySource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Permission registry of this service, read from the permissions table. Permissions without a
+ * bit index yet (new ones, seeded ones) get the next free indices in id order while the
+ * registry row is locked, so concurrent instances never hand out the same index twice.
+ */
+@Component
+@Primary
+@Slf4j
+public class DatabasePermissionRegistrySource implements PermissionRegistrySource {
+
+    private final PermissionRepository permissionRepository;
+    private final PermissionRegistryRepository permissionRegistryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabasePermissionRegistrySource(PermissionRepository permissionRepository,
+                                            PermissionRegistryRepository permissionRegistryRepository,
+                                            PlatformTransactionManager transactionManager) {
+        this.permissionRepository = permissionRepository;
+        this.permissionRegistryRepository = permissionRegistryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public PermissionRegistrySnapshot load(int minVersion) {
+        return transactionTemplate.execute(status -> {
+            PermissionRegistryEntity registry = permissionRegistryRepository
+                    .findForUpdate(PermissionRegistryEntity.SINGLETON_ID)
+                    .orElseGet(this::createRegistry);
+
+            int next = registry.getNextBitIndex();
+            List<PermissionEntity> unassigned = permissionRepository.findByBitIndexIsNullOrderByIdAsc();
+            for (PermissionEntity permission : unassigned) {
+                permission.setBitIndex(next++);
+            }
+            if (!unassigned.isEmpty()) {
+                registry.setNextBitIndex(next);
+                log.info("Assigned bit indices to {} permissions, registry now at version {}", unassigned.size(), next);
+            }
+
+            String[] slugs = new String[next];
+            for (PermissionEntity permission : permissionRepository.findByBitIndexIsNotNull()) {
+                slugs[permission.getBitIndex()] = permission.getSlug();
+            }
+            return new PermissionRegistrySnapshot(next, Arrays.asList(slugs));
+        });
+    }
+
+    private PermissionRegistryEntity createRegistry() {
+        Integer maxBitIndex = permissionRepository.findMaxBitIndex();
+        return permissionRegistryRepository.saveAndFlush(PermissionRegistryEntity.builder()
+                .id(PermissionRegistryEntity.SINGLETON_ID)
+                .nextBitIndex(maxBitIndex != null ? maxBitIndex + 1 : 0)
+                .build());
+    }
+}
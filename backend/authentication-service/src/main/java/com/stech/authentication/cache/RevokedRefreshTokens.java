@@ -0,0 +1,133 @@
+package com.stech.authentication.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.stech.authentication.repository.RefreshTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory Bloom filter of revoked refresh token ids. A token the filter has never seen is
+ * definitely not revoked, so a refresh with a valid signature and expiry needs no read of its
+ * refresh_tokens row; a hit (revoked, or a false positive) falls back to the database.
+ * Revocations made here are added at once; those of other AUTH-SERVICE instances are picked up
+ * from the revoked_at index every poll interval. The filter is rebuilt periodically, dropping
+ * expired tokens, so the false-positive rate stays near the configured one.
+ */
+@Component
+@Slf4j
+public class RevokedRefreshTokens {
+
+    // Revocations stamped by instances whose clocks run behind ours are still picked up
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long pollMillis;
+    private final long rebuildMillis;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    // Not synchronized: a monitor held across the load query would pin a virtual thread
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile Instant polledUpTo;
+    private volatile long polledAt;
+    private volatile long builtAt;
+
+    public RevokedRefreshTokens(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${app.auth.refresh-token.revocation-filter.expected-revocations:100000}") int expectedRevocations,
+                                @Value("${app.auth.refresh-token.revocation-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${app.auth.refresh-token.revocation-filter.poll-seconds:5}") long pollSeconds,
+                                @Value("${app.auth.refresh-token.revocation-filter.rebuild-minutes:60}") long rebuildMinutes) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pollMillis = pollSeconds * 1000;
+        this.rebuildMillis = rebuildMinutes * 60_000;
+    }
+
+    /**
+     * False only when the token is certainly not revoked. Also true while the revocations of the
+     * other instances cannot be fetched, so callers fall back to the database.
+     */
+    public boolean mightBeRevoked(long tokenId) {
+        BloomFilter current = current();
+        return current == null || current.mightContain(tokenId);
+    }
+
+    public void add(long tokenId) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(tokenId);
+        }
+    }
+
+    public void addAll(List<Long> tokenIds) {
+        tokenIds.forEach(this::add);
+    }
+
+    private BloomFilter current() {
+        BloomFilter current = filter;
+        if (current == null) {
+            buildLock.lock();
+            try {
+                if (filter == null) {
+                    rebuild();
+                }
+                return filter;
+            } catch (RuntimeException e) {
+                log.warn("Could not load revoked refresh tokens: {}", e.getMessage());
+                return null;
+            } finally {
+                buildLock.unlock();
+            }
+        }
+        long now = System.currentTimeMillis();
+        // Only one caller polls, the others keep using the filter as it is
+        if (now - polledAt > pollMillis && refreshing.compareAndSet(false, true)) {
+            try {
+                if (now - builtAt > rebuildMillis) {
+                    rebuild();
+                } else {
+                    poll();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh revoked refresh tokens: {}", e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        // A filter that missed several polls may lack remote revocations
+        return System.currentTimeMillis() - polledAt > 3 * pollMillis ? null : filter;
+    }
+
+    private void rebuild() {
+        Instant start = Instant.now();
+        List<Long> revoked = refreshTokenRepository.findRevokedIdsExpiringAfter(start);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.forEach(rebuilt::put);
+        filter = rebuilt;
+        polledUpTo = start.minus(POLL_OVERLAP);
+        builtAt = polledAt = System.currentTimeMillis();
+        log.info("Revoked refresh token filter built with {} tokens", revoked.size());
+        // Revocations committed while the load ran
+        poll();
+    }
+
+    private void poll() {
+        Instant start = Instant.now();
+        List<Long> revoked = refreshTokenRepository.findIdsRevokedSince(polledUpTo);
+        BloomFilter current = filter;
+        revoked.forEach(current::put);
+        polledUpTo = start.minus(POLL_OVERLAP);
+        polledAt = System.currentTimeMillis();
+    }
+}
@@ -6,21 +6,27 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
 public class AppConfig {
 
     @Bean(name = "loadBalancedRestTemplate")
     @LoadBalanced
-    public RestTemplate loadBalancedRestTemplate() {
+    public RestTemplate loadBalancedRestTemplate(ObservationRegistry observationRegistry) {
         RestTemplate restTemplate = new RestTemplate();
         restTemplate.getInterceptors().add(new RestTemplateInterceptor());
+        // Client span per call; the W3C traceparent header is added next to X-Request-ID
+        restTemplate.setObservationRegistry(observationRegistry);
         return restTemplate;
     }
 
     @Primary
     @Bean(name = "externalRestTemplate")
-    public RestTemplate externalRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate externalRestTemplate(ObservationRegistry observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
     }
 
 }
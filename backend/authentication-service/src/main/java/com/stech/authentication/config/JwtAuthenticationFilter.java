@@ -1,11 +1,7 @@
 package com.stech.authentication.config;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
 
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -13,14 +9,20 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.stech.common.library.JwtTokenLibrary;
+import com.stech.common.security.authority.PermissionAuthenticationToken;
+import com.stech.common.security.authority.PermissionAuthorities;
+import com.stech.common.security.authority.PermissionClaims;
+import com.stech.common.security.authority.PermissionRegistryResolver;
 import com.stech.common.security.util.SecurityUtils;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.HttpHeaders;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -30,9 +32,11 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final PermissionRegistryResolver permissionRegistryResolver;
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -74,22 +78,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (JwtTokenLibrary.validateToken(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String username = JwtTokenLibrary.getUsernameFromToken(jwt);
-                List<String> authorities = JwtTokenLibrary.getAuthorities(jwt);
-                Collection<SimpleGrantedAuthority> grantedAuthorities = authorities.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .toList();
+                Claims claims = JwtTokenLibrary.getAllClaimsFromToken(jwt);
+                String username = claims.getSubject();
+                PermissionAuthorities authorities = PermissionClaims.decode(claims, permissionRegistryResolver);
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
+                PermissionAuthenticationToken authToken =
+                        new PermissionAuthenticationToken(
                             username,
                             null,
-                            grantedAuthorities
+                            authorities
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.info("JwtAuthenticationFilter: Authenticated user: {}, Authorities: {}", username, authorities);
+                log.info("JwtAuthenticationFilter: Authenticated user: {}, {} authorities", username, authorities.size());
             } else if (!JwtTokenLibrary.validateToken(jwt)) {
                 log.error("Invalid or expired JWT token for URL: {} {}", method, requestURI);
                 sendErrorResponse(response, 401, "JWT Token Error", "Invalid or expired JWT token. Please login again.");
@@ -2,6 +2,7 @@ package com.stech.authentication.config;
 
 import java.io.IOException;
 
+import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -10,7 +11,7 @@ import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.stech.common.concurrent.PropagatedHeaders;
 
 public class RestTemplateInterceptor implements ClientHttpRequestInterceptor {
 
@@ -18,20 +19,23 @@ public class RestTemplateInterceptor implements ClientHttpRequestInterceptor {
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
             throws IOException {
         
+        // The current request's header, or in @Async tasks the copy taken when the task was submitted
+        String token = PropagatedHeaders.authorization();
+        if (token != null && !token.isEmpty()) {
+            request.getHeaders().add(HttpHeaders.AUTHORIZATION, token);
+        }
+
+        // CorrelationIdFilter keeps the (possibly generated) id in the MDC, which is also
+        // carried into @Async tasks by ContextPropagatingTaskDecorator
+        String requestId = MDC.get("requestId");
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes != null) {
-            HttpServletRequest originalRequest = attributes.getRequest();
-            String token = originalRequest.getHeader(HttpHeaders.AUTHORIZATION);
-            if (token != null && !token.isEmpty()) {
-                request.getHeaders().add(HttpHeaders.AUTHORIZATION, token);
-            }
-            
-            String requestId = originalRequest.getHeader("X-Request-ID");
-            if (requestId != null && !requestId.isEmpty()) {
-                request.getHeaders().add("X-Request-ID", requestId);
-            }
+        if ((requestId == null || requestId.isEmpty()) && attributes != null) {
+            requestId = attributes.getRequest().getHeader("X-Request-ID");
         }
-        
+        if (requestId != null && !requestId.isEmpty()) {
+            request.getHeaders().add("X-Request-ID", requestId);
+        }
+
         return execution.execute(request, body);
     }
 }
@@ -1,5 +1,6 @@
 package com.stech.authentication.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -25,14 +26,18 @@ public class WebSecurityConfig {
     private final AuthenticationProvider authenticationProvider;
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         // All other /api/v1/auth/** endpoints will require authentication
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(SecurityUtils.DEFAULT_PUBLIC_URLS).permitAll()
+                .requestMatchers(SecurityUtils.prometheusScrape(managementPort)).permitAll()
                 .requestMatchers("/api/v1/auth/public/**").permitAll()
+                // Not routed by the gateway; the endpoints check the internal service token
+                .requestMatchers("/internal/**").permitAll()
                 .requestMatchers("/api/v1/auth/**").authenticated()
                 .anyRequest().authenticated()
             )
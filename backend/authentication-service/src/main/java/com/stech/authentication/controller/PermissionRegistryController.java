@@ -0,0 +1,56 @@
+package com.stech.authentication.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stech.common.library.GlobalApiResponse;
+import com.stech.common.security.authority.PermissionRegistryResolver;
+import com.stech.common.security.authority.PermissionRegistrySnapshot;
+import com.stech.common.security.util.InternalServiceToken;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the permission registry the other services decode access token permissions with.
+ * Internal: outside the gateway's routes and only for callers presenting the internal service
+ * token, since it is fetched while authenticating a request, before there is a user token to
+ * forward. Always answers from the cached registry, which this service reloads every
+ * {@code refresh-seconds} and as soon as it issues a token against a newer version.
+ */
+@RestController
+@RequestMapping("/internal")
+@Tag(name = "Permission Registry", description = "Bit index of each permission slug in access tokens")
+@Slf4j
+public class PermissionRegistryController {
+
+    private final PermissionRegistryResolver permissionRegistryResolver;
+    private final InternalServiceToken internalServiceToken;
+
+    PermissionRegistryController(PermissionRegistryResolver permissionRegistryResolver,
+                                 InternalServiceToken internalServiceToken) {
+        this.permissionRegistryResolver = permissionRegistryResolver;
+        this.internalServiceToken = internalServiceToken;
+    }
+
+    @GetMapping("/permission-registry")
+    @Operation(
+        summary = "Get permission registry",
+        description = "Slug at each access token permission bit; needs the internal service token"
+    )
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> getPermissionRegistry(
+            @RequestHeader(value = InternalServiceToken.HEADER_NAME, required = false) String token) {
+        if (!internalServiceToken.matches(token)) {
+            log.warn("Permission registry request without a valid internal service token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(GlobalApiResponse.error("Forbidden", "Internal endpoint"));
+        }
+        PermissionRegistrySnapshot snapshot = permissionRegistryResolver.current().snapshot();
+        return ResponseEntity.ok(GlobalApiResponse.success(snapshot, "Permission registry retrieved successfully"));
+    }
+}
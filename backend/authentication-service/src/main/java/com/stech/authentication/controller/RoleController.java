@@ -15,7 +15,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.data.domain.Page;
 
+import com.stech.authentication.dto.request.RolePermissionsRequest;
 import com.stech.authentication.dto.request.RoleRequest;
+import com.stech.authentication.dto.request.RoleUsersRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.RoleSummaryResponse;
 import com.stech.authentication.entity.RoleEntity;
 import com.stech.authentication.exception.CustomBadRequestException;
 import com.stech.authentication.exception.CustomOperationNotAllowedException;
@@ -23,6 +27,8 @@ import com.stech.authentication.exception.CustomResourceAlreadyExistsException;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
 import com.stech.authentication.service.RoleService;
 import com.stech.common.library.GlobalApiResponse;
+import com.stech.common.permissions.AuthenticationServicePermissionList;
+import com.stech.common.security.annotation.RequirePermission;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -91,7 +97,7 @@ public class RoleController {
     ) {
         try {
             log.info("Fetching all roles with page: {}, size: {}, search: {}", page, size, search);
-            Page<RoleEntity> roles = roleService.getAllRoles(page, size, sortBy, sortDir, search);
+            Page<RoleSummaryResponse> roles = roleService.getAllRoles(page, size, sortBy, sortDir, search);
             
             GlobalApiResponse.PageInfo pageInfo = new GlobalApiResponse.PageInfo(
                 roles.getSize(),
@@ -190,4 +196,64 @@ public class RoleController {
                 .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
         }
     }
+
+    @RequirePermission(authority = AuthenticationServicePermissionList.ROLE_UPDATE)
+    @PostMapping("/{roleId}/permissions")
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> assignPermissions(
+            @PathVariable Long roleId,
+            @Valid @RequestBody RolePermissionsRequest request) {
+        try {
+            log.info("Assigning {} permissions to role {}", request.getPermissionIds().size(), roleId);
+            BulkAssignmentResponse result = roleService.assignPermissions(roleId, request.getPermissionIds());
+            return ResponseEntity.ok(GlobalApiResponse.success(result, "Permissions assigned to role successfully"));
+        } catch (CustomResourceNotFoundException e) {
+            log.error("Resource not found assigning permissions to role: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(GlobalApiResponse.error(NOT_FOUND_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error assigning permissions to role: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
+
+    @RequirePermission(authority = AuthenticationServicePermissionList.ROLE_UPDATE)
+    @PostMapping("/{roleId}/permissions/revoke")
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> revokePermissions(
+            @PathVariable Long roleId,
+            @Valid @RequestBody RolePermissionsRequest request) {
+        try {
+            log.info("Revoking {} permissions from role {}", request.getPermissionIds().size(), roleId);
+            BulkAssignmentResponse result = roleService.revokePermissions(roleId, request.getPermissionIds());
+            return ResponseEntity.ok(GlobalApiResponse.success(result, "Permissions revoked from role successfully"));
+        } catch (CustomResourceNotFoundException e) {
+            log.error("Role not found revoking permissions: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(GlobalApiResponse.error(NOT_FOUND_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error revoking permissions from role: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
+
+    @RequirePermission(authority = AuthenticationServicePermissionList.ROLE_UPDATE)
+    @PostMapping("/{roleId}/users")
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> assignRoleToUsers(
+            @PathVariable Long roleId,
+            @Valid @RequestBody RoleUsersRequest request) {
+        try {
+            log.info("Assigning role {} to {} users", roleId, request.getUserIds().size());
+            BulkAssignmentResponse result = roleService.assignToUsers(roleId, request.getUserIds());
+            return ResponseEntity.ok(GlobalApiResponse.success(result, "Role assigned to users successfully"));
+        } catch (CustomResourceNotFoundException e) {
+            log.error("Resource not found assigning role to users: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(GlobalApiResponse.error(NOT_FOUND_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error assigning role to users: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
 }
\ No newline at end of file
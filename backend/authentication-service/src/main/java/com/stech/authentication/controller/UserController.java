@@ -1,8 +1,15 @@
 package com.stech.authentication.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,12 +20,25 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stech.authentication.dto.request.UserRequest;
+import com.stech.authentication.dto.request.UserRolesRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.UserImportSummary;
+import com.stech.authentication.dto.response.UserSearchResponse;
+import com.stech.authentication.dto.response.UserSummaryResponse;
 import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.exception.CustomBadRequestException;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
+import com.stech.authentication.helper.UserImportReader;
+import com.stech.authentication.service.UserImportService;
 import com.stech.authentication.service.UserService;
 import com.stech.common.library.GlobalApiResponse;
+import com.stech.common.permissions.AuthenticationServicePermissionList;
+import com.stech.common.security.annotation.RequirePermission;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +50,10 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
+    private static final String BAD_REQUEST_MESSAGE = "Bad Request";
     private static final String INTERNAL_SERVER_ERROR_MESSAGE = "Internal Server Error";
     private static final String RESOURCE_NOT_FOUND_MESSAGE = "Resource Not Found";
     private static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred";
@@ -54,11 +77,10 @@ public class UserController {
             @RequestParam(value = "page", defaultValue = "0", required = false) int page,
             @RequestParam(value = "size", defaultValue = "10", required = false) int size,
             @RequestParam(value = "sortBy", defaultValue = "id", required = false) String sortBy,
-            @RequestParam(value = "sortDir", defaultValue = "asc", required = false) String sortDir,
-            @RequestParam(value = "search", required = false) String search) {
+            @RequestParam(value = "sortDir", defaultValue = "asc", required = false) String sortDir) {
         try {
-            log.info("Fetching all users with page: {}, size: {}, search: {}", page, size, search);
-            Page<UserEntity> users = userService.getAllUsers(page, size, sortBy, sortDir, search);
+            log.info("Fetching all users with page: {}, size: {}", page, size);
+            Page<UserSummaryResponse> users = userService.getAllUsers(page, size, sortBy, sortDir);
 
             GlobalApiResponse.PageInfo pageInfo = new GlobalApiResponse.PageInfo(
                     users.getSize(),
@@ -75,6 +97,26 @@ public class UserController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> searchUsers(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
+        try {
+            log.info("Searching users with size: {}", size);
+            UserSearchResponse result = userService.searchUsers(query, cursor, size);
+            return ResponseEntity.ok(GlobalApiResponse.success(result, "Users fetched successfully"));
+        } catch (CustomBadRequestException e) {
+            log.error("Bad user search request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(GlobalApiResponse.error(BAD_REQUEST_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error searching users: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GlobalApiResponse.ApiResult<Object>> getUserById(@PathVariable Long id) {
         try {
@@ -127,4 +169,69 @@ public class UserController {
                     .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
         }
     }
+
+    @RequirePermission(authority = AuthenticationServicePermissionList.USER_UPDATE)
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> replaceRoles(
+            @PathVariable Long id,
+            @Valid @RequestBody UserRolesRequest request) {
+        try {
+            log.info("Replacing roles of user {} with {} roles", id, request.getRoleIds().size());
+            BulkAssignmentResponse result = userService.replaceRoles(id, request.getRoleIds());
+            return ResponseEntity.ok(GlobalApiResponse.success(result, "User roles replaced successfully"));
+        } catch (CustomResourceNotFoundException e) {
+            log.error("Resource not found replacing user roles: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(GlobalApiResponse.error(RESOURCE_NOT_FOUND_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error replacing user roles: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
+
+    /**
+     * Creates users from a CSV (with header row) or NDJSON body, read and written in batches as
+     * it arrives. The response is NDJSON: one result per row, then a summary line. Rows can only
+     * assign roles the caller could grant (see {@link UserImportService}).
+     */
+    @RequirePermission(authority = AuthenticationServicePermissionList.USER_CREATE)
+    @PostMapping(value = "/import", consumes = { UserImportReader.TEXT_CSV, UserImportReader.APPLICATION_NDJSON })
+    public void importUsers(HttpServletRequest request, HttpServletResponse response, Authentication authentication)
+            throws IOException {
+        log.info("Importing users from a {} body", request.getContentType());
+        OutputStream out = response.getOutputStream();
+        try (UserImportReader reader = new UserImportReader(request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()), objectMapper)) {
+            response.setContentType(UserImportReader.APPLICATION_NDJSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            UserImportSummary summary = userImportService.importUsers(reader, authentication.getAuthorities(),
+                    result -> writeLine(out, result));
+            writeLine(out, summary);
+        } catch (CustomBadRequestException e) {
+            // Only an unusable CSV header gets here, before anything was written
+            log.error("Bad user import request: {}", e.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            writeLine(out, GlobalApiResponse.error(BAD_REQUEST_MESSAGE, e.getMessage()));
+        } catch (UncheckedIOException e) {
+            log.warn("User import connection closed: {}", e.getMessage());
+        } catch (Exception e) {
+            // Batches already written stay; the client finds this line instead of a summary
+            log.error("Error importing users: {}", e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+            writeLine(out, GlobalApiResponse.error(INTERNAL_SERVER_ERROR_MESSAGE, UNEXPECTED_ERROR_MESSAGE));
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.stech.authentication.dto.request;
+
+import java.util.Set;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolePermissionsRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    private Set<Long> permissionIds;
+}
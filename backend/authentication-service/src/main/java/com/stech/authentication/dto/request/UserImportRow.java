@@ -0,0 +1,28 @@
+package com.stech.authentication.dto.request;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One user of a bulk import, as read from a CSV record or an NDJSON line. Values stay text
+ * until the row is validated, so a bad date or enum fails that row alone. A row carries either
+ * a plain {@code password}, hashed during the import, or an existing BCrypt {@code passwordHash}.
+ */
+@Data
+@NoArgsConstructor
+public class UserImportRow {
+    String firstName;
+    String middleName;
+    String lastName;
+    String email;
+    String password;
+    String passwordHash;
+    String gender;
+    String phone;
+    String dateOfBirth;
+    List<String> roles;
+    Boolean active;
+    String userStatus;
+}
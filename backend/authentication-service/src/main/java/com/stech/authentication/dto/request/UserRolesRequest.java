@@ -0,0 +1,21 @@
+package com.stech.authentication.dto.request;
+
+import java.util.Set;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRolesRequest {
+    // Empty removes every role
+    @NotNull
+    @Size(max = 1000)
+    private Set<Long> roleIds;
+}
@@ -0,0 +1,12 @@
+package com.stech.authentication.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkAssignmentResponse {
+    int requested;
+    int added;
+    int removed;
+}
@@ -0,0 +1,24 @@
+package com.stech.authentication.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Row of the admin role listing: the displayed columns and counts, read by one paged query
+ * without loading the role's permissions or users.
+ */
+@Data
+@AllArgsConstructor
+public class RoleSummaryResponse {
+    Long id;
+    String name;
+    String description;
+    boolean active;
+    boolean fullAccess;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Integer permissionCount;
+    Integer userCount;
+}
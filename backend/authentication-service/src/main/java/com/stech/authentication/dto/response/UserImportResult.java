@@ -0,0 +1,26 @@
+package com.stech.authentication.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one row of a bulk user import, streamed back as one NDJSON line
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public enum Status { CREATED, FAILED }
+
+    // First line of the row in the uploaded file
+    long line;
+    String email;
+    Status status;
+    Long userId;
+    List<String> errors;
+}
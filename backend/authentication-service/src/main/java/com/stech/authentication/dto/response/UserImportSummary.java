@@ -0,0 +1,16 @@
+package com.stech.authentication.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Last line of a bulk user import response
+ */
+@Data
+@Builder
+public class UserImportSummary {
+    long processed;
+    long created;
+    long failed;
+    long elapsedMillis;
+}
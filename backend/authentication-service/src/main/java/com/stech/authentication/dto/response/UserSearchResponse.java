@@ -0,0 +1,14 @@
+package com.stech.authentication.dto.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserSearchResponse {
+    List<UserSummaryResponse> users;
+    // Pass back as cursor for the next page; null on the last page
+    String nextCursor;
+}
@@ -0,0 +1,55 @@
+package com.stech.authentication.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.stech.authentication.enums.Gender;
+import com.stech.authentication.enums.UserStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Row of the admin user listing: the displayed columns, the names of the user's roles and the
+ * number of direct permissions. Roles are filled in by a second query for the whole page.
+ */
+@Data
+public class UserSummaryResponse {
+    Long id;
+    String firstName;
+    String middleName;
+    String lastName;
+    String email;
+    String phone;
+    Gender gender;
+    boolean active;
+    UserStatus userStatus;
+    LocalDateTime createdAt;
+    Integer directPermissionCount;
+    List<RoleRef> roles = new ArrayList<>();
+
+    // Used by the JPQL constructor expression of UserRepository.findSummaries
+    public UserSummaryResponse(Long id, String firstName, String middleName, String lastName, String email,
+            String phone, Gender gender, boolean active, UserStatus userStatus, LocalDateTime createdAt,
+            Integer directPermissionCount) {
+        this.id = id;
+        this.firstName = firstName;
+        this.middleName = middleName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.gender = gender;
+        this.active = active;
+        this.userStatus = userStatus;
+        this.createdAt = createdAt;
+        this.directPermissionCount = directPermissionCount;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RoleRef {
+        Long id;
+        String name;
+    }
+}
@@ -0,0 +1,36 @@
+package com.stech.authentication.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Job Lock Entity
+ * Lease that lets one AUTH-SERVICE instance at a time run a scheduled job
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLockEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    private String lockedBy;
+}
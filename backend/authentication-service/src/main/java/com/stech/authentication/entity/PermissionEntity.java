@@ -43,6 +43,10 @@ public class PermissionEntity {
     @Column(nullable = false, unique = true)
     private String slug;
 
+    // Position in the access token permission bitset, assigned by the permission registry
+    @Column(unique = true)
+    private Integer bitIndex;
+
     @Column(nullable = true)
     private String apiUrl;
 
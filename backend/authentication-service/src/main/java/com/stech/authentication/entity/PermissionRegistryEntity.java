@@ -0,0 +1,34 @@
+package com.stech.authentication.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Permission Registry Entity
+ * Single row holding the next permission bit index; indices are only ever handed out from
+ * here, so one freed by a deleted permission is never given to another
+ */
+@Entity
+@Table(name = "permission_registry")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PermissionRegistryEntity {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private int nextBitIndex;
+}
@@ -4,15 +4,18 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,22 +24,31 @@ import lombok.Setter;
 
 /**
  * Refresh Token Entity
- * Stores refresh tokens for users to obtain new access tokens
+ * Stores refresh tokens for users to obtain new access tokens. Only the SHA-256 digest of a
+ * token is kept; the token carries the row id in its {@code tid} claim, so a refresh is a
+ * primary-key read followed by a digest comparison.
  */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_expiry_date", columnList = "expiryDate"),
+    @Index(name = "idx_refresh_tokens_revoked_at", columnList = "revoked_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class RefreshTokenEntity {
+public class RefreshTokenEntity implements Persistable<Long> {
 
+    /** Snowflake id assigned before the token is signed, since the token embeds it */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    /** The signed token itself; set only on a newly created entity, never persisted */
+    @Transient
     private String token;
 
     @ManyToOne
@@ -50,6 +62,9 @@ public class RefreshTokenEntity {
     @Column(nullable = false)
     private boolean revoked = false;
 
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
     @CreationTimestamp
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -57,4 +72,20 @@ public class RefreshTokenEntity {
     private String ipAddress;
 
     private String userAgent;
+
+    // The id is assigned, so save() needs this to persist instead of merging (an extra SELECT)
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.newEntity = false;
+    }
 }
@@ -5,20 +5,30 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.stech.authentication.helper.UserSearchKeys;
 import com.stech.authentication.enums.Gender;
 import com.stech.authentication.enums.UserStatus;
 import jakarta.persistence.EnumType;
@@ -30,7 +40,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_email_search", columnList = "email_search"),
+    @Index(name = "idx_users_name_search", columnList = "name_search")
+})
+@EntityListeners(UserSearchIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -87,9 +101,24 @@ public class UserEntity {
     @Builder.Default
     @Column(nullable = false)
     private boolean isDeleted = false;
+
+    // Normalized copies of email and full name for the user directory search (UserSearchKeys)
+    @JsonIgnore
+    @Column(name = "email_search")
+    private String emailSearch;
+
+    @JsonIgnore
+    @Column(name = "name_search", length = 512)
+    private String nameSearch;
+
+    // What the user_search_grams rows were last built from, see UserSearchIndexListener
+    @JsonIgnore
+    @Transient
+    private String indexedSearchText;
     
     @Builder.Default
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 50)
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable( 
         name = "users_roles", 
         joinColumns = @JoinColumn(
@@ -99,7 +128,8 @@ public class UserEntity {
     private Set<RoleEntity> roles = new HashSet<>();
 
     @Builder.Default
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 50)
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable( 
         name = "users_permissions", 
         joinColumns = @JoinColumn(
@@ -122,6 +152,23 @@ public class UserEntity {
         return sb.toString().trim();
     }
 
+    @PrePersist
+    @PreUpdate
+    public void normalizeSearchKeys() {
+        emailSearch = UserSearchKeys.normalize(email);
+        nameSearch = UserSearchKeys.name(firstName, middleName, lastName);
+    }
+
+    @PostLoad
+    void rememberIndexedSearchText() {
+        indexedSearchText = searchText();
+    }
+
+    @JsonIgnore
+    public String searchText() {
+        return nameSearch + "\n" + emailSearch;
+    }
+
     // Helper methods for managing relationships
     public void addRole(RoleEntity role) {
         this.roles.add(role);
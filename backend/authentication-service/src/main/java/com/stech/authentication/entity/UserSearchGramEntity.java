@@ -0,0 +1,47 @@
+package com.stech.authentication.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One trigram of a user's normalized name or email. The (gram, user_id) primary key keeps each
+ * gram's users in id order, so an infix search walks one gram's rows from the cursor onwards.
+ * Rows are written by {@link UserSearchIndexListener}, never through this entity.
+ */
+@Entity
+@Table(name = "user_search_grams", indexes = {
+    @Index(name = "idx_user_search_grams_user_id", columnList = "user_id")
+})
+@IdClass(UserSearchGramEntity.Key.class)
+@Getter
+@NoArgsConstructor
+public class UserSearchGramEntity {
+
+    @Id
+    @Column(name = "gram", length = 3, nullable = false)
+    private String gram;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String gram;
+        private Long userId;
+    }
+}
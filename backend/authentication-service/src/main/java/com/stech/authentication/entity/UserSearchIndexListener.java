@@ -0,0 +1,38 @@
+package com.stech.authentication.entity;
+
+import org.springframework.stereotype.Component;
+
+import com.stech.authentication.helper.UserSearchKeys;
+import com.stech.authentication.repository.UserSearchGramRepository;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps user_search_grams in step with the users written through JPA. Grams are rebuilt only
+ * when the normalized name or email differs from what they were built from, so saving a user
+ * for any other change costs nothing here.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndexListener {
+
+    private final UserSearchGramRepository gramRepository;
+
+    @PostPersist
+    @PostUpdate
+    public void reindex(UserEntity user) {
+        String searchText = user.searchText();
+        if (!searchText.equals(user.getIndexedSearchText())) {
+            gramRepository.replace(user.getId(), UserSearchKeys.grams(user.getNameSearch(), user.getEmailSearch()));
+            user.setIndexedSearchText(searchText);
+        }
+    }
+
+    @PreRemove
+    public void remove(UserEntity user) {
+        gramRepository.deleteByUserId(user.getId());
+    }
+}
@@ -0,0 +1,6 @@
+package com.stech.authentication.exception;
+
+public class CustomServiceBusyException extends RuntimeException {
+    public CustomServiceBusyException(String message) { super(message); }
+    public CustomServiceBusyException(String message, Throwable cause) { super(message, cause); }
+}
@@ -1,6 +1,7 @@
 package com.stech.authentication.helper;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import io.jsonwebtoken.io.Decoders;
 import org.slf4j.Logger;
@@ -11,16 +12,25 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import com.stech.authentication.service.impl.CustomUserDetails;
+import com.stech.common.security.authority.PermissionClaims;
+import com.stech.common.security.authority.PermissionRegistry;
+import com.stech.common.security.authority.PermissionRegistryResolver;
+import com.stech.common.security.util.SecurityUtils;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtTokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    private static final String TOKEN_ID_CLAIM = "tid";
+    private static final String FULL_ACCESS = "FULL_ACCESS";
+
+    private final PermissionRegistryResolver permissionRegistryResolver;
 
     @Value("${application.security.jwt.token.secret-key}")
     private String jwtSecret;
@@ -37,18 +47,25 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Generate access token with authorities
+     * Generate access token with authorities. Permissions go into a bitset over the permission
+     * registry, roles and FULL_ACCESS by name (see {@link PermissionClaims}).
      */
-    public String generateToken(Authentication authentication, String ipAddress, String userAgent) {
+    public String generateToken(Authentication authentication) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         log.info("Generating access token for user: {}", authentication.getName());
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         log.info("User authorities: {}", authentication.getAuthorities());
-        String permissions = authentication.getAuthorities().stream()
+        List<String> authorities = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
+                .toList();
+
+        PermissionRegistry registry = permissionRegistryResolver.current();
+        if (hasUnregisteredPermission(registry, authorities)) {
+            // A permission created since the registry was loaded; without it the slug goes by name
+            registry = permissionRegistryResolver.forVersion(registry.version() + 1);
+        }
 
         return Jwts.builder()
                 .setId(userDetails.getId().toString())
@@ -56,31 +73,45 @@ public class JwtTokenProvider {
                 .claim("type", "ACCESS")
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .claim("ipAddress", ipAddress)
-                .claim("userAgent", userAgent)
-                .claim("permissions", permissions)
+                .addClaims(PermissionClaims.encode(registry, authorities))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS384)
                 .compact();
     }
 
+    private static boolean hasUnregisteredPermission(PermissionRegistry registry, List<String> authorities) {
+        for (String authority : authorities) {
+            if (!authority.startsWith(SecurityUtils.ROLE_PREFIX) && !FULL_ACCESS.equals(authority)
+                    && registry.indexOf(authority) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
-     * Generate refresh token (longer expiration, no authorities)
+     * Generate refresh token (longer expiration, no authorities). The {@code tid} claim is the id
+     * of the refresh_tokens row that holds the token's digest.
      */
-    public String generateRefreshToken(Long userId, String username) {
-        Date now = new Date();
-        long refreshExpirationMs = refreshTokenExpirationHours * 60 * 60 * 1000; // Convert hours to ms
-        Date expiryDate = new Date(now.getTime() + refreshExpirationMs);
-
+    public String generateRefreshToken(Long tokenId, Long userId, String username, Instant expiryDate) {
         return Jwts.builder()
                 .setId(userId.toString())
                 .setSubject(username)
                 .claim("type", "REFRESH")
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
+                .claim(TOKEN_ID_CLAIM, tokenId)
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(expiryDate))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS384)
                 .compact();
     }
 
+    /**
+     * Refresh token row id carried by a parsed refresh token, or null for tokens issued without one
+     */
+    public Long getTokenId(Claims claims) {
+        Number tokenId = claims.get(TOKEN_ID_CLAIM, Number.class);
+        return tokenId != null ? tokenId.longValue() : null;
+    }
+
     public String getUsernameFromToken(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
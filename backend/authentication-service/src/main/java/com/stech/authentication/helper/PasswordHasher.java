@@ -0,0 +1,114 @@
+package com.stech.authentication.helper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.stech.authentication.exception.CustomServiceBusyException;
+import com.stech.common.concurrent.ContextPropagatingTaskDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs BCrypt on a small pool of platform threads sized to the CPUs, with a bounded queue in
+ * front of it. Login and registration wait for their hash here instead of burning a request
+ * thread each, so a login storm can use at most the pool's cores; once the queue is full,
+ * further attempts fail at once with {@link CustomServiceBusyException} (503) and the other
+ * endpoints keep their threads.
+ */
+@Component
+@Slf4j
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+    private final Counter rejected;
+    // Compared against when the user does not exist, so unknown emails take as long as wrong passwords
+    private final String dummyHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          ContextPropagatingTaskDecorator taskDecorator,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.auth.password-hashing.threads:0}") int threads,
+                          @Value("${app.auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${app.auth.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(taskDecorator);
+        executor.initialize();
+
+        rejected = Counter.builder("app.auth.password.hashing.rejected")
+                .description("Logins and registrations turned away because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("app.auth.password.hashing.queued", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        dummyHash = passwordEncoder.encode("password-hasher-dummy");
+        log.info("Password hashing pool: {} threads, queue of {}", poolSize, queueCapacity);
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored hash; a null hash (unknown user) is checked against a
+     * dummy one and never matches
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            submit(() -> passwordEncoder.matches(rawPassword, dummyHash));
+            return false;
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new CustomServiceBusyException("Too many sign-in attempts in progress. Please try again shortly.", e);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new CustomServiceBusyException("Too many sign-in attempts in progress. Please try again shortly.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomServiceBusyException("Password check interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.stech.authentication.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests of issued tokens; the database stores these 32 bytes instead of the token.
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Constant-time comparison, so the time taken does not reveal how much of a digest matched
+     */
+    public static boolean matches(String token, byte[] digest) {
+        return digest != null && MessageDigest.isEqual(sha256(token), digest);
+    }
+}
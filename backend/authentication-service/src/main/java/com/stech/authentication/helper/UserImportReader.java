@@ -0,0 +1,220 @@
+package com.stech.authentication.helper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.stech.authentication.dto.request.UserImportRow;
+import com.stech.authentication.exception.CustomBadRequestException;
+
+/**
+ * Reads the rows of a bulk user import one at a time from the request body, CSV with a header
+ * row or NDJSON, so only the current record is ever held in memory. A row that cannot be read
+ * throws {@link CustomBadRequestException} from {@link #next()} and leaves the reader on the
+ * row after it; a CSV header that cannot be used throws from the constructor. Values are passed
+ * on untrimmed, blank CSV fields as null.
+ */
+public final class UserImportReader implements Closeable {
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final int MAX_FIELD_LENGTH = 4096;
+    private static final String ROLE_SEPARATOR = "\\|";
+
+    // Columns by name lowercased without '_' and '-', so firstName, first_name and FIRST-NAME match
+    private static final Map<String, BiConsumer<UserImportRow, String>> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("firstname", UserImportRow::setFirstName),
+            Map.entry("middlename", UserImportRow::setMiddleName),
+            Map.entry("lastname", UserImportRow::setLastName),
+            Map.entry("email", UserImportRow::setEmail),
+            Map.entry("password", UserImportRow::setPassword),
+            Map.entry("passwordhash", UserImportRow::setPasswordHash),
+            Map.entry("gender", UserImportRow::setGender),
+            Map.entry("phone", UserImportRow::setPhone),
+            Map.entry("dateofbirth", UserImportRow::setDateOfBirth),
+            Map.entry("roles", (row, value) -> row.setRoles(Arrays.asList(value.split(ROLE_SEPARATOR)))),
+            Map.entry("active", (row, value) -> row.setActive(parseBoolean(value))),
+            Map.entry("userstatus", UserImportRow::setUserStatus));
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of(
+            "firstname", "lastname", "email", "gender", "phone", "dateofbirth");
+
+    private final BufferedReader reader;
+    private final ObjectReader rowReader;
+    private final List<BiConsumer<UserImportRow, String>> columns;
+    private long physicalLine;
+    private long line;
+
+    public UserImportReader(InputStream in, MediaType contentType, ObjectMapper objectMapper) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            this.rowReader = null;
+            this.columns = readHeader();
+        } else if (contentType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+            this.rowReader = objectMapper.readerFor(UserImportRow.class);
+            this.columns = null;
+        } else {
+            throw new CustomBadRequestException("Unsupported import format: " + contentType);
+        }
+    }
+
+    /**
+     * The next row, or null at the end of the input
+     */
+    public UserImportRow next() throws IOException {
+        return rowReader != null ? nextJson() : nextCsv();
+    }
+
+    /**
+     * First line of the row last returned or rejected by {@link #next()}
+     */
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UserImportRow nextJson() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line = ++physicalLine;
+        } while (text.isBlank());
+        try {
+            return rowReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new CustomBadRequestException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private UserImportRow nextCsv() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        if (fields.size() != columns.size()) {
+            throw new CustomBadRequestException("Expected " + columns.size() + " fields, found " + fields.size());
+        }
+        UserImportRow row = new UserImportRow();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            if (!value.isBlank()) {
+                columns.get(i).accept(row, value);
+            }
+        }
+        return row;
+    }
+
+    private List<BiConsumer<UserImportRow, String>> readHeader() throws IOException {
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new CustomBadRequestException("The CSV has no header row");
+        }
+        List<BiConsumer<UserImportRow, String>> header = new ArrayList<>(names.size());
+        Set<String> seen = new HashSet<>();
+        for (String name : names) {
+            String key = name.replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            BiConsumer<UserImportRow, String> column = CSV_COLUMNS.get(key);
+            if (column == null) {
+                throw new CustomBadRequestException("Unknown CSV column: " + name.trim());
+            }
+            if (!seen.add(key)) {
+                throw new CustomBadRequestException("Duplicate CSV column: " + name.trim());
+            }
+            header.add(column);
+        }
+        if (!seen.containsAll(REQUIRED_CSV_COLUMNS) || !(seen.contains("password") || seen.contains("passwordhash"))) {
+            throw new CustomBadRequestException("The CSV header needs firstName, lastName, email, gender, phone, "
+                    + "dateOfBirth and password or passwordHash columns");
+        }
+        return header;
+    }
+
+    // One RFC 4180 record; a quoted field may span lines, "" inside quotes is a quote
+    private List<String> readRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line = ++physicalLine;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new CustomBadRequestException("Unterminated quoted field");
+                }
+                physicalLine++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                // Most likely a stray quote; give up on the rest of this line
+                throw new CustomBadRequestException("Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value.trim())) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value.trim())) {
+            return Boolean.FALSE;
+        }
+        throw new CustomBadRequestException("active must be true or false");
+    }
+}
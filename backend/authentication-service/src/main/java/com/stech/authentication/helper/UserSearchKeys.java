@@ -0,0 +1,120 @@
+package com.stech.authentication.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.stech.authentication.exception.CustomBadRequestException;
+
+/**
+ * Search keys of the user directory. Names and emails are stored lowercased and without
+ * accents (users.name_search, users.email_search) and cut into trigrams (user_search_grams);
+ * search terms go through the same normalization, so an indexed equality or prefix comparison
+ * replaces {@code LOWER(col) LIKE '%x%'}.
+ */
+public final class UserSearchKeys {
+
+    public static final int GRAM_LENGTH = 3;
+    /** Escape character of the LIKE patterns built here; not a backslash, which MySQL also treats as one */
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private UserSearchKeys() {
+    }
+
+    /**
+     * Lowercase, accent-free, single-spaced form of the text; null stays null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Normalized full name, the key of the name prefix search
+     */
+    public static String name(String firstName, String middleName, String lastName) {
+        StringBuilder name = new StringBuilder();
+        for (String part : new String[] { firstName, middleName, lastName }) {
+            if (part != null && !part.isBlank()) {
+                name.append(part).append(' ');
+            }
+        }
+        return normalize(name.toString());
+    }
+
+    /**
+     * Distinct trigrams of the given normalized keys, in order of first appearance; a key
+     * shorter than a trigram contributes none
+     */
+    public static List<String> grams(String... keys) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key == null) {
+                continue;
+            }
+            int[] codePoints = key.codePoints().toArray();
+            for (int i = 0; i + GRAM_LENGTH <= codePoints.length; i++) {
+                grams.add(new String(codePoints, i, GRAM_LENGTH));
+            }
+        }
+        return new ArrayList<>(grams);
+    }
+
+    public static int length(String key) {
+        return key.codePointCount(0, key.length());
+    }
+
+    /**
+     * The term with LIKE wildcards and the escape character escaped
+     */
+    public static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 4);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Position after the last row of a keyset page: the sort key (empty when results are
+     * ordered by id alone) and the user id
+     */
+    public record Cursor(String key, long id) {
+
+        public static final Cursor START = new Cursor("", 0);
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((id + ":" + key).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return START;
+            }
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(':');
+                return new Cursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new CustomBadRequestException("Invalid search cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.stech.authentication.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.stech.authentication.entity.JobLockEntity;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLockEntity, String> {
+
+    /**
+     * Takes the lease when it is free or has run out; 1 when this caller now holds it
+     */
+    @Modifying
+    @Query("UPDATE JobLockEntity l SET l.lockedUntil = ?2, l.lockedBy = ?3 WHERE l.name = ?1 AND l.lockedUntil <= ?4")
+    int acquire(String name, Instant lockedUntil, String lockedBy, Instant now);
+
+    @Modifying
+    @Query("UPDATE JobLockEntity l SET l.lockedUntil = ?2 WHERE l.name = ?1 AND l.lockedBy = ?3")
+    int release(String name, Instant lockedUntil, String lockedBy);
+}
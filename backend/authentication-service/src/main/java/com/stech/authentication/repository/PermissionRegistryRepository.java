@@ -0,0 +1,23 @@
+package com.stech.authentication.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.stech.authentication.entity.PermissionRegistryEntity;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface PermissionRegistryRepository extends JpaRepository<PermissionRegistryEntity, Integer> {
+
+    /**
+     * Locks the registry row, so instances hand out bit indices one at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PermissionRegistryEntity r WHERE r.id = ?1")
+    Optional<PermissionRegistryEntity> findForUpdate(Integer id);
+}
@@ -1,11 +1,13 @@
 package com.stech.authentication.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.stech.authentication.entity.PermissionEntity;
@@ -19,6 +21,16 @@ public interface PermissionRepository extends JpaRepository<PermissionEntity, Lo
 
     List<PermissionEntity> findByNameIn(List<String> names);
 
+    List<PermissionEntity> findByBitIndexIsNullOrderByIdAsc();
+
+    List<PermissionEntity> findByBitIndexIsNotNull();
+
+    @Query("SELECT p.id FROM PermissionEntity p WHERE p.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT MAX(p.bitIndex) FROM PermissionEntity p")
+    Integer findMaxBitIndex();
+
     Page<PermissionEntity> findByNameContainingIgnoreCaseOrSlugContainingIgnoreCaseOrCategoryContainingIgnoreCase(
             String name, String slug, String category, Pageable pageable);
 
@@ -1,7 +1,10 @@
 package com.stech.authentication.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,17 +16,34 @@ import com.stech.authentication.entity.UserEntity;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
 
-    Optional<RefreshTokenEntity> findByToken(String token);
+    Optional<RefreshTokenEntity> findByTokenHash(byte[] tokenHash);
 
     @Modifying
     @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.user = ?1")
     void deleteByUser(UserEntity user);
 
+    // Purge job: one bounded batch at a time, walking idx_expiry_date
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt WHERE rt.expiryDate < ?1 ORDER BY rt.expiryDate")
+    List<Long> findExpiredIds(Instant now, Pageable batch);
+
     @Modifying
-    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.expiryDate < CURRENT_TIMESTAMP")
-    void deleteExpiredTokens();
+    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.id IN ?1")
+    int deleteByIds(List<Long> ids);
+
+    @Query("SELECT COUNT(rt) FROM RefreshTokenEntity rt WHERE rt.expiryDate < ?1")
+    long countExpired(Instant now);
+
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt WHERE rt.user = ?1 AND rt.revoked = false")
+    List<Long> findActiveIdsByUser(UserEntity user);
 
     @Modifying
-    @Query("UPDATE RefreshTokenEntity rt SET rt.revoked = true WHERE rt.user = ?1")
-    void revokeAllUserTokens(UserEntity user);
+    @Query("UPDATE RefreshTokenEntity rt SET rt.revoked = true, rt.revokedAt = ?2 WHERE rt.user = ?1 AND rt.revoked = false")
+    void revokeAllUserTokens(UserEntity user, Instant revokedAt);
+
+    // Revocation filter: full load of the still-valid revoked tokens, then increments by revokedAt
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt WHERE rt.revoked = true AND rt.expiryDate > ?1")
+    List<Long> findRevokedIdsExpiringAfter(Instant now);
+
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt WHERE rt.revokedAt >= ?1")
+    List<Long> findIdsRevokedSince(Instant since);
 }
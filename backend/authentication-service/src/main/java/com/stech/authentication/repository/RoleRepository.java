@@ -1,19 +1,66 @@
 package com.stech.authentication.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stech.authentication.dto.response.RoleSummaryResponse;
 import com.stech.authentication.entity.RoleEntity;
 
 @Repository
 public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
 
     Optional<RoleEntity> findByName(String string);
+
+    List<RoleEntity> findByNameIn(List<String> names);
+
     boolean existsByName(String name);
-    Page<RoleEntity> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Name, id, full-access flag and permission slug (null without permissions) of every role,
+    // one row per permission, for resolving the role names of imported users without entities
+    @Query("SELECT r.name, r.id, r.isFullAccess, p.slug FROM RoleEntity r LEFT JOIN r.permissions p")
+    List<Object[]> findNamesIdsAndPermissionSlugs();
+
+    // Admin listing: columns and correlated counts per row, neither collection is loaded
+    @Query(value = "SELECT new com.stech.authentication.dto.response.RoleSummaryResponse(" +
+           "r.id, r.name, r.description, r.isActive, r.isFullAccess, r.createdAt, r.updatedAt, " +
+           "SIZE(r.permissions), SIZE(r.users)) FROM RoleEntity r " +
+           "WHERE (:search IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :search, '%')))",
+           countQuery = "SELECT COUNT(r) FROM RoleEntity r " +
+           "WHERE (:search IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<RoleSummaryResponse> findSummaries(@Param("search") String search, Pageable pageable);
+
+    @Query("SELECT r.id FROM RoleEntity r WHERE r.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // Reads users_roles only, never the inverse RoleEntity.users collection
+    @Query(value = "SELECT COUNT(*) FROM users_roles WHERE role_id = ?1", nativeQuery = true)
+    long countUserAssignments(Long roleId);
+
+    // Bulk RBAC writes: one set-based statement per batch of ids, rows already present are skipped
+
+    @Modifying
+    @Query(value = "INSERT INTO role_permissions (role_id, permission_id) "
+            + "SELECT ?1, p.id FROM permissions p WHERE p.id IN ?2 AND NOT EXISTS "
+            + "(SELECT 1 FROM role_permissions rp WHERE rp.role_id = ?1 AND rp.permission_id = p.id)", nativeQuery = true)
+    int insertPermissions(Long roleId, Collection<Long> permissionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM role_permissions WHERE role_id = ?1 AND permission_id IN ?2", nativeQuery = true)
+    int deletePermissions(Long roleId, Collection<Long> permissionIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO users_roles (user_id, role_id) "
+            + "SELECT u.id, ?1 FROM users u WHERE u.id IN ?2 AND NOT EXISTS "
+            + "(SELECT 1 FROM users_roles ur WHERE ur.user_id = u.id AND ur.role_id = ?1)", nativeQuery = true)
+    int insertUserAssignments(Long roleId, Collection<Long> userIds);
 
 }
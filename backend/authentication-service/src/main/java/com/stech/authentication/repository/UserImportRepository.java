@@ -0,0 +1,95 @@
+package com.stech.authentication.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.stech.authentication.entity.UserEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes of the bulk user import with plain JDBC: one batched insert per table for a whole
+ * batch of users, on the connection of the surrounding transaction. Emails are compared
+ * lowercased, as the unique index on users.email does.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+    private static final String INSERT_USER = "INSERT INTO users (first_name, middle_name, last_name, gender, phone, "
+            + "email, date_of_birth, password, is_active, user_status, created_at, updated_at, is_deleted, "
+            + "email_search, name_search) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Lowercased emails among the given ones that already belong to a user
+     */
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT email FROM users WHERE email IN (" + placeholders(emails.size()) + ")",
+                row -> {
+                    existing.add(row.getString(1).toLowerCase(Locale.ROOT));
+                }, emails.toArray());
+        return existing;
+    }
+
+    /**
+     * Ids of the given users by lowercased email, read back after {@link #insertUsers}
+     */
+    public Map<String, Long> findIdsByEmail(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT email, id FROM users WHERE email IN (" + placeholders(emails.size()) + ")",
+                row -> {
+                    ids.put(row.getString(1).toLowerCase(Locale.ROOT), row.getLong(2));
+                }, emails.toArray());
+        return ids;
+    }
+
+    /**
+     * Inserts unsaved users with their search keys already set; their ids are not read back
+     */
+    public void insertUsers(List<UserEntity> users) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            statement.setString(1, user.getFirstName());
+            statement.setString(2, user.getMiddleName());
+            statement.setString(3, user.getLastName());
+            statement.setString(4, user.getGender().name());
+            statement.setString(5, user.getPhone());
+            statement.setString(6, user.getEmail());
+            statement.setObject(7, user.getDateOfBirth());
+            statement.setString(8, user.getPassword());
+            statement.setBoolean(9, user.isActive());
+            statement.setString(10, user.getUserStatus().name());
+            statement.setObject(11, now);
+            statement.setObject(12, now);
+            statement.setBoolean(13, false);
+            statement.setString(14, user.getEmailSearch());
+            statement.setString(15, user.getNameSearch());
+        });
+    }
+
+    public void insertUserRoles(Map<Long, List<Long>> roleIdsByUserId) {
+        List<Object[]> rows = new ArrayList<>();
+        roleIdsByUserId.forEach((userId, roleIds) -> roleIds.forEach(roleId -> rows.add(new Object[] { userId, roleId })));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)", rows);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,15 +1,19 @@
 package com.stech.authentication.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.stech.authentication.dto.response.UserSummaryResponse;
 import com.stech.authentication.entity.PermissionEntity;
 import com.stech.authentication.entity.UserEntity;
 
@@ -25,6 +29,13 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
            "WHERE u.email = :email")
     Optional<UserEntity> findByEmailWithRolesAndPermissions(String email);
 
+    @Query("SELECT DISTINCT u FROM UserEntity u " +
+           "LEFT JOIN FETCH u.roles r " +
+           "LEFT JOIN FETCH r.permissions " +
+           "LEFT JOIN FETCH u.directPermissions " +
+           "WHERE u.id = :id")
+    Optional<UserEntity> findByIdWithRolesAndPermissions(@Param("id") Long id);
+
     @Query("SELECT DISTINCT p FROM UserEntity u " +
            "JOIN u.roles r " +
            "JOIN r.permissions p " +
@@ -38,11 +49,70 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM UserEntity u WHERE " +
-           "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<UserEntity> findAllWithSearch(@Param("search") String search, Pageable pageable);
+    String USER_SUMMARY = "SELECT new com.stech.authentication.dto.response.UserSummaryResponse(" +
+           "u.id, u.firstName, u.middleName, u.lastName, u.email, u.phone, u.gender, u.isActive, " +
+           "u.userStatus, u.createdAt, SIZE(u.directPermissions)) ";
+
+    // Admin listing: columns and a correlated count per row, no collection is loaded
+    @Query(value = USER_SUMMARY + "FROM UserEntity u", countQuery = "SELECT COUNT(u) FROM UserEntity u")
+    Page<UserSummaryResponse> findSummaries(Pageable pageable);
+
+    // User directory search, keyset paged: each query reads an index range from the cursor on
+    // and stops after the requested number of rows (UserSearchKeys has the key formats)
+
+    @Query(USER_SUMMARY + "FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummaryResponse> findSummariesAfter(@Param("afterId") long afterId, Pageable limit);
+
+    @Query(USER_SUMMARY + "FROM UserEntity u WHERE u.emailSearch LIKE :prefix ESCAPE '!' " +
+           "AND (u.emailSearch > :afterKey OR (u.emailSearch = :afterKey AND u.id > :afterId)) " +
+           "ORDER BY u.emailSearch, u.id")
+    List<UserSummaryResponse> findSummariesByEmailPrefix(@Param("prefix") String prefix,
+            @Param("afterKey") String afterKey, @Param("afterId") long afterId, Pageable limit);
+
+    @Query(USER_SUMMARY + "FROM UserEntity u WHERE u.nameSearch LIKE :prefix ESCAPE '!' " +
+           "AND (u.nameSearch > :afterKey OR (u.nameSearch = :afterKey AND u.id > :afterId)) " +
+           "ORDER BY u.nameSearch, u.id")
+    List<UserSummaryResponse> findSummariesByNamePrefix(@Param("prefix") String prefix,
+            @Param("afterKey") String afterKey, @Param("afterId") long afterId, Pageable limit);
+
+    // Infix: walks the users of the driving trigram (the rarest one) in id order, probes two more
+    // trigrams by primary key and confirms the match on the user row
+    @Query(USER_SUMMARY + "FROM UserSearchGramEntity g JOIN UserEntity u ON u.id = g.userId " +
+           "WHERE g.gram = :driving AND g.userId > :afterId " +
+           "AND EXISTS (SELECT 1 FROM UserSearchGramEntity g2 WHERE g2.gram = :second AND g2.userId = g.userId) " +
+           "AND EXISTS (SELECT 1 FROM UserSearchGramEntity g3 WHERE g3.gram = :third AND g3.userId = g.userId) " +
+           "AND (u.nameSearch LIKE :pattern ESCAPE '!' OR u.emailSearch LIKE :pattern ESCAPE '!') " +
+           "ORDER BY g.userId")
+    List<UserSummaryResponse> findSummariesByGrams(@Param("driving") String driving, @Param("second") String second,
+            @Param("third") String third, @Param("pattern") String pattern, @Param("afterId") long afterId,
+            Pageable limit);
+
+    // Search key backfill for rows written before the keys existed or outside JPA
+    @Query("SELECT u.id FROM UserEntity u WHERE u.emailSearch IS NULL ORDER BY u.id")
+    List<Long> findIdsWithoutSearchKeys(Pageable batch);
+
+    // Role names of a page of users: user id, role id, role name
+    @Query("SELECT u.id, r.id, r.name FROM UserEntity u JOIN u.roles r WHERE u.id IN ?1")
+    List<Object[]> findRoleRefsByUserIds(Collection<Long> userIds);
+
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // Role set replacement: drop what is no longer wanted, insert what is missing
+
+    @Modifying
+    @Query(value = "DELETE FROM users_roles WHERE user_id = ?1", nativeQuery = true)
+    int deleteAllRoles(Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM users_roles WHERE user_id = ?1 AND role_id NOT IN ?2", nativeQuery = true)
+    int deleteRolesNotIn(Long userId, Collection<Long> roleIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO users_roles (user_id, role_id) "
+            + "SELECT ?1, r.id FROM roles r WHERE r.id IN ?2 AND NOT EXISTS "
+            + "(SELECT 1 FROM users_roles ur WHERE ur.user_id = ?1 AND ur.role_id = r.id)", nativeQuery = true)
+    int insertRoles(Long userId, Collection<Long> roleIds);
 
 //     Optional<RefreshTokenEntity> findByEmail(String email);
     
@@ -0,0 +1,72 @@
+package com.stech.authentication.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads and writes user_search_grams with plain JDBC: a user's grams are replaced as one delete
+ * and one batched insert, on the connection of the surrounding JPA transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSearchGramRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void replace(Long userId, List<String> grams) {
+        deleteByUserId(userId);
+        jdbcTemplate.batchUpdate("INSERT INTO user_search_grams (gram, user_id) VALUES (?, ?)", grams, grams.size(),
+                (statement, gram) -> {
+                    statement.setString(1, gram);
+                    statement.setLong(2, userId);
+                });
+    }
+
+    /**
+     * Grams of users that have none yet, all users in one batch
+     */
+    public void insertAll(Map<Long, List<String>> gramsByUserId) {
+        List<Object[]> rows = new ArrayList<>();
+        gramsByUserId.forEach((userId, grams) -> grams.forEach(gram -> rows.add(new Object[] { gram, userId })));
+        jdbcTemplate.batchUpdate("INSERT INTO user_search_grams (gram, user_id) VALUES (?, ?)", rows);
+    }
+
+    /**
+     * Number of users having each gram, each counted up to {@code cap} rows of its primary key
+     * range so a common gram costs no more than that. One statement for all grams, a UNION ALL
+     * of one capped count per gram; in the grams' order.
+     */
+    public Map<String, Integer> countUsers(List<String> grams, int cap) {
+        StringJoiner sql = new StringJoiner(" UNION ALL ");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < grams.size(); i++) {
+            // The position is a literal, only the gram and the cap are bound
+            sql.add("SELECT " + i + " AS gram_position, COUNT(*) AS user_count FROM (SELECT 1 FROM user_search_grams WHERE gram = ? LIMIT ?) g" + i);
+            args.add(grams.get(i));
+            args.add(cap);
+        }
+        int[] users = new int[grams.size()];
+        if (!grams.isEmpty()) {
+            jdbcTemplate.query(sql.toString(), (RowCallbackHandler) row -> users[row.getInt("gram_position")] = row.getInt("user_count"),
+                    args.toArray());
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < grams.size(); i++) {
+            counts.put(grams.get(i), users[i]);
+        }
+        return counts;
+    }
+
+    public void deleteByUserId(Long userId) {
+        jdbcTemplate.update("DELETE FROM user_search_grams WHERE user_id = ?", userId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.stech.authentication.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stech.authentication.entity.JobLockEntity;
+import com.stech.authentication.repository.JobLockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide lease on a named job, kept in the job_locks table. A lease runs out on its own,
+ * so an instance that dies mid-run blocks the job for at most the lease duration.
+ */
+@Component
+@Slf4j
+public class JobLock {
+
+    // locked_until of a lease never taken; any past instant the column can hold (not EPOCH,
+    // which is below the range of a MySQL TIMESTAMP)
+    static final Instant NEVER_LOCKED = Instant.parse("2000-01-01T00:00:00Z");
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    // pid@host, unique per running instance
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+    public JobLock(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * True when this instance now holds the lease for the given time
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        createIfMissing(name);
+        Instant now = Instant.now();
+        Integer updated = transactionTemplate.execute(status ->
+                jobLockRepository.acquire(name, now.plus(lease), owner, now));
+        return updated != null && updated == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(name, Instant.now(), owner));
+    }
+
+    private void createIfMissing(String name) {
+        if (jobLockRepository.existsById(name)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobLockRepository.saveAndFlush(JobLockEntity.builder()
+                    .name(name)
+                    .lockedUntil(NEVER_LOCKED)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first; anything else would leave the job never running
+            if (!jobLockRepository.existsById(name)) {
+                throw e;
+            }
+            log.debug("Job lock {} already created", name);
+        }
+    }
+}
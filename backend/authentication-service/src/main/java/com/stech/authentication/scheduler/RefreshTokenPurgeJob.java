@@ -0,0 +1,125 @@
+package com.stech.authentication.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stech.authentication.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired refresh tokens in bounded batches, one short transaction per batch with a
+ * pause in between, so the purge never holds locks on a large range of refresh_tokens.
+ * Revoked tokens go once they expire: until then their row is the revocation record the
+ * other instances' revocation filters are rebuilt from. One instance at a time runs the purge
+ * ({@link JobLock}); a run stops at {@code max-run-seconds} and the next one resumes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.refresh-token.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private static final String LOCK_NAME = "refresh-token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purged;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${app.auth.refresh-token.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.auth.refresh-token.purge.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${app.auth.refresh-token.purge.max-run-seconds:120}")
+    private long maxRunSeconds;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository, JobLock jobLock,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purged = Counter.builder("app.refresh.tokens.purged")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("app.refresh.tokens.purge.batch")
+                .description("Duration of one purge batch transaction")
+                .register(meterRegistry);
+        Gauge.builder("app.refresh.tokens.expired.backlog", backlog, AtomicLong::get)
+                .description("Expired refresh tokens left after the last purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.auth.refresh-token.purge.cron:0 */10 * * * *}")
+    public void purgeExpiredTokens() {
+        Duration maxRun = Duration.ofSeconds(maxRunSeconds);
+        // The lease outlives the longest run, so no other instance starts while this one deletes
+        if (!jobLock.tryAcquire(LOCK_NAME, maxRun.plusSeconds(60))) {
+            log.debug("Refresh token purge is running on another instance");
+            return;
+        }
+        try {
+            purge(maxRun);
+        } catch (RuntimeException e) {
+            log.warn("Refresh token purge failed: {}", e.getMessage());
+        } finally {
+            jobLock.release(LOCK_NAME);
+        }
+    }
+
+    private void purge(Duration maxRun) {
+        long start = System.nanoTime();
+        long deadline = start + maxRun.toNanos();
+        long deleted = 0;
+        int batches = 0;
+        while (System.nanoTime() < deadline) {
+            Instant now = Instant.now();
+            Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.ofSize(batchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIds(ids);
+            }));
+            int batch = count != null ? count : 0;
+            deleted += batch;
+            batches++;
+            purged.increment(batch);
+            if (batch < batchSize || !pause()) {
+                break;
+            }
+        }
+        backlog.set(refreshTokenRepository.countExpired(Instant.now()));
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        if (deleted > 0 || backlog.get() > 0) {
+            log.info("Purged {} expired refresh tokens in {} batches ({} rows/s), {} left",
+                    deleted, batches, Math.round(deleted / seconds), backlog.get());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.stech.authentication.scheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in the search keys and trigrams of users that have none: rows from before the user
+ * directory search existed, or inserted without going through JPA. Each batch is loaded, given
+ * its keys and flushed in one transaction, and {@code UserSearchIndexListener} writes the grams.
+ * One instance at a time runs it ({@link JobLock}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.auth.user-search.backfill", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class UserSearchBackfillJob {
+
+    private static final String LOCK_NAME = "user-search-backfill";
+
+    private final UserRepository userRepository;
+    private final JobLock jobLock;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.auth.user-search.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.auth.user-search.backfill.max-run-seconds:300}")
+    private long maxRunSeconds;
+
+    public UserSearchBackfillJob(UserRepository userRepository, JobLock jobLock,
+                                 PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.jobLock = jobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.user-search.backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${app.auth.user-search.backfill.interval-ms:3600000}")
+    public void backfillSearchKeys() {
+        Duration maxRun = Duration.ofSeconds(maxRunSeconds);
+        if (!jobLock.tryAcquire(LOCK_NAME, maxRun.plusSeconds(60))) {
+            log.debug("User search backfill is running on another instance");
+            return;
+        }
+        try {
+            backfill(maxRun);
+        } catch (RuntimeException e) {
+            log.warn("User search backfill failed: {}", e.getMessage());
+        } finally {
+            jobLock.release(LOCK_NAME);
+        }
+    }
+
+    private void backfill(Duration maxRun) {
+        long deadline = System.nanoTime() + maxRun.toNanos();
+        long indexed = 0;
+        while (System.nanoTime() < deadline) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = userRepository.findIdsWithoutSearchKeys(PageRequest.ofSize(batchSize));
+                userRepository.findAllById(ids).forEach(UserEntity::normalizeSearchKeys);
+                return ids.size();
+            });
+            int batch = count != null ? count : 0;
+            indexed += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+        if (indexed > 0) {
+            log.info("Indexed {} users for the user directory search", indexed);
+        }
+    }
+}
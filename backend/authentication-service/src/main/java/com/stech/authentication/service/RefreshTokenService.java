@@ -1,13 +1,14 @@
 package com.stech.authentication.service;
 
 import com.stech.authentication.entity.RefreshTokenEntity;
+import com.stech.authentication.entity.UserEntity;
 
 public interface RefreshTokenService {
     
     /**
-     * Create and save a new refresh token for a user
+     * Create and save a new refresh token for a user the caller has already loaded
      */
-    RefreshTokenEntity createRefreshToken(String email, String ipAddress, String userAgent);
+    RefreshTokenEntity createRefreshToken(UserEntity user, String ipAddress, String userAgent);
     
     /**
      * Verify if refresh token is valid and not expired
@@ -15,22 +16,24 @@ public interface RefreshTokenService {
     RefreshTokenEntity verifyExpiration(RefreshTokenEntity token);
     
     /**
-     * Find refresh token by token string
+     * Find refresh token by token string: by the row id in its tid claim, checked against the stored digest
      */
     RefreshTokenEntity findByToken(String token);
-    
+
     /**
-     * Delete refresh token
+     * Check that a signed, unexpired refresh token is still usable and return its user id; tokens
+     * the revocation filter has never seen are accepted without a database read
      */
-    void deleteByToken(String token);
+    Long verifyRefreshToken(String token);
     
     /**
-     * Revoke all refresh tokens for a user
+     * Revoke refresh token; the row stays until it expires, so every instance can see the revocation
      */
-    void revokeAllUserTokens(String email);
+    void revokeByToken(String token);
     
     /**
-     * Clean up expired tokens
+     * Revoke all refresh tokens for a user
      */
-    void deleteExpiredTokens();
+    void revokeAllUserTokens(String email);
+
 }
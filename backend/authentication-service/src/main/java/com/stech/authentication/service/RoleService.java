@@ -1,18 +1,23 @@
 package com.stech.authentication.service;
 
-import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 
 import com.stech.authentication.dto.request.RoleRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.RoleSummaryResponse;
 import com.stech.authentication.entity.RoleEntity;
 
 public interface RoleService {
     RoleEntity createRole(RoleRequest request);
     RoleEntity getRoleById(Long id);
-    Page<RoleEntity> getAllRoles(int page, int size, String sortBy, String sortDir, String search);
+    Page<RoleSummaryResponse> getAllRoles(int page, int size, String sortBy, String sortDir, String search);
     RoleEntity updateRole(Long id, RoleRequest request);
     void deleteRole(Long id);
     RoleEntity addPermissionToRole(Long roleId, Long permissionId);
     RoleEntity removePermissionFromRole(Long roleId, Long permissionId);
+    BulkAssignmentResponse assignPermissions(Long roleId, Set<Long> permissionIds);
+    BulkAssignmentResponse revokePermissions(Long roleId, Set<Long> permissionIds);
+    BulkAssignmentResponse assignToUsers(Long roleId, Set<Long> userIds);
 }   
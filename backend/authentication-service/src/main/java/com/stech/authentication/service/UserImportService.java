@@ -0,0 +1,21 @@
+package com.stech.authentication.service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.stech.authentication.dto.response.UserImportResult;
+import com.stech.authentication.dto.response.UserImportSummary;
+import com.stech.authentication.helper.UserImportReader;
+
+public interface UserImportService {
+    /**
+     * Imports the rows of reader. A row may only assign roles the grantor could hold out: every
+     * role with FULL_ACCESS, otherwise the roles that are not full access and whose permissions
+     * the grantor all has.
+     */
+    UserImportSummary importUsers(UserImportReader reader, Collection<? extends GrantedAuthority> grantorAuthorities,
+                                  Consumer<UserImportResult> results) throws IOException;
+}
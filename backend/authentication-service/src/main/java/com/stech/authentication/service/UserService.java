@@ -3,6 +3,9 @@ package com.stech.authentication.service;
 import java.util.Set;
 
 import com.stech.authentication.dto.request.UserRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.UserSearchResponse;
+import com.stech.authentication.dto.response.UserSummaryResponse;
 import com.stech.authentication.entity.PermissionEntity;
 import com.stech.authentication.entity.UserEntity;
 import org.springframework.data.domain.Page;
@@ -13,8 +16,10 @@ public interface UserService {
     public void assignDirectPermission(Long userId, Long permissionId);
 
     UserEntity createUser(UserRequest request);
-    Page<UserEntity> getAllUsers(int page, int size, String sortBy, String sortDir, String search);
+    Page<UserSummaryResponse> getAllUsers(int page, int size, String sortBy, String sortDir);
+    UserSearchResponse searchUsers(String query, String cursor, int size);
     UserEntity getUserById(Long id);
     UserEntity updateUser(Long id, UserRequest request);
     void deleteUser(Long id);
+    BulkAssignmentResponse replaceRoles(Long userId, Set<Long> roleIds);
 }
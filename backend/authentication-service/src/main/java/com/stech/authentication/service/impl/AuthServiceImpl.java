@@ -1,20 +1,21 @@
 package com.stech.authentication.service.impl;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.security.authentication.AuthenticationManager;
+import org.hibernate.Hibernate;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.stech.authentication.dto.request.LoginRequest;
 import com.stech.authentication.dto.request.PermissionValidationRequest;
@@ -29,7 +30,9 @@ import com.stech.authentication.entity.UserEntity;
 import com.stech.authentication.exception.CustomAuthException;
 import com.stech.authentication.exception.CustomBadRequestException;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
+import com.stech.authentication.exception.CustomServiceBusyException;
 import com.stech.authentication.helper.JwtTokenProvider;
+import com.stech.authentication.helper.PasswordHasher;
 import com.stech.authentication.repository.PermissionRepository;
 import com.stech.authentication.repository.RoleRepository;
 import com.stech.authentication.repository.UserRepository;
@@ -43,29 +46,29 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthServiceImpl implements AuthService{
 
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
     private static final String ASSIGN_ROLE_PREFIX = SecurityUtils.ROLE_PREFIX;
 
-    AuthServiceImpl(AuthenticationManager authenticationManager,
-        UserRepository userRepository,
+    AuthServiceImpl(UserRepository userRepository,
         RoleRepository roleRepository,
         PermissionRepository permissionRepository,
-        PasswordEncoder passwordEncoder,
+        PasswordHasher passwordHasher,
         JwtTokenProvider tokenProvider,
-        RefreshTokenService refreshTokenService){
-            this.authenticationManager = authenticationManager;
+        RefreshTokenService refreshTokenService,
+        PlatformTransactionManager transactionManager){
             this.userRepository = userRepository;
             this.roleRepository = roleRepository;
             this.permissionRepository = permissionRepository;
-            this.passwordEncoder = passwordEncoder;
+            this.passwordHasher = passwordHasher;
             this.tokenProvider = tokenProvider;
             this.refreshTokenService = refreshTokenService;
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -73,50 +76,30 @@ public class AuthServiceImpl implements AuthService{
         log.debug("Attempting to authenticate user: {}", loginRequest.getEmail());
         
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getEmail(),
-                    loginRequest.getPassword()
-                )
+            // One query for the user, roles and permissions; the same entity backs the tokens
+            UserEntity user = userRepository.findByEmailWithRolesAndPermissions(loginRequest.getEmail())
+                .orElse(null);
+            // BCrypt runs on the hashing pool; unknown emails are checked against a dummy hash
+            if (!passwordHasher.matches(loginRequest.getPassword(), user != null ? user.getPassword() : null)) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            if (!user.isActive()) {
+                throw new DisabledException("User is disabled");
+            }
+
+            CustomUserDetails userDetails = new CustomUserDetails(user);
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()
             );
-            
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             
             // Generate access token
-            String accessToken = tokenProvider.generateToken(authentication, ipAddress, userAgent);
+            String accessToken = tokenProvider.generateToken(authentication);
             
             // Generate refresh token
-            RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(
-                userDetails.getEmail(), ipAddress, userAgent
-            );
-            
-            // Extract roles and permissions
-            var authorities = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .toList();
-            
-            var roles = authorities.stream()
-                .filter(auth -> auth.startsWith(ASSIGN_ROLE_PREFIX))
-                .map(auth -> auth.substring(12)) // Remove ROLE_ prefix
-                .toList();
-            
-            var permissions = authorities.stream()
-                .filter(auth -> !auth.startsWith(ASSIGN_ROLE_PREFIX))
-                .toList();
+            RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(user, ipAddress, userAgent);
             
-            return JwtResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
-                .tokenType("Bearer")
-                .expiresIn(tokenProvider.getExpirationInMilliseconds() / 1000) // Convert to seconds
-                .id(userDetails.getId())
-                .email(userDetails.getEmail())
-                .name(userDetails.getUsername())
-                .gender(userDetails.getGender())
-                .permissions(permissions)
-                .roles(roles)
-                .build();
+            return toJwtResponse(userDetails, accessToken, refreshToken.getToken());
                 
         } catch (BadCredentialsException e) {
             log.error("Invalid credentials for user: {}", loginRequest.getEmail());
@@ -124,9 +107,8 @@ public class AuthServiceImpl implements AuthService{
         } catch (DisabledException e) {
             log.error("Disabled account attempt: {}", loginRequest.getEmail());
             throw new CustomAuthException("User account is disabled", e);
-        } catch (LockedException e) {
-            log.error("Locked account attempt: {}", loginRequest.getEmail());
-            throw new CustomAuthException("User account is locked", e);
+        } catch (CustomServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Authentication failed for user: {}", loginRequest.getEmail(), e);
             throw new CustomAuthException("Authentication failed", e);
@@ -134,37 +116,45 @@ public class AuthServiceImpl implements AuthService{
     }
 
     @Override
-    @Transactional
     public JwtResponse registerUser(SignupRequest signUpRequest, String ipAddress, String userAgent) {
         // Validate username/email
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
             throw new CustomBadRequestException("Email is already taken");
         }
-        
-        // Create user
-        log.debug("Creating user: {}", signUpRequest);
-        UserEntity userEntity = UserEntity.builder()
-                    .firstName(signUpRequest.getFirstName())
-                    .middleName(signUpRequest.getMiddleName())
-                    .lastName(signUpRequest.getLastName())
-                    .gender(signUpRequest.getGender())
-                    .phone(signUpRequest.getPhone())
-                    .dateOfBirth(signUpRequest.getDateOfBirth())
-                    .email(signUpRequest.getEmail())
-                    .password(passwordEncoder.encode(signUpRequest.getPassword()))
-                    .build();
 
-        
-        log.debug("User created: {}", userEntity);
-        // Set roles and permissions
-        Set<RoleEntity> roles = resolveRoles(signUpRequest.getRoles());
-        log.debug("Roles resolved: {}", roles);
-        Set<PermissionEntity> directPermissions = resolvePermissions(signUpRequest.getDirectPermissions());
-        log.debug("Permissions resolved: {}", directPermissions);
+        // Hashed before the transaction starts, so no connection is held while BCrypt runs
+        String encodedPassword = passwordHasher.encode(signUpRequest.getPassword());
 
-        userEntity.setRoles(roles);
-        userEntity.setDirectPermissions(directPermissions);
-        userEntity = userRepository.save(userEntity);
+        RefreshTokenEntity refreshToken = transactionTemplate.execute(status -> {
+            // Create user
+            log.debug("Creating user: {}", signUpRequest);
+            UserEntity user = UserEntity.builder()
+                        .firstName(signUpRequest.getFirstName())
+                        .middleName(signUpRequest.getMiddleName())
+                        .lastName(signUpRequest.getLastName())
+                        .gender(signUpRequest.getGender())
+                        .phone(signUpRequest.getPhone())
+                        .dateOfBirth(signUpRequest.getDateOfBirth())
+                        .email(signUpRequest.getEmail())
+                        .password(encodedPassword)
+                        .build();
+
+            // Set roles and permissions
+            Set<RoleEntity> roles = resolveRoles(signUpRequest.getRoles());
+            log.debug("Roles resolved: {}", roles);
+            Set<PermissionEntity> directPermissions = resolvePermissions(signUpRequest.getDirectPermissions());
+            log.debug("Permissions resolved: {}", directPermissions);
+
+            user.setRoles(roles);
+            user.setDirectPermissions(directPermissions);
+            user = userRepository.save(user);
+            // Role permissions are LAZY: batch-load them for the access token while the session is open
+            roles.forEach(role -> Hibernate.initialize(role.getPermissions()));
+
+            // Generate refresh token
+            return refreshTokenService.createRefreshToken(user, ipAddress, userAgent);
+        });
+        UserEntity userEntity = refreshToken.getUser();
 
         // Authenticate the user (generate tokens)
         CustomUserDetails userDetails = new CustomUserDetails(userEntity);
@@ -173,38 +163,37 @@ public class AuthServiceImpl implements AuthService{
         );
         
         // Generate access token
-        String accessToken = tokenProvider.generateToken(authentication, ipAddress, userAgent);
-        
-        // Generate refresh token
-        RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(
-            userEntity.getEmail(), ipAddress, userAgent
-        );
-        
-        // Extract roles and permissions
-        var authorities = userDetails.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .toList();
-        
-        var roleNames = authorities.stream()
-            .filter(auth -> auth.startsWith(ASSIGN_ROLE_PREFIX))
-            .map(auth -> auth.substring(12)) // Remove ROLE_ prefix
-            .toList();
-        
-        var permissions = authorities.stream()
-            .filter(auth -> !auth.startsWith(ASSIGN_ROLE_PREFIX))
-            .toList();
+        String accessToken = tokenProvider.generateToken(authentication);
+
+        return toJwtResponse(userDetails, accessToken, refreshToken.getToken());
+    }
+
+    /**
+     * Token response from the authorities already resolved into the user details
+     */
+    private JwtResponse toJwtResponse(CustomUserDetails userDetails, String accessToken, String refreshToken) {
+        List<String> roles = new ArrayList<>();
+        List<String> permissions = new ArrayList<>();
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith(ASSIGN_ROLE_PREFIX)) {
+                roles.add(name.substring(ASSIGN_ROLE_PREFIX.length()));
+            } else {
+                permissions.add(name);
+            }
+        }
 
         return JwtResponse.builder()
             .accessToken(accessToken)
-            .refreshToken(refreshToken.getToken())
+            .refreshToken(refreshToken)
             .tokenType("Bearer")
-            .expiresIn(tokenProvider.getExpirationInMilliseconds() / 1000)
-            .id(userEntity.getId())
-            .email(userEntity.getEmail())
-            .name(userEntity.getName())
-            .gender(userEntity.getGender())
+            .expiresIn(tokenProvider.getExpirationInMilliseconds() / 1000) // Convert to seconds
+            .id(userDetails.getId())
+            .email(userDetails.getEmail())
+            .name(userDetails.getUsername())
+            .gender(userDetails.getGender())
             .permissions(permissions)
-            .roles(roleNames)
+            .roles(roles)
             .build();
     }
 
@@ -226,7 +215,7 @@ public class AuthServiceImpl implements AuthService{
             throw new CustomAuthException("Invalid token type. Only access tokens are allowed.");
         }
 
-        UserEntity userEntity = userRepository.findByEmail(username)
+        UserEntity userEntity = userRepository.findByEmailWithRolesAndPermissions(username)
                 .orElseThrow(()-> new CustomResourceNotFoundException("User not found"));
 
         // boolean hasAccess = getCombinedValidationPermissions(userEntity, request.getRequiredPermissionsApi(), request.getRequiredPermissionsMethod());
@@ -248,10 +237,9 @@ public class AuthServiceImpl implements AuthService{
                 .orElseThrow(() -> new CustomResourceNotFoundException("Default role not found")));
         }
 
-        return roleNames.stream()
-            .map(roleName -> roleRepository.findByName(roleName)
-                .orElseThrow(() -> new CustomResourceNotFoundException("Role not found: " + roleName)))
-            .collect(Collectors.toSet());
+        Set<RoleEntity> roles = new HashSet<>(roleRepository.findByNameIn(List.copyOf(roleNames)));
+        requireAllFound(roleNames, roles.stream().map(RoleEntity::getName).collect(Collectors.toSet()), "Role");
+        return roles;
     }
 
     private Set<PermissionEntity> resolvePermissions(Set<String> permissionNames) {
@@ -259,10 +247,17 @@ public class AuthServiceImpl implements AuthService{
             return Set.of();
         }
 
-        return permissionNames.stream()
-            .map(permName -> permissionRepository.findByName(permName)
-                .orElseThrow(() -> new CustomResourceNotFoundException("Permission not found: " + permName)))
-            .collect(Collectors.toSet());
+        Set<PermissionEntity> permissions = new HashSet<>(permissionRepository.findByNameIn(List.copyOf(permissionNames)));
+        requireAllFound(permissionNames, permissions.stream().map(PermissionEntity::getName).collect(Collectors.toSet()), "Permission");
+        return permissions;
+    }
+
+    private static void requireAllFound(Set<String> requested, Set<String> found, String kind) {
+        for (String name : requested) {
+            if (!found.contains(name)) {
+                throw new CustomResourceNotFoundException(kind + " not found: " + name);
+            }
+        }
     }
 
     private Set<String> getCombinedPermissions(UserEntity user) {
@@ -298,11 +293,10 @@ public class AuthServiceImpl implements AuthService{
                 throw new CustomAuthException("Invalid token type. Please provide a refresh token.");
             }
             
-            // Find and verify refresh token in database
-            RefreshTokenEntity refreshToken = refreshTokenService.findByToken(refreshTokenString);
-            refreshToken = refreshTokenService.verifyExpiration(refreshToken);
-            
-            UserEntity user = refreshToken.getUser();
+            // Revocation check: in memory for most tokens, the refresh_tokens row otherwise
+            Long userId = refreshTokenService.verifyRefreshToken(refreshTokenString);
+            UserEntity user = userRepository.findByIdWithRolesAndPermissions(userId)
+                .orElseThrow(() -> new CustomResourceNotFoundException("User not found"));
             
             // Load user details to generate new access token
             CustomUserDetails userDetails = new CustomUserDetails(user);
@@ -311,35 +305,10 @@ public class AuthServiceImpl implements AuthService{
             );
             
             // Generate new access token
-            String newAccessToken = tokenProvider.generateToken(authentication, ipAddress, userAgent);
+            String newAccessToken = tokenProvider.generateToken(authentication);
             log.info("Refreshed access token for user: {}", user.getName());
             
-            // Extract roles and permissions
-            var authorities = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .toList();
-            
-            var roles = authorities.stream()
-                .filter(auth -> auth.startsWith(ASSIGN_ROLE_PREFIX))
-                .map(auth -> auth.substring(12))
-                .toList();
-            
-            var permissions = authorities.stream()
-                .filter(auth -> !auth.startsWith(ASSIGN_ROLE_PREFIX))
-                .toList();
-            
-            return JwtResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(refreshTokenString) // Return same refresh token
-                .tokenType("Bearer")
-                .expiresIn(tokenProvider.getExpirationInMilliseconds() / 1000)
-                .id(user.getId())
-                .email(user.getEmail())
-                .name(user.getName())
-                .gender(user.getGender())
-                .permissions(permissions)
-                .roles(roles)
-                .build();
+            return toJwtResponse(userDetails, newAccessToken, refreshTokenString); // Return same refresh token
                 
         } catch (io.jsonwebtoken.security.SignatureException e) {
             log.error("JWT signature validation failed: {}", e.getMessage());
@@ -372,7 +341,7 @@ public class AuthServiceImpl implements AuthService{
     public void logout(String refreshToken) {
         if (refreshToken != null && !refreshToken.isEmpty()) {
             try {
-                refreshTokenService.deleteByToken(refreshToken);
+                refreshTokenService.revokeByToken(refreshToken);
                 log.info("User logged out successfully");
             } catch (Exception e) {
                 log.warn("Failed to delete refresh token during logout: {}", e.getMessage());
@@ -0,0 +1,57 @@
+package com.stech.authentication.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.stech.authentication.exception.CustomResourceNotFoundException;
+
+/**
+ * Id lists of the bulk RBAC operations: checked against the database with one IN query and
+ * written in bounded batches, so a request for thousands of users stays within the IN-list and
+ * packet limits of the database.
+ */
+final class IdBatches {
+
+    static final int BATCH_SIZE = 1000;
+
+    private IdBatches() {
+    }
+
+    static List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>((all.size() + BATCH_SIZE - 1) / BATCH_SIZE);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(from + BATCH_SIZE, all.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Ids of {@code ids} that exist, one {@code query} call per batch
+     */
+    static List<Long> findExisting(Collection<Long> ids, Function<List<Long>, List<Long>> query) {
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (List<Long> batch : partition(ids)) {
+            existing.addAll(query.apply(batch));
+        }
+        return existing;
+    }
+
+    /**
+     * Throws when {@code found} lacks any of the requested ids, naming every missing one
+     */
+    static void requireAll(String kind, Collection<Long> requested, Collection<Long> found) {
+        if (found.size() == requested.size()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(requested);
+        missing.removeAll(found);
+        throw new CustomResourceNotFoundException("The following " + kind + " were not found: "
+                + missing.stream().sorted().map(String::valueOf).collect(Collectors.joining(", ")));
+    }
+}
@@ -2,19 +2,24 @@ package com.stech.authentication.service.impl;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.stech.authentication.cache.RevokedRefreshTokens;
 import com.stech.authentication.entity.RefreshTokenEntity;
 import com.stech.authentication.entity.UserEntity;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
 import com.stech.authentication.exception.CustomRuntimeException;
 import com.stech.authentication.helper.JwtTokenProvider;
+import com.stech.authentication.helper.TokenDigest;
 import com.stech.authentication.repository.RefreshTokenRepository;
 import com.stech.authentication.repository.UserRepository;
 import com.stech.authentication.service.RefreshTokenService;
+import com.stech.common.id.SnowflakeIdGenerator;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,23 +31,26 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedRefreshTokens revokedRefreshTokens;
+    private final SnowflakeIdGenerator idGenerator;
 
     @Override
     @Transactional
-    public RefreshTokenEntity createRefreshToken(String email, String ipAddress, String userAgent) {
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new CustomResourceNotFoundException("User not found with email: " + email));
-
-        // Generate refresh token JWT
-        String refreshTokenString = jwtTokenProvider.generateRefreshToken(user.getId(), email);
+    public RefreshTokenEntity createRefreshToken(UserEntity user, String ipAddress, String userAgent) {
+        String email = user.getEmail();
 
-        // Calculate expiry date
+        // The row id goes into the token, so it is assigned before signing; time-ordered ids
+        // append to the primary key instead of landing on random pages
+        long tokenId = idGenerator.nextId();
         long refreshExpirationMs = jwtTokenProvider.getRefreshTokenExpirationInMilliseconds();
         Instant expiryDate = Instant.now().plusMillis(refreshExpirationMs);
+        String refreshTokenString = jwtTokenProvider.generateRefreshToken(tokenId, user.getId(), email, expiryDate);
 
-        // Create and save refresh token entity
+        // Create and save refresh token entity; only the digest of the token is stored
         RefreshTokenEntity refreshToken = RefreshTokenEntity.builder()
+                .id(tokenId)
                 .user(user)
+                .tokenHash(TokenDigest.sha256(refreshTokenString))
                 .token(refreshTokenString)
                 .expiryDate(expiryDate)
                 .createdAt(LocalDateTime.now())
@@ -73,16 +81,34 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     @Override
     public RefreshTokenEntity findByToken(String token) {
-        return refreshTokenRepository.findByToken(token)
+        Long tokenId = jwtTokenProvider.getTokenId(jwtTokenProvider.getAllClaimsFromToken(token));
+        Optional<RefreshTokenEntity> refreshToken = tokenId != null
+                ? refreshTokenRepository.findById(tokenId)
+                : refreshTokenRepository.findByTokenHash(TokenDigest.sha256(token));
+        return refreshToken
+                .filter(entity -> TokenDigest.matches(token, entity.getTokenHash()))
                 .orElseThrow(() -> new CustomResourceNotFoundException("Refresh token not found"));
     }
 
+    @Override
+    public Long verifyRefreshToken(String token) {
+        Claims claims = jwtTokenProvider.getAllClaimsFromToken(token);
+        Long tokenId = jwtTokenProvider.getTokenId(claims);
+        // Signature and expiry were checked while parsing; the row expires with the token
+        if (tokenId != null && !revokedRefreshTokens.mightBeRevoked(tokenId)) {
+            return Long.valueOf(claims.getId());
+        }
+        return verifyExpiration(findByToken(token)).getUser().getId();
+    }
+
     @Override
     @Transactional
-    public void deleteByToken(String token) {
+    public void revokeByToken(String token) {
         RefreshTokenEntity refreshToken = findByToken(token);
-        refreshTokenRepository.delete(refreshToken);
-        log.info("Deleted refresh token for user: {}", refreshToken.getUser().getName());
+        refreshToken.setRevoked(true);
+        refreshToken.setRevokedAt(Instant.now());
+        revokedRefreshTokens.add(refreshToken.getId());
+        log.info("Revoked refresh token for user: {}", refreshToken.getUser().getName());
     }
 
     @Override
@@ -91,14 +117,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new CustomResourceNotFoundException("User not found with email: " + email));
         
-        refreshTokenRepository.revokeAllUserTokens(user);
+        revokedRefreshTokens.addAll(refreshTokenRepository.findActiveIdsByUser(user));
+        refreshTokenRepository.revokeAllUserTokens(user, Instant.now());
         log.info("Revoked all refresh tokens for user: {}", email);
     }
-
-    @Override
-    @Transactional
-    public void deleteExpiredTokens() {
-        refreshTokenRepository.deleteExpiredTokens();
-        log.info("Deleted expired refresh tokens");
-    }
 }
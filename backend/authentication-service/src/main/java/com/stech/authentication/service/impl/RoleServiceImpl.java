@@ -1,5 +1,6 @@
 package com.stech.authentication.service.impl;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,6 +12,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.stech.authentication.dto.request.RoleRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.RoleSummaryResponse;
 import com.stech.authentication.entity.PermissionEntity;
 import com.stech.authentication.entity.RoleEntity;
 import com.stech.authentication.exception.CustomOperationNotAllowedException;
@@ -18,6 +21,7 @@ import com.stech.authentication.exception.CustomResourceAlreadyExistsException;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
 import com.stech.authentication.repository.PermissionRepository;
 import com.stech.authentication.repository.RoleRepository;
+import com.stech.authentication.repository.UserRepository;
 import com.stech.authentication.service.RoleService;
 
 import jakarta.transaction.Transactional;
@@ -30,10 +34,13 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
     
-    public RoleServiceImpl(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, PermissionRepository permissionRepository,
+                           UserRepository userRepository) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -49,24 +56,7 @@ public class RoleServiceImpl implements RoleService {
         role.setFullAccess(request.isFullAccess());
 
         if (request.getPermissionId() != null && !request.getPermissionId().isEmpty()) {
-            Set<PermissionEntity> permissions = request.getPermissionId().stream()
-                .map(permissionId -> permissionRepository.findById(permissionId)
-                    .orElseThrow(() -> new CustomResourceNotFoundException("Permission not found: " + permissionId)))
-                .collect(Collectors.toSet());
-
-            if (permissions.size() != request.getPermissionId().size()) {
-                List<Long> missingPermissions = request.getPermissionId().stream()
-                    .filter(id -> permissionRepository.findById(id).isEmpty())
-                    .toList();
-                    
-                throw new CustomResourceNotFoundException(
-                    "The following permissions were not found: " + String.join(", ", missingPermissions.stream()
-                        .map(String::valueOf)
-                        .toList())
-                );
-            }
-            
-            role.setPermissions(permissions);
+            role.setPermissions(findPermissions(request.getPermissionId()));
         }
 
         RoleEntity savedRole = roleRepository.save(role);
@@ -95,34 +85,12 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
-    public Page<RoleEntity> getAllRoles(int page, int size, String sortBy, String sortDir, String search) {
+    public Page<RoleSummaryResponse> getAllRoles(int page, int size, String sortBy, String sortDir, String search) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) 
             ? Sort.by(sortBy).ascending()
             : Sort.by(sortBy).descending();
-            
-        PageRequest pageRequest = PageRequest.of(page, size, sort);
-        Page<RoleEntity> rolesPage;
-        
-        if (search != null && !search.trim().isEmpty()) {
-            rolesPage = roleRepository.findByNameContainingIgnoreCase(search, pageRequest);
-        } else {
-            rolesPage = roleRepository.findAll(pageRequest);
-        }
-        
-        // Handle circular references for each role in the page
-        rolesPage.getContent().forEach(role -> {
-            role.setUsers(null);
-            if (role.getPermissions() != null) {
-                role.setPermissions(role.getPermissions().stream()
-                    .map(permission -> {
-                        permission.setRoles(null);
-                        return permission;
-                    })
-                    .collect(Collectors.toSet()));
-            }
-        });
-        
-        return rolesPage;
+        String term = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        return roleRepository.findSummaries(term, PageRequest.of(page, size, sort));
     }
 
     @Override
@@ -143,11 +111,7 @@ public class RoleServiceImpl implements RoleService {
         role.setFullAccess(request.isFullAccess());
         
         if (request.getPermissionId() != null) {
-            Set<PermissionEntity> permissions = request.getPermissionId().stream()
-                .map(permissionId -> permissionRepository.findById(permissionId)
-                    .orElseThrow(() -> new CustomResourceNotFoundException("Permission not found: " + permissionId)))
-                .collect(Collectors.toSet());
-            role.setPermissions(permissions);
+            role.setPermissions(findPermissions(request.getPermissionId()));
         }
 
         RoleEntity savedRole = roleRepository.save(role);
@@ -165,8 +129,7 @@ public class RoleServiceImpl implements RoleService {
     public void deleteRole(Long id) {
         RoleEntity role = roleRepository.findById(id)
             .orElseThrow(() -> new CustomResourceNotFoundException("Role not found with id: " + id));
-        log.info("Role found with id: " + role.getUsers().size());
-        if (role.getUsers() != null && !role.getUsers().isEmpty()) {
+        if (roleRepository.countUserAssignments(id) > 0) {
             throw new CustomOperationNotAllowedException(
                 "Cannot delete role assigned to users. First unassign the role from all users."
             );
@@ -213,4 +176,54 @@ public class RoleServiceImpl implements RoleService {
         role.getPermissions().remove(permission);
         return roleRepository.save(role);
     }
+
+    @Override
+    public BulkAssignmentResponse assignPermissions(Long roleId, Set<Long> permissionIds) {
+        requireRole(roleId);
+        IdBatches.requireAll("permissions", permissionIds,
+            IdBatches.findExisting(permissionIds, permissionRepository::findExistingIds));
+        int added = 0;
+        for (List<Long> batch : IdBatches.partition(permissionIds)) {
+            added += roleRepository.insertPermissions(roleId, batch);
+        }
+        log.info("Assigned {} of {} permissions to role {}", added, permissionIds.size(), roleId);
+        return BulkAssignmentResponse.builder().requested(permissionIds.size()).added(added).build();
+    }
+
+    @Override
+    public BulkAssignmentResponse revokePermissions(Long roleId, Set<Long> permissionIds) {
+        requireRole(roleId);
+        int removed = 0;
+        for (List<Long> batch : IdBatches.partition(permissionIds)) {
+            removed += roleRepository.deletePermissions(roleId, batch);
+        }
+        log.info("Revoked {} of {} permissions from role {}", removed, permissionIds.size(), roleId);
+        return BulkAssignmentResponse.builder().requested(permissionIds.size()).removed(removed).build();
+    }
+
+    @Override
+    public BulkAssignmentResponse assignToUsers(Long roleId, Set<Long> userIds) {
+        requireRole(roleId);
+        IdBatches.requireAll("users", userIds, IdBatches.findExisting(userIds, userRepository::findExistingIds));
+        int added = 0;
+        for (List<Long> batch : IdBatches.partition(userIds)) {
+            added += roleRepository.insertUserAssignments(roleId, batch);
+        }
+        log.info("Assigned role {} to {} of {} users", roleId, added, userIds.size());
+        return BulkAssignmentResponse.builder().requested(userIds.size()).added(added).build();
+    }
+
+    private void requireRole(Long roleId) {
+        if (!roleRepository.existsById(roleId)) {
+            throw new CustomResourceNotFoundException("Role not found with id: " + roleId);
+        }
+    }
+
+    // One IN query for the whole set, naming every id that does not exist
+    private Set<PermissionEntity> findPermissions(Set<Long> permissionIds) {
+        List<PermissionEntity> permissions = permissionRepository.findAllById(permissionIds);
+        IdBatches.requireAll("permissions", permissionIds,
+            permissions.stream().map(PermissionEntity::getId).toList());
+        return new HashSet<>(permissions);
+    }
 }
@@ -0,0 +1,449 @@
+package com.stech.authentication.service.impl;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stech.authentication.dto.request.UserImportRow;
+import com.stech.authentication.dto.response.UserImportResult;
+import com.stech.authentication.dto.response.UserImportSummary;
+import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.enums.Gender;
+import com.stech.authentication.enums.UserStatus;
+import com.stech.authentication.exception.CustomBadRequestException;
+import com.stech.authentication.exception.CustomRuntimeException;
+import com.stech.authentication.helper.UserImportReader;
+import com.stech.authentication.helper.UserSearchKeys;
+import com.stech.authentication.repository.RoleRepository;
+import com.stech.authentication.repository.UserImportRepository;
+import com.stech.authentication.repository.UserSearchGramRepository;
+import com.stech.authentication.service.UserImportService;
+import com.stech.common.security.util.SecurityUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk user import. Rows are validated as they are read; plain-text passwords go to a pool of
+ * hashing threads right away, so BCrypt runs while the rest of the batch is being parsed. A
+ * full batch is written in one short transaction with a JDBC batch per table (users, their
+ * roles, their search grams). Only the current batch is held in memory, and every row is
+ * reported as soon as it is settled, so results are not strictly in file order.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService, DisposableBean {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final long HASH_TIMEOUT_SECONDS = 60;
+    private static final String FULL_ACCESS = "FULL_ACCESS";
+
+    private final UserImportRepository importRepository;
+    private final UserSearchGramRepository gramRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final Counter createdRows;
+    private final Counter failedRows;
+    private final int batchSize;
+
+    public UserImportServiceImpl(UserImportRepository importRepository,
+                                 UserSearchGramRepository gramRepository,
+                                 RoleRepository roleRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.auth.user-import.batch-size:500}") int batchSize,
+                                 @Value("${app.auth.user-import.hash-threads:0}") int hashThreads) {
+        // Half the CPUs by default: logins keep the other half (PasswordHasher)
+        int poolSize = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.importRepository = importRepository;
+        this.gramRepository = gramRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        hashExecutor = new ThreadPoolTaskExecutor();
+        hashExecutor.setCorePoolSize(poolSize);
+        hashExecutor.setMaxPoolSize(poolSize);
+        hashExecutor.setQueueCapacity(batchSize);
+        // With a batch already queued the reading thread hashes too, so reading never runs far ahead
+        hashExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        hashExecutor.setThreadNamePrefix("user-import-hash-");
+        hashExecutor.initialize();
+
+        createdRows = rowCounter(meterRegistry, "created");
+        failedRows = rowCounter(meterRegistry, "failed");
+        log.info("User import: batches of {}, {} hashing threads", batchSize, poolSize);
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("app.auth.user.import.rows")
+                .description("Rows of bulk user imports by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public UserImportSummary importUsers(UserImportReader reader, Collection<? extends GrantedAuthority> grantorAuthorities,
+                                         Consumer<UserImportResult> results) throws IOException {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(results);
+        ImportRoles roles = importRoles(grantorAuthorities);
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        Set<String> batchEmails = new HashSet<>();
+
+        while (true) {
+            UserImportRow row;
+            try {
+                row = reader.next();
+            } catch (CustomBadRequestException e) {
+                run.failed(reader.line(), null, List.of(e.getMessage()));
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+
+            List<String> errors = new ArrayList<>();
+            PendingUser pending = prepare(reader.line(), row, roles, errors);
+            if (pending != null && !batchEmails.add(pending.emailKey())) {
+                errors.add("email appears more than once in this import");
+            }
+            if (!errors.isEmpty()) {
+                run.failed(reader.line(), row.getEmail(), errors);
+                continue;
+            }
+            pending.password = hash(row);
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                save(batch, run);
+                batch.clear();
+                batchEmails.clear();
+            }
+        }
+        save(batch, run);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Imported {} users in {} ms, {} rows failed", run.created, elapsedMillis, run.failed);
+        return UserImportSummary.builder()
+                .processed(run.created + run.failed)
+                .created(run.created)
+                .failed(run.failed)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    // Every role by lowercased name, and those the grantor may not assign; read once per import
+    private ImportRoles importRoles(Collection<? extends GrantedAuthority> grantorAuthorities) {
+        boolean fullAccess = SecurityUtils.hasAuthority(grantorAuthorities, FULL_ACCESS);
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> refused = new HashSet<>();
+        for (Object[] role : roleRepository.findNamesIdsAndPermissionSlugs()) {
+            String key = ((String) role[0]).toLowerCase(Locale.ROOT);
+            ids.put(key, (Long) role[1]);
+            String slug = (String) role[3];
+            if (!fullAccess && (Boolean.TRUE.equals(role[2])
+                    || slug != null && !SecurityUtils.hasAuthority(grantorAuthorities, slug))) {
+                refused.add(key);
+            }
+        }
+        return new ImportRoles(ids, refused);
+    }
+
+    // The unsaved user of a valid row, or null with the reasons in errors
+    private PendingUser prepare(long line, UserImportRow row, ImportRoles roles, List<String> errors) {
+        String firstName = text(errors, "firstName", row.getFirstName(), true);
+        String middleName = text(errors, "middleName", row.getMiddleName(), false);
+        String lastName = text(errors, "lastName", row.getLastName(), true);
+        String phone = text(errors, "phone", row.getPhone(), true);
+        String email = text(errors, "email", row.getEmail(), true);
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            errors.add("email is not a valid address");
+        }
+        Gender gender = option(errors, "gender", row.getGender(), Gender.class, null);
+        UserStatus userStatus = option(errors, "userStatus", row.getUserStatus(), UserStatus.class, UserStatus.PENDING);
+        LocalDate dateOfBirth = dateOfBirth(errors, row.getDateOfBirth());
+        List<Long> userRoleIds = roleIds(errors, row.getRoles(), roles);
+        checkPassword(errors, row);
+        if (!errors.isEmpty()) {
+            return null;
+        }
+
+        UserEntity user = UserEntity.builder()
+                .firstName(firstName)
+                .middleName(middleName != null ? middleName : "")
+                .lastName(lastName)
+                .email(email)
+                .phone(phone)
+                .gender(gender)
+                .dateOfBirth(dateOfBirth)
+                .isActive(row.getActive() == null || row.getActive())
+                .userStatus(userStatus)
+                .build();
+        user.normalizeSearchKeys();
+        return new PendingUser(line, user, userRoleIds);
+    }
+
+    private static String text(List<String> errors, String field, String value, boolean required) {
+        if (value == null || value.isBlank()) {
+            if (required) {
+                errors.add(field + " is required");
+            }
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() > MAX_COLUMN_LENGTH) {
+            errors.add(field + " is longer than " + MAX_COLUMN_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    private static <E extends Enum<E>> E option(List<String> errors, String field, String value, Class<E> type, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                errors.add(field + " is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            errors.add(field + " must be one of " + Arrays.toString(type.getEnumConstants()));
+            return null;
+        }
+    }
+
+    private static LocalDate dateOfBirth(List<String> errors, String value) {
+        if (value == null || value.isBlank()) {
+            errors.add("dateOfBirth is required");
+            return null;
+        }
+        try {
+            LocalDate date = LocalDate.parse(value.trim());
+            if (!date.isBefore(LocalDate.now())) {
+                errors.add("dateOfBirth must be in the past");
+            }
+            return date;
+        } catch (DateTimeParseException e) {
+            errors.add("dateOfBirth must be a date as yyyy-MM-dd");
+            return null;
+        }
+    }
+
+    private static List<Long> roleIds(List<String> errors, List<String> names, ImportRoles roles) {
+        if (names == null) {
+            return List.of();
+        }
+        Set<Long> ids = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        List<String> refused = new ArrayList<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            Long id = roles.ids.get(key);
+            if (id == null) {
+                unknown.add(name.trim());
+            } else if (roles.refused.contains(key)) {
+                refused.add(name.trim());
+            } else {
+                ids.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            errors.add("Role not found: " + String.join(", ", unknown));
+        }
+        if (!refused.isEmpty()) {
+            errors.add("Not allowed to grant role: " + String.join(", ", refused));
+        }
+        return List.copyOf(ids);
+    }
+
+    private static void checkPassword(List<String> errors, UserImportRow row) {
+        boolean hasPassword = row.getPassword() != null && !row.getPassword().isEmpty();
+        boolean hasHash = row.getPasswordHash() != null && !row.getPasswordHash().isBlank();
+        if (hasPassword == hasHash) {
+            errors.add("exactly one of password and passwordHash is required");
+        } else if (hasPassword && row.getPassword().length() < MIN_PASSWORD_LENGTH) {
+            errors.add("password must have at least " + MIN_PASSWORD_LENGTH + " characters");
+        } else if (hasHash && !BCRYPT_HASH.matcher(row.getPasswordHash().trim()).matches()) {
+            errors.add("passwordHash is not a BCrypt hash");
+        }
+    }
+
+    // Rows migrated with their BCrypt hash skip hashing altogether
+    private Future<String> hash(UserImportRow row) {
+        if (row.getPasswordHash() != null && !row.getPasswordHash().isBlank()) {
+            return CompletableFuture.completedFuture(row.getPasswordHash().trim());
+        }
+        String rawPassword = row.getPassword();
+        return hashExecutor.submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private void save(List<PendingUser> batch, ImportRun run) {
+        // Every hash is in before a connection is taken
+        List<PendingUser> ready = new ArrayList<>(batch.size());
+        for (PendingUser pending : batch) {
+            try {
+                pending.user.setPassword(pending.password.get(HASH_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                ready.add(pending);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Could not hash the password of import line {}: {}", pending.line, e.getMessage());
+                run.failed(pending, "password could not be hashed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomRuntimeException("User import interrupted", e);
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        try {
+            run.settle(ready, transactionTemplate.execute(status -> insert(ready)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the emails, or a value does not fit its column:
+            // write the rows one by one to find out which
+            log.warn("Import batch rejected, retrying its {} rows one by one: {}", ready.size(), e.getMessage());
+            for (PendingUser pending : ready) {
+                try {
+                    run.settle(List.of(pending), transactionTemplate.execute(status -> insert(List.of(pending))));
+                } catch (DuplicateKeyException rowError) {
+                    run.failed(pending, "email is already registered");
+                } catch (DataIntegrityViolationException rowError) {
+                    run.failed(pending, "rejected by the database");
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the users whose email is still free, with their roles and search grams; returns
+     * the new ids by lowercased email
+     */
+    private Map<String, Long> insert(List<PendingUser> batch) {
+        Set<String> existing = importRepository.findExistingEmails(batch.stream().map(p -> p.user.getEmail()).toList());
+        List<PendingUser> fresh = batch.stream().filter(p -> !existing.contains(p.emailKey())).toList();
+        if (fresh.isEmpty()) {
+            return Map.of();
+        }
+        importRepository.insertUsers(fresh.stream().map(p -> p.user).toList());
+        Map<String, Long> ids = importRepository.findIdsByEmail(fresh.stream().map(p -> p.user.getEmail()).toList());
+
+        Map<Long, List<Long>> userRoles = new HashMap<>();
+        Map<Long, List<String>> grams = new HashMap<>();
+        for (PendingUser pending : fresh) {
+            Long id = ids.get(pending.emailKey());
+            userRoles.put(id, pending.roleIds);
+            grams.put(id, UserSearchKeys.grams(pending.user.getNameSearch(), pending.user.getEmailSearch()));
+        }
+        importRepository.insertUserRoles(userRoles);
+        gramRepository.insertAll(grams);
+        return ids;
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    private record ImportRoles(Map<String, Long> ids, Set<String> refused) {
+    }
+
+    private static final class PendingUser {
+        final long line;
+        final UserEntity user;
+        final List<Long> roleIds;
+        Future<String> password;
+
+        PendingUser(long line, UserEntity user, List<Long> roleIds) {
+            this.line = line;
+            this.user = user;
+            this.roleIds = roleIds;
+        }
+
+        String emailKey() {
+            return user.getEmail().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Counts and reports the rows of one import
+    private final class ImportRun {
+        final Consumer<UserImportResult> results;
+        long created;
+        long failed;
+
+        ImportRun(Consumer<UserImportResult> results) {
+            this.results = results;
+        }
+
+        void settle(List<PendingUser> batch, Map<String, Long> ids) {
+            for (PendingUser pending : batch) {
+                Long id = ids.get(pending.emailKey());
+                if (id == null) {
+                    failed(pending, "email is already registered");
+                    continue;
+                }
+                created++;
+                createdRows.increment();
+                results.accept(UserImportResult.builder()
+                        .line(pending.line)
+                        .email(pending.user.getEmail())
+                        .status(UserImportResult.Status.CREATED)
+                        .userId(id)
+                        .build());
+            }
+        }
+
+        void failed(PendingUser pending, String error) {
+            failed(pending.line, pending.user.getEmail(), List.of(error));
+        }
+
+        void failed(long line, String email, List<String> errors) {
+            failed++;
+            failedRows.increment();
+            results.accept(UserImportResult.builder()
+                    .line(line)
+                    .email(email)
+                    .status(UserImportResult.Status.FAILED)
+                    .errors(errors)
+                    .build());
+        }
+    }
+}
@@ -1,42 +1,60 @@
 package com.stech.authentication.service.impl;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Service;
 
 import com.stech.authentication.dto.request.UserRequest;
+import com.stech.authentication.dto.response.BulkAssignmentResponse;
+import com.stech.authentication.dto.response.UserSearchResponse;
+import com.stech.authentication.dto.response.UserSummaryResponse;
 import com.stech.authentication.entity.PermissionEntity;
 import com.stech.authentication.entity.RoleEntity;
 import com.stech.authentication.entity.UserEntity;
 import com.stech.authentication.exception.CustomResourceNotFoundException;
+import com.stech.authentication.helper.UserSearchKeys;
 import com.stech.authentication.repository.PermissionRepository;
 import com.stech.authentication.repository.RoleRepository;
 import com.stech.authentication.repository.UserRepository;
+import com.stech.authentication.repository.UserSearchGramRepository;
 import com.stech.authentication.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import java.util.stream.Collectors;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Grams are ranked by user count up to this many; beyond it any gram is as bad a driver
+    private static final int GRAM_COUNT_CAP = 10_000;
+
     private final UserRepository userRepository;
     private final PermissionRepository permissionRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSearchGramRepository gramRepository;
 
     UserServiceImpl(UserRepository userRepository, 
                    PermissionRepository permissionRepository,
                    RoleRepository roleRepository,
-                   PasswordEncoder passwordEncoder){
+                   PasswordEncoder passwordEncoder,
+                   UserSearchGramRepository gramRepository){
         this.userRepository = userRepository;
         this.permissionRepository = permissionRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.gramRepository = gramRepository;
     }
 
     public Set<PermissionEntity> getAllPermissions(Long userId) {
@@ -73,26 +91,89 @@ public class UserServiceImpl implements UserService {
                 .build();
         
         if (request.getRoles() != null && !request.getRoles().isEmpty()) {
-            Set<RoleEntity> roles = request.getRoles().stream()
-                .map(roleName -> roleRepository.findByName(roleName)
-                    .orElseThrow(() -> new CustomResourceNotFoundException("Role not found: " + roleName)))
-                .collect(Collectors.toSet());
-            user.setRoles(roles);
+            user.setRoles(findRolesByName(request.getRoles()));
         }
         user.setRoles(null);
         return userRepository.save(user);
     }
 
     @Override
-    public Page<UserEntity> getAllUsers(int page, int size, String sortBy, String sortDir, String search) {
+    public Page<UserSummaryResponse> getAllUsers(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<UserEntity> users = userRepository.findAllWithSearch(search, pageable);
-        users.forEach(user -> user.getRoles().forEach(role -> {role.setPermissions(null); role.setUsers(null); }));
+        Page<UserSummaryResponse> users = userRepository.findSummaries(pageable);
+        attachRoles(users.getContent());
         return users;
     }
 
+    /**
+     * Keyset-paged directory search. An email-looking term is a prefix search on the email key,
+     * a one- or two-letter term a prefix search on the name key, anything longer an infix search
+     * over both through their trigrams; no term lists everyone by id.
+     */
+    @Override
+    public UserSearchResponse searchUsers(String query, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        Pageable fetch = PageRequest.ofSize(limit + 1);
+        UserSearchKeys.Cursor after = UserSearchKeys.Cursor.decode(cursor);
+        String term = UserSearchKeys.normalize(query);
+
+        List<UserSummaryResponse> rows;
+        Function<UserSummaryResponse, String> sortKey = user -> "";
+        if (term == null || term.isEmpty()) {
+            rows = userRepository.findSummariesAfter(after.id(), fetch);
+        } else if (term.indexOf('@') > 0) {
+            rows = userRepository.findSummariesByEmailPrefix(UserSearchKeys.escapeLike(term) + "%",
+                    after.key(), after.id(), fetch);
+            sortKey = user -> UserSearchKeys.normalize(user.getEmail());
+        } else if (UserSearchKeys.length(term) < UserSearchKeys.GRAM_LENGTH) {
+            rows = userRepository.findSummariesByNamePrefix(UserSearchKeys.escapeLike(term) + "%",
+                    after.key(), after.id(), fetch);
+            sortKey = user -> UserSearchKeys.name(user.getFirstName(), user.getMiddleName(), user.getLastName());
+        } else {
+            List<String> grams = gramsRarestFirst(term);
+            rows = grams.isEmpty() ? List.of() : userRepository.findSummariesByGrams(grams.get(0),
+                    grams.get(Math.min(1, grams.size() - 1)), grams.get(Math.min(2, grams.size() - 1)),
+                    "%" + UserSearchKeys.escapeLike(term) + "%", after.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<UserSummaryResponse> users = hasMore ? rows.subList(0, limit) : rows;
+        attachRoles(users);
+        UserSummaryResponse last = hasMore ? users.get(limit - 1) : null;
+        return UserSearchResponse.builder()
+                .users(users)
+                .nextCursor(last != null ? new UserSearchKeys.Cursor(sortKey.apply(last), last.getId()).encode() : null)
+                .build();
+    }
+
+    // The term's grams by user count, counted in one statement, so the search walks the shortest
+    // gram's users and probes the next two; empty when a gram has no users, since then nothing matches
+    private List<String> gramsRarestFirst(String term) {
+        Map<String, Integer> counts = gramRepository.countUsers(UserSearchKeys.grams(term), GRAM_COUNT_CAP);
+        if (counts.containsValue(0)) {
+            return List.of();
+        }
+        // Stable, so grams with equal counts keep their order in the term
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Role names of the listed users, one query for the whole page
+    private void attachRoles(List<UserSummaryResponse> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Map<Long, UserSummaryResponse> byId = new HashMap<>();
+        users.forEach(user -> byId.put(user.getId(), user));
+        for (Object[] row : userRepository.findRoleRefsByUserIds(byId.keySet())) {
+            byId.get((Long) row[0]).getRoles().add(new UserSummaryResponse.RoleRef((Long) row[1], (String) row[2]));
+        }
+    }
+
     @Override
     public UserEntity getUserById(Long id) {
         UserEntity user = userRepository.findById(id)
@@ -119,11 +200,7 @@ public class UserServiceImpl implements UserService {
         }
         
         if (request.getRoles() != null) {
-            Set<RoleEntity> roles = request.getRoles().stream()
-                .map(roleName -> roleRepository.findByName(roleName)
-                    .orElseThrow(() -> new CustomResourceNotFoundException("Role not found: " + roleName)))
-                .collect(Collectors.toSet());
-            user.setRoles(roles);
+            user.setRoles(findRolesByName(request.getRoles()));
         }
         userRepository.save(user);
         user.setRoles(null);
@@ -135,4 +212,32 @@ public class UserServiceImpl implements UserService {
         UserEntity user = getUserById(id);
         userRepository.delete(user);
     }
+
+    @Override
+    @Transactional
+    public BulkAssignmentResponse replaceRoles(Long userId, Set<Long> roleIds) {
+        if (!userRepository.existsById(userId)) {
+            throw new CustomResourceNotFoundException("User not found with id: " + userId);
+        }
+        if (roleIds.isEmpty()) {
+            int removed = userRepository.deleteAllRoles(userId);
+            return BulkAssignmentResponse.builder().requested(0).removed(removed).build();
+        }
+        IdBatches.requireAll("roles", roleIds, roleRepository.findExistingIds(roleIds));
+        int removed = userRepository.deleteRolesNotIn(userId, roleIds);
+        int added = userRepository.insertRoles(userId, roleIds);
+        log.info("Replaced roles of user {}: {} added, {} removed", userId, added, removed);
+        return BulkAssignmentResponse.builder().requested(roleIds.size()).added(added).removed(removed).build();
+    }
+
+    // One IN query for all names, naming every role that does not exist
+    private Set<RoleEntity> findRolesByName(Set<String> roleNames) {
+        List<RoleEntity> roles = roleRepository.findByNameIn(List.copyOf(roleNames));
+        if (roles.size() != roleNames.size()) {
+            Set<String> missing = new HashSet<>(roleNames);
+            roles.forEach(role -> missing.remove(role.getName()));
+            throw new CustomResourceNotFoundException("Role not found: " + String.join(", ", missing));
+        }
+        return new HashSet<>(roles);
+    }
 }
@@ -0,0 +1,9 @@
+-- Create job_locks table
+-- One row per scheduled job; the instance that moves locked_until into the future runs the job.
+-- DATETIME(6), not TIMESTAMP: no 1970-2038 range and no session time zone conversion.
+-- Tables created with the TIMESTAMP column: ALTER TABLE job_locks MODIFY locked_until DATETIME(6) NOT NULL;
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until DATETIME(6) NOT NULL,
+    locked_by VARCHAR(255)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
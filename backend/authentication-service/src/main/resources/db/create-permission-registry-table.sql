@@ -0,0 +1,12 @@
+-- Create permission_registry table and the permissions.bit_index column
+-- Access tokens carry permissions as a bitset; bit_index is each permission's position in it.
+-- Indices come from the single permission_registry row and are never reused. Existing
+-- permissions are given theirs, in id order, the first time the service loads the registry.
+CREATE TABLE IF NOT EXISTS permission_registry (
+    id INT PRIMARY KEY,
+    next_bit_index INT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE permissions
+    ADD COLUMN bit_index INT NULL AFTER slug,
+    ADD UNIQUE INDEX uk_permissions_bit_index (bit_index);
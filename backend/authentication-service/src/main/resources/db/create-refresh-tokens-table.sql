@@ -1,17 +1,19 @@
 -- Create refresh_tokens table
+-- id is assigned by the service and embedded in the token (tid claim); only the SHA-256 of the token is stored
 CREATE TABLE IF NOT EXISTS refresh_tokens (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    token VARCHAR(500) NOT NULL UNIQUE,
+    id BIGINT PRIMARY KEY,
+    token_hash BINARY(32) NOT NULL UNIQUE,
     user_id BIGINT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
     revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revoked_at TIMESTAMP NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     ip_address VARCHAR(45),
     user_agent VARCHAR(500),
     CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_token (token),
     INDEX idx_user_id (user_id),
-    INDEX idx_expiry_date (expiry_date)
+    INDEX idx_expiry_date (expiry_date),
+    INDEX idx_refresh_tokens_revoked_at (revoked_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Add comment to table
@@ -0,0 +1,19 @@
+-- User directory search: normalized search keys on users and the user_search_grams trigram table
+-- email_search and name_search hold the lowercased, accent-free email and full name (prefix
+-- search); user_search_grams holds their trigrams (infix search). Both are written by the
+-- service; existing users are filled in by the user search backfill job after deployment.
+ALTER TABLE users
+    ADD COLUMN email_search VARCHAR(255) NULL,
+    ADD COLUMN name_search VARCHAR(512) NULL,
+    ADD INDEX idx_users_email_search (email_search),
+    ADD INDEX idx_users_name_search (name_search);
+
+-- Grams are compared byte for byte: they are already normalized, and a case- or
+-- accent-insensitive collation would make distinct grams collide in the primary key
+CREATE TABLE IF NOT EXISTS user_search_grams (
+    gram VARCHAR(3) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (gram, user_id),
+    INDEX idx_user_search_grams_user_id (user_id),
+    CONSTRAINT fk_user_search_grams_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
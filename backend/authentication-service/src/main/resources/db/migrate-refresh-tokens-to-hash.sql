@@ -0,0 +1,13 @@
+-- Move refresh_tokens from the full token to its SHA-256 digest.
+-- Tokens issued before this change carry no tid claim and no stored digest, so their
+-- holders sign in again once; the old rows are dropped here. Dropping the column also
+-- drops its unique and lookup indexes.
+DELETE FROM refresh_tokens;
+
+ALTER TABLE refresh_tokens
+    DROP COLUMN token,
+    MODIFY id BIGINT NOT NULL,
+    ADD COLUMN token_hash BINARY(32) NOT NULL AFTER id,
+    ADD COLUMN revoked_at TIMESTAMP NULL AFTER revoked,
+    ADD UNIQUE INDEX uk_refresh_tokens_token_hash (token_hash),
+    ADD INDEX idx_refresh_tokens_revoked_at (revoked_at);
@@ -0,0 +1,174 @@
+package com.stech.authentication;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.repository.RoleRepository;
+import com.stech.authentication.repository.UserRepository;
+import com.stech.common.persistence.QueryBudget;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL statement and entity-load budgets of login, token validation (called by the gateway on
+ * every secured request), the admin listings and the bulk RBAC endpoints, against the users, roles and permissions
+ * seeded by DatabaseSeeder into the embedded database of the loadtest profile.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthQueryCountTests {
+
+    private static final String USER_EMAIL = "user@example.com";
+    private static final String PASSWORD = "Test12@#";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String accessToken;
+    private String refreshToken;
+
+    private QueryBudget queryBudget;
+
+    @BeforeAll
+    void login() throws Exception {
+        queryBudget = new QueryBudget(mockMvc, entityManagerFactory);
+        String body = mockMvc.perform(loginRequest())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode response = objectMapper.readTree(body);
+        accessToken = response.path("data").path("accessToken").asText();
+        refreshToken = response.path("data").path("refreshToken").asText();
+        // Loads the revocation filter, so the refresh test measures the steady state
+        mockMvc.perform(refreshRequest()).andExpect(status().isOk());
+    }
+
+    @Test
+    void loginWithPassword() throws Exception {
+        // 2 statements: the user with roles and permissions in one fetch join, then the refresh
+        // token insert; 3 entities: the user, its role and the role's permission
+        queryBudget.assertWithin(loginRequest(), 2, 3);
+    }
+
+    @Test
+    void validateToken() throws Exception {
+        // User, roles, role permissions and direct permissions in one fetch join
+        RequestBuilder request = post("/api/v1/auth/validate-token")
+                .with(user(USER_EMAIL))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "token", accessToken,
+                        "requiredPermissionsApi", "/api/v1/user/blog/posts",
+                        "requiredPermissionsMethod", "GET",
+                        "ipAddress", "127.0.0.1")));
+        queryBudget.assertWithin(request, 1, 3);
+    }
+
+    @Test
+    void refreshAccessToken() throws Exception {
+        // The user and at most one revocation poll: a token the revocation filter has never
+        // seen needs no refresh_tokens read
+        queryBudget.assertWithin(refreshRequest(), 4, 3);
+    }
+
+    @Test
+    void roleListing() throws Exception {
+        // One projection with correlated counts (plus the count query once there is a second
+        // page); no role, permission or user entity is loaded
+        RequestBuilder request = get("/api/v1/auth/roles")
+                .with(user("admin@example.com").authorities(() -> "ROLE_READ"));
+        queryBudget.assertWithin(request, 2, 0);
+    }
+
+    @Test
+    void userListing() throws Exception {
+        // Projection page, its count query and the role names of the page's users
+        RequestBuilder request = get("/api/v1/auth/users")
+                .with(user("admin@example.com").authorities(() -> "USER_READ"));
+        queryBudget.assertWithin(request, 3, 0);
+    }
+
+    @Test
+    void userDirectorySearch() throws Exception {
+        // Infix search: the user counts of all the term's trigrams in one statement, the search
+        // over the rarest trigrams, then the role names of the page
+        queryBudget.assertWithin(searchRequest("sayan"), 3, 0);
+        // Email prefix search on idx_users_email_search, then the role names of the page
+        queryBudget.assertWithin(searchRequest("user@ex"), 2, 0);
+    }
+
+    @Test
+    void bulkRoleAssignment() throws Exception {
+        // Role exists, user ids exist, one INSERT ... SELECT; no entity (nor RoleEntity.users) loaded.
+        // The user already holds USER, so nothing changes for the other tests
+        long roleId = roleRepository.findByName("USER").orElseThrow().getId();
+        long userId = userRepository.findByEmail(USER_EMAIL).orElseThrow().getId();
+        RequestBuilder request = post("/api/v1/auth/roles/" + roleId + "/users")
+                .with(user("admin@example.com").authorities(() -> "ROLE_UPDATE"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("userIds", List.of(userId))));
+        queryBudget.assertWithin(request, 3, 0);
+    }
+
+    @Test
+    void replaceUserRoles() throws Exception {
+        // User exists, role ids exist, then one DELETE and one INSERT ... SELECT
+        long roleId = roleRepository.findByName("USER").orElseThrow().getId();
+        long userId = userRepository.findByEmail(USER_EMAIL).orElseThrow().getId();
+        RequestBuilder request = put("/api/v1/auth/users/" + userId + "/roles")
+                .with(user("admin@example.com").authorities(() -> "USER_UPDATE"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("roleIds", List.of(roleId))));
+        queryBudget.assertWithin(request, 4, 0);
+    }
+
+    private RequestBuilder searchRequest(String query) {
+        return get("/api/v1/auth/users/search")
+                .param("q", query)
+                .with(user("admin@example.com").authorities(() -> "USER_READ"));
+    }
+
+    private RequestBuilder loginRequest() throws Exception {
+        return post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", USER_EMAIL, "password", PASSWORD)));
+    }
+
+    private RequestBuilder refreshRequest() throws Exception {
+        return post("/api/v1/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.stech.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.repository.PermissionRepository;
+import com.stech.authentication.repository.RoleRepository;
+import com.stech.authentication.repository.UserRepository;
+
+/**
+ * The bulk RBAC endpoints refuse callers without ROLE_UPDATE / USER_UPDATE, and leave the
+ * assignments of the seeded users untouched when they do.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class RbacAuthorizationTests {
+
+    private static final String USER_EMAIL = "user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Test
+    void assignRoleToUsersNeedsRoleUpdate() throws Exception {
+        long adminRoleId = roleRepository.findByName("ADMIN").orElseThrow().getId();
+        long userId = userRepository.findByEmail(USER_EMAIL).orElseThrow().getId();
+
+        mockMvc.perform(post("/api/v1/auth/roles/" + adminRoleId + "/users")
+                        .with(user(USER_EMAIL).authorities(() -> "USER_READ"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userIds", List.of(userId)))))
+                .andExpect(status().isForbidden());
+
+        assertThat(roleIdsOf(userId)).doesNotContain(adminRoleId);
+    }
+
+    @Test
+    void assignPermissionsNeedsRoleUpdate() throws Exception {
+        long userRoleId = roleRepository.findByName("USER").orElseThrow().getId();
+        long permissionId = permissionRepository.findByName("ROLE_UPDATE").orElseThrow().getId();
+
+        mockMvc.perform(post("/api/v1/auth/roles/" + userRoleId + "/permissions")
+                        .with(user(USER_EMAIL).authorities(() -> "ROLE_READ"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("permissionIds", List.of(permissionId)))))
+                .andExpect(status().isForbidden());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT permission_id FROM role_permissions WHERE role_id = ?", Long.class, userRoleId))
+                .doesNotContain(permissionId);
+    }
+
+    @Test
+    void revokePermissionsNeedsRoleUpdate() throws Exception {
+        long adminRoleId = roleRepository.findByName("ADMIN").orElseThrow().getId();
+        long permissionId = permissionRepository.findByName("USER_READ").orElseThrow().getId();
+
+        mockMvc.perform(post("/api/v1/auth/roles/" + adminRoleId + "/permissions/revoke")
+                        .with(user(USER_EMAIL).authorities(() -> "USER_UPDATE"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("permissionIds", List.of(permissionId)))))
+                .andExpect(status().isForbidden());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT permission_id FROM role_permissions WHERE role_id = ?", Long.class, adminRoleId))
+                .contains(permissionId);
+    }
+
+    @Test
+    void replaceUserRolesNeedsUserUpdate() throws Exception {
+        long adminRoleId = roleRepository.findByName("ADMIN").orElseThrow().getId();
+        long userId = userRepository.findByEmail(USER_EMAIL).orElseThrow().getId();
+
+        mockMvc.perform(put("/api/v1/auth/users/" + userId + "/roles")
+                        .with(user(USER_EMAIL).authorities(() -> "ROLE_UPDATE"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("roleIds", List.of(adminRoleId)))))
+                .andExpect(status().isForbidden());
+
+        assertThat(roleIdsOf(userId)).doesNotContain(adminRoleId);
+    }
+
+    private List<Long> roleIdsOf(long userId) {
+        return jdbcTemplate.queryForList("SELECT role_id FROM users_roles WHERE user_id = ?", Long.class, userId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.stech.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.helper.UserImportReader;
+import com.stech.authentication.repository.UserRepository;
+
+/**
+ * The bulk user import endpoint end to end: the permission it needs, the roles a caller may
+ * hand out and the NDJSON response closed by the summary line.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class UserImportTests {
+
+    private static final String HEADER = "firstName,lastName,email,gender,phone,dateOfBirth,password,roles";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void importNeedsUserCreate() throws Exception {
+        String csv = HEADER + "\nEve,Mallory,import-eve@example.com,FEMALE,5550100,1990-01-01,secret123,ADMIN\n";
+        mockMvc.perform(post("/api/v1/auth/users/import")
+                        .with(user("user@example.com").authorities(() -> "USER_READ"))
+                        .contentType(UserImportReader.TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isForbidden());
+
+        assertThat(userRepository.findByEmail("import-eve@example.com")).isEmpty();
+    }
+
+    @Test
+    void streamsRowResultsThenSummaryAndRefusesRolesBeyondTheCaller() throws Exception {
+        String csv = HEADER + "\n"
+                + "Ada,Lovelace,import-ada@example.com,FEMALE,5550100,1815-12-10,secret123,USER\n"
+                + "Eve,Mallory,import-eve2@example.com,FEMALE,5550100,1990-01-01,secret123,ADMIN\n"
+                + "Bob,,import-bob@example.com,MALE,5550100,1990-01-01,secret123,\n";
+        String body = mockMvc.perform(post("/api/v1/auth/users/import")
+                        .with(user("manager@example.com").authorities(() -> "USER_CREATE", () -> "USER_READ"))
+                        .contentType(UserImportReader.TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(4);
+        JsonNode summary = objectMapper.readTree(lines.get(3));
+        assertThat(summary.path("processed").asLong()).isEqualTo(3);
+        assertThat(summary.path("created").asLong()).isEqualTo(1);
+        assertThat(summary.path("failed").asLong()).isEqualTo(2);
+
+        List<JsonNode> results = lines.subList(0, 3).stream().map(this::readTree).toList();
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result.path("email").asText()).isEqualTo("import-ada@example.com");
+            assertThat(result.path("status").asText()).isEqualTo("CREATED");
+        });
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result.path("line").asLong()).isEqualTo(3);
+            assertThat(result.path("errors").toString()).contains("Not allowed to grant role: ADMIN");
+        });
+        assertThat(results).anySatisfy(result -> {
+            assertThat(result.path("line").asLong()).isEqualTo(4);
+            assertThat(result.path("errors").toString()).contains("lastName is required");
+        });
+        assertThat(userRepository.findByEmail("import-eve2@example.com")).isEmpty();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(line, e);
+        }
+    }
+}
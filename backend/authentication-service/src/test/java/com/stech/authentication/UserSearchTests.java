@@ -0,0 +1,111 @@
+package com.stech.authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.helper.UserImportReader;
+import com.stech.authentication.helper.UserSearchKeys;
+import com.stech.authentication.repository.UserSearchGramRepository;
+import com.stech.common.persistence.QueryCounter;
+
+/**
+ * Infix search over the trigram index when the term's first trigram is common: thirty users
+ * share "ann", one has "annzq", so the search has to drive from a rare trigram.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSearchTests {
+
+    private static final String HEADER = "firstName,lastName,email,gender,phone,dateOfBirth,password,roles";
+    private static final int COMMON_USERS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserSearchGramRepository gramRepository;
+
+    @BeforeAll
+    void importUsers() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < COMMON_USERS; i++) {
+            csv.append("Anna,Common,search-anna").append(i).append("@example.com,FEMALE,5550100,1990-01-01,secret123,\n");
+        }
+        csv.append("Annzq,Rare,search-rare@example.com,FEMALE,5550100,1990-01-01,secret123,\n");
+        mockMvc.perform(post("/api/v1/auth/users/import")
+                        .with(user("admin@example.com").authorities(() -> "FULL_ACCESS"))
+                        .contentType(UserImportReader.TEXT_CSV)
+                        .content(csv.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void countsUsersPerGram() {
+        Map<String, Integer> counts;
+        try (QueryCounter queries = QueryCounter.start()) {
+            counts = gramRepository.countUsers(UserSearchKeys.grams("annzq"), 1_000);
+            // All grams in one statement, not one round trip per gram
+            queries.assertStatementCount(1);
+        }
+
+        assertThat(counts.keySet()).containsExactly("ann", "nnz", "nzq");
+        assertThat(counts.get("ann")).isGreaterThan(COMMON_USERS);
+        assertThat(counts.get("nnz")).isEqualTo(1);
+        assertThat(counts.get("nzq")).isEqualTo(1);
+        // Counting stops at the cap
+        assertThat(gramRepository.countUsers(UserSearchKeys.grams("ann"), 5)).containsEntry("ann", 5);
+    }
+
+    @Test
+    void findsTheRareMatchBehindACommonFirstGram() throws Exception {
+        JsonNode data = search("annzq", 1);
+
+        assertThat(data.path("users")).hasSize(1);
+        assertThat(data.path("users").get(0).path("email").asText()).isEqualTo("search-rare@example.com");
+        assertThat(data.path("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void pagesTheCommonGramsMatches() throws Exception {
+        JsonNode data = search("anna com", 20);
+
+        assertThat(data.path("users")).hasSize(20);
+        assertThat(data.path("nextCursor").asText()).isNotEmpty();
+    }
+
+    @Test
+    void findsNothingWhenAGramHasNoUsers() throws Exception {
+        assertThat(search("annzx", 20).path("users")).isEmpty();
+    }
+
+    private JsonNode search(String term, int size) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/auth/users/search")
+                        .with(user("admin@example.com").authorities(() -> "FULL_ACCESS"))
+                        .param("q", term)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+}
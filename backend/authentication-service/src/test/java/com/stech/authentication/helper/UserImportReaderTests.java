@@ -0,0 +1,122 @@
+package com.stech.authentication.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.dto.request.UserImportRow;
+import com.stech.authentication.exception.CustomBadRequestException;
+
+class UserImportReaderTests {
+
+    private static final MediaType CSV = MediaType.parseMediaType(UserImportReader.TEXT_CSV);
+    private static final MediaType NDJSON = MediaType.parseMediaType(UserImportReader.APPLICATION_NDJSON);
+    private static final String HEADER = "first_name,LastName,email,gender,phone,date-of-birth,password,roles,active";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsCsvWithNormalizedHeaderAndQuotedFields() throws IOException {
+        String csv = "\uFEFF" + HEADER + "\n"
+                + "Ada,Lovelace,ada@example.com,FEMALE,555,1815-12-10,secret123,USER|MANAGER,true\n"
+                + "\n"
+                + "\"Grace \"\"Amazing\"\"\",\"Hopper,\nRear Admiral\",grace@example.com,FEMALE,,1906-12-09,secret123,,\n";
+        try (UserImportReader reader = reader(csv, CSV)) {
+            UserImportRow ada = reader.next();
+            assertThat(reader.line()).isEqualTo(2);
+            assertThat(ada.getFirstName()).isEqualTo("Ada");
+            assertThat(ada.getDateOfBirth()).isEqualTo("1815-12-10");
+            assertThat(ada.getRoles()).containsExactly("USER", "MANAGER");
+            assertThat(ada.getActive()).isTrue();
+
+            UserImportRow grace = reader.next();
+            assertThat(reader.line()).isEqualTo(4);
+            assertThat(grace.getFirstName()).isEqualTo("Grace \"Amazing\"");
+            assertThat(grace.getLastName()).isEqualTo("Hopper,\nRear Admiral");
+            assertThat(grace.getPhone()).isNull();
+            assertThat(grace.getRoles()).isNull();
+            assertThat(grace.getActive()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsBadCsvRowAndContinuesWithTheNext() throws IOException {
+        String csv = HEADER + "\n"
+                + "Ada,Lovelace,ada@example.com\n"
+                + "Ada,Lovelace,ada@example.com,FEMALE,555,1815-12-10,secret123,,maybe\n"
+                + "Alan,Turing,alan@example.com,MALE,555,1912-06-23,secret123,,\n";
+        try (UserImportReader reader = reader(csv, CSV)) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(CustomBadRequestException.class)
+                    .hasMessageContaining("Expected 9 fields, found 3");
+            assertThat(reader.line()).isEqualTo(2);
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(CustomBadRequestException.class)
+                    .hasMessageContaining("active must be true or false");
+            assertThat(reader.line()).isEqualTo(3);
+            assertThat(reader.next().getEmail()).isEqualTo("alan@example.com");
+            assertThat(reader.line()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void rejectsUnusableCsvHeader() {
+        assertThatThrownBy(() -> reader("firstName,nickname\n", CSV))
+                .isInstanceOf(CustomBadRequestException.class)
+                .hasMessageContaining("Unknown CSV column: nickname");
+        assertThatThrownBy(() -> reader("email,e-mail\n", CSV))
+                .isInstanceOf(CustomBadRequestException.class)
+                .hasMessageContaining("Duplicate CSV column");
+        assertThatThrownBy(() -> reader("firstName,lastName,email,gender,phone,dateOfBirth\n", CSV))
+                .isInstanceOf(CustomBadRequestException.class)
+                .hasMessageContaining("password or passwordHash");
+        assertThatThrownBy(() -> reader("", CSV))
+                .isInstanceOf(CustomBadRequestException.class)
+                .hasMessageContaining("no header row");
+    }
+
+    @Test
+    void readsNdjsonAndRejectsMalformedLines() throws IOException {
+        String ndjson = "{\"firstName\":\"Ada\",\"email\":\"ada@example.com\",\"roles\":[\"USER\"],\"active\":false}\n"
+                + "\n"
+                + "{\"firstName\":\n"
+                + "{\"firstName\":\"Alan\",\"email\":\"alan@example.com\"}\n";
+        try (UserImportReader reader = reader(ndjson, NDJSON)) {
+            UserImportRow ada = reader.next();
+            assertThat(reader.line()).isEqualTo(1);
+            assertThat(ada.getEmail()).isEqualTo("ada@example.com");
+            assertThat(ada.getRoles()).isEqualTo(List.of("USER"));
+            assertThat(ada.getActive()).isFalse();
+
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(CustomBadRequestException.class)
+                    .hasMessageStartingWith("Malformed JSON");
+            assertThat(reader.line()).isEqualTo(3);
+
+            assertThat(reader.next().getFirstName()).isEqualTo("Alan");
+            assertThat(reader.line()).isEqualTo(4);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsOtherFormats() {
+        assertThatThrownBy(() -> reader("{}", MediaType.APPLICATION_JSON))
+                .isInstanceOf(CustomBadRequestException.class)
+                .hasMessageContaining("Unsupported import format");
+    }
+
+    private UserImportReader reader(String body, MediaType contentType) throws IOException {
+        return new UserImportReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType, objectMapper);
+    }
+}
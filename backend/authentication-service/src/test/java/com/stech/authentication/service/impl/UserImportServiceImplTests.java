@@ -0,0 +1,218 @@
+package com.stech.authentication.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stech.authentication.dto.request.UserImportRow;
+import com.stech.authentication.dto.response.UserImportResult;
+import com.stech.authentication.dto.response.UserImportResult.Status;
+import com.stech.authentication.dto.response.UserImportSummary;
+import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.helper.UserImportReader;
+import com.stech.authentication.repository.RoleRepository;
+import com.stech.authentication.repository.UserImportRepository;
+import com.stech.authentication.repository.UserSearchGramRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Row validation, batching and the fallback of {@link UserImportServiceImpl} against an
+ * in-memory users table. Batches hold two rows, so three rows already span two batches.
+ */
+class UserImportServiceImplTests {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(UserImportReader.APPLICATION_NDJSON);
+    // insertUsers fails like a column constraint for emails starting with this
+    private static final String REJECTED_PREFIX = "rejected";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Lowercased email -> id
+    private final Map<String, Long> users = new HashMap<>();
+    private final AtomicLong nextId = new AtomicLong(100);
+    private final Map<Long, List<Long>> userRoles = new HashMap<>();
+    private UserImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        UserImportRepository importRepository = mock(UserImportRepository.class);
+        when(importRepository.findExistingEmails(anyCollection())).thenAnswer(call -> {
+            Collection<String> emails = call.getArgument(0);
+            return emails.stream().map(this::key).filter(users::containsKey).collect(Collectors.toSet());
+        });
+        doAnswer(call -> {
+            List<UserEntity> batch = call.getArgument(0);
+            if (batch.stream().anyMatch(user -> user.getEmail().startsWith(REJECTED_PREFIX))) {
+                throw new DataIntegrityViolationException("Data too long for column");
+            }
+            batch.forEach(user -> users.put(key(user.getEmail()), nextId.incrementAndGet()));
+            return null;
+        }).when(importRepository).insertUsers(any());
+        when(importRepository.findIdsByEmail(anyCollection())).thenAnswer(call -> {
+            Collection<String> emails = call.getArgument(0);
+            return emails.stream().map(this::key).collect(Collectors.toMap(email -> email, users::get));
+        });
+        doAnswer(call -> {
+            userRoles.putAll(call.getArgument(0));
+            return null;
+        }).when(importRepository).insertUserRoles(any());
+
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findNamesIdsAndPermissionSlugs()).thenReturn(List.of(
+                new Object[] { "USER", 1L, false, "USER_READ" },
+                new Object[] { "MANAGER", 2L, false, "USER_READ" },
+                new Object[] { "MANAGER", 2L, false, "ROLE_UPDATE" },
+                new Object[] { "ADMIN", 3L, true, "USER_READ" },
+                new Object[] { "GUEST", 4L, false, null }));
+
+        service = new UserImportServiceImpl(importRepository, mock(UserSearchGramRepository.class), roleRepository,
+                new BCryptPasswordEncoder(4), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void reportsEveryRowAndSummarizes() throws IOException {
+        UserImportRow missingFields = row("broken@example.com");
+        missingFields.setFirstName(null);
+        missingFields.setDateOfBirth("10/12/1815");
+        UserImportRow shortPassword = row("short@example.com");
+        shortPassword.setPassword("secret");
+
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = importRows(List.of(row("ada@example.com"), missingFields, shortPassword),
+                List.of("USER_CREATE"), results);
+
+        assertThat(summary.getProcessed()).isEqualTo(3);
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(result(results, 1).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result(results, 1).getUserId()).isEqualTo(users.get("ada@example.com"));
+        assertThat(result(results, 2).getErrors())
+                .containsExactlyInAnyOrder("firstName is required", "dateOfBirth must be a date as yyyy-MM-dd");
+        assertThat(result(results, 3).getErrors()).containsExactly("password must have at least 8 characters");
+    }
+
+    @Test
+    void refusesDuplicateEmailsWithinAndAcrossBatches() throws IOException {
+        users.put("taken@example.com", 1L);
+
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = importRows(List.of(
+                row("ada@example.com"),
+                row("ADA@example.com"),
+                row("alan@example.com"),
+                row("ada@example.com"),
+                row("taken@example.com")), List.of("USER_CREATE"), results);
+
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(result(results, 2).getErrors()).containsExactly("email appears more than once in this import");
+        assertThat(result(results, 4).getErrors()).containsExactly("email is already registered");
+        assertThat(result(results, 5).getErrors()).containsExactly("email is already registered");
+        assertThat(users).containsOnlyKeys("taken@example.com", "ada@example.com", "alan@example.com");
+    }
+
+    @Test
+    void retriesRejectedBatchOneRowAtATime() throws IOException {
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = importRows(List.of(row("ada@example.com"), row("rejected@example.com")),
+                List.of("USER_CREATE"), results);
+
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(result(results, 1).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(result(results, 2).getErrors()).containsExactly("rejected by the database");
+        assertThat(users).containsOnlyKeys("ada@example.com");
+    }
+
+    @Test
+    void assignsOnlyRolesTheGrantorHoldsEveryPermissionOf() throws IOException {
+        List<UserImportResult> results = new ArrayList<>();
+        importRows(List.of(
+                row("user@example.com", "user", "GUEST"),
+                row("manager@example.com", "MANAGER"),
+                row("admin@example.com", "ADMIN"),
+                row("nobody@example.com", "OWNER")), List.of("USER_CREATE", "USER_READ"), results);
+
+        assertThat(result(results, 1).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(userRoles.get(users.get("user@example.com"))).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(result(results, 2).getErrors()).containsExactly("Not allowed to grant role: MANAGER");
+        assertThat(result(results, 3).getErrors()).containsExactly("Not allowed to grant role: ADMIN");
+        assertThat(result(results, 4).getErrors()).containsExactly("Role not found: OWNER");
+        assertThat(users).containsOnlyKeys("user@example.com");
+    }
+
+    @Test
+    void fullAccessGrantsEveryRole() throws IOException {
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportSummary summary = importRows(List.of(row("admin@example.com", "ADMIN", "MANAGER")),
+                List.of("FULL_ACCESS"), results);
+
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(userRoles.get(users.get("admin@example.com"))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private UserImportSummary importRows(List<UserImportRow> rows, List<String> grantorAuthorities,
+                                         List<UserImportResult> results) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (UserImportRow row : rows) {
+            body.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        Collection<? extends GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(grantorAuthorities);
+        try (UserImportReader reader = new UserImportReader(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), NDJSON, objectMapper)) {
+            return service.importUsers(reader, authorities, results::add);
+        }
+    }
+
+    private static UserImportResult result(List<UserImportResult> results, long line) {
+        return results.stream().filter(result -> result.getLine() == line).findFirst().orElseThrow();
+    }
+
+    private static UserImportRow row(String email, String... roles) {
+        UserImportRow row = new UserImportRow();
+        row.setFirstName("Ada");
+        row.setLastName("Lovelace");
+        row.setEmail(email);
+        row.setPassword("secret123");
+        row.setGender("FEMALE");
+        row.setPhone("5550100");
+        row.setDateOfBirth("1815-12-10");
+        row.setRoles(roles.length > 0 ? List.of(roles) : null);
+        return row;
+    }
+
+    private String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
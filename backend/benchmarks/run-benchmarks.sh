@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Builds the modules under test, packages the JMH uber-jar and runs it.
+#
+#   ./run-benchmarks.sh                 -> results/<git short sha>.json
+#   ./run-benchmarks.sh v1.4.0          -> results/v1.4.0.json
+#   ./run-benchmarks.sh v1.4.0 Gateway  -> only benchmarks matching "Gateway"
+#
+# Maven runs offline (-o) by default; set MVN_OFFLINE= for the very first build
+# so the dependencies can be downloaded into the local repository once.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+BACKEND_DIR="$(cd .. && pwd)"
+MVN="mvn -B -q ${MVN_OFFLINE--o}"
+
+$MVN -f "$BACKEND_DIR/common-util/pom.xml" install -DskipTests
+$MVN -f "$BACKEND_DIR/authentication-service/pom.xml" install -DskipTests
+$MVN -f "$BACKEND_DIR/api-gateway/pom.xml" install -DskipTests
+$MVN -f pom.xml package
+
+LABEL="${1:-$(git rev-parse --short HEAD)}"
+shift || true
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/$LABEL.json" "$@"
+echo "Results written to benchmarks/results/$LABEL.json"
@@ -0,0 +1,60 @@
+package com.stech.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.helper.JwtTokenProvider;
+import com.stech.authentication.service.impl.CustomUserDetails;
+
+/**
+ * Per-login work in authentication-service: building the authority set of
+ * CustomUserDetails and signing the access token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationServiceBenchmark {
+
+    private UserEntity editor;
+    private UserEntity admin;
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        editor = Fixtures.user(3, 8, 4, false);
+        admin = Fixtures.user(2, 8, 0, true);
+        tokenProvider = Fixtures.tokenProvider();
+        authentication = Fixtures.authentication(editor);
+    }
+
+    @Benchmark
+    public CustomUserDetails userDetailsWithPermissions() {
+        return new CustomUserDetails(editor);
+    }
+
+    @Benchmark
+    public CustomUserDetails userDetailsFullAccess() {
+        return new CustomUserDetails(admin);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+}
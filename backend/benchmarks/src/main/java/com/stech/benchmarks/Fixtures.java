@@ -0,0 +1,109 @@
+package com.stech.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.stech.authentication.entity.PermissionEntity;
+import com.stech.authentication.entity.RoleEntity;
+import com.stech.authentication.entity.UserEntity;
+import com.stech.authentication.enums.Gender;
+import com.stech.authentication.helper.JwtTokenProvider;
+import com.stech.authentication.service.impl.CustomUserDetails;
+import com.stech.common.security.authority.PermissionRegistryResolver;
+import com.stech.common.security.authority.PermissionRegistrySnapshot;
+
+/**
+ * Shared, deterministic inputs for the benchmarks.
+ * Sizes follow a typical editor account: a few roles with a couple of dozen permission slugs.
+ */
+final class Fixtures {
+
+    /** Same key as JwtTokenLibrary and the auth-service profiles, so tokens validate on both sides */
+    static final String JWT_SECRET = "9C3953C4622DAD2D8A625DA26AA97508A994D75EA0EEB0EE75AFDA7A91317FA0";
+    static final long JWT_EXPIRATION_MS = 3_600_000;
+    /** Size of the permission registry, comparable to a production permission table */
+    static final int REGISTERED_PERMISSIONS = 200;
+
+    private Fixtures() {
+    }
+
+    static UserEntity user(int roles, int permissionsPerRole, int directPermissions, boolean fullAccess) {
+        Set<RoleEntity> roleSet = new HashSet<>();
+        long permissionId = 1;
+        for (int r = 0; r < roles; r++) {
+            Set<PermissionEntity> permissions = new HashSet<>();
+            for (int p = 0; p < permissionsPerRole; p++, permissionId++) {
+                permissions.add(permission(permissionId));
+            }
+            roleSet.add(RoleEntity.builder()
+                    .id((long) r + 1)
+                    .name("role_" + r)
+                    .isFullAccess(fullAccess && r == 0)
+                    .permissions(permissions)
+                    .build());
+        }
+        Set<PermissionEntity> direct = new HashSet<>();
+        for (int d = 0; d < directPermissions; d++, permissionId++) {
+            direct.add(permission(permissionId));
+        }
+        return UserEntity.builder()
+                .id(42L)
+                .firstName("Bench")
+                .middleName("")
+                .lastName("User")
+                .gender(Gender.values()[0])
+                .phone("9999999999")
+                .email("bench.user@example.com")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .password("{noop}secret")
+                .roles(roleSet)
+                .directPermissions(direct)
+                .build();
+    }
+
+    static Authentication authentication(UserEntity user) {
+        CustomUserDetails details = new CustomUserDetails(user);
+        return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+    }
+
+    /** Registry holding every slug {@link #permission} can produce, PERMISSION_n at bit n - 1 */
+    static PermissionRegistryResolver registryResolver() {
+        List<String> slugs = new ArrayList<>();
+        for (int i = 1; i <= REGISTERED_PERMISSIONS; i++) {
+            slugs.add("PERMISSION_" + i);
+        }
+        PermissionRegistrySnapshot snapshot = new PermissionRegistrySnapshot(slugs.size(), slugs);
+        return new PermissionRegistryResolver(minVersion -> snapshot, 300, 2000);
+    }
+
+    static JwtTokenProvider tokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider(registryResolver());
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        ReflectionTestUtils.setField(provider, "refreshTokenExpirationHours", 168L);
+        return provider;
+    }
+
+    /** Access token for the standard editor account (3 roles x 8 permissions + 4 direct) */
+    static String accessToken() {
+        return tokenProvider().generateToken(authentication(user(3, 8, 4, false)));
+    }
+
+    private static PermissionEntity permission(long id) {
+        return PermissionEntity.builder()
+                .id(id)
+                .name("Permission " + id)
+                .category("BENCH")
+                .slug("PERMISSION_" + id)
+                .apiUrl("/api/v1/user/resource/" + id)
+                .apiMethod("GET")
+                .build();
+    }
+}
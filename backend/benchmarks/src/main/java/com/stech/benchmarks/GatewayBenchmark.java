@@ -0,0 +1,94 @@
+package com.stech.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.google.gson.Gson;
+import com.stech.apigateway.filter.AuthenticationFilter;
+import com.stech.apigateway.filter.RouteValidator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-request work in the api-gateway AuthenticationFilter: the open-endpoint predicate and the
+ * parsing of the auth-service validate-token response into the forwarded headers.
+ * processValidToken is private, so it is called through a method handle resolved once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayBenchmark {
+
+    private static final String VALIDATION_RESPONSE = """
+            {"timestamp":"2025-01-01T12:00:00Z","status":"SUCCESS","message":"Token is valid",\
+            "data":{"userId":42,"email":"bench.user@example.com","ipAddress":"10.0.0.1","valid":true},\
+            "errors":[],"requestId":"5f0c2b0e-6c1d-4c3e-9d1f-8a1b2c3d4e5f"}""";
+
+    private RouteValidator routeValidator;
+    private AuthenticationFilter authenticationFilter;
+    private MethodHandle processValidToken;
+    private MockServerHttpRequest openRequest;
+    private MockServerHttpRequest securedRequest;
+    private ServerWebExchange exchange;
+    private ResponseEntity<String> validationResponse;
+    private String authHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+        Constructor<RouteValidator> constructor = RouteValidator.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        routeValidator = constructor.newInstance();
+        authenticationFilter = new AuthenticationFilter(routeValidator, WebClient.builder(), new Gson());
+
+        processValidToken = MethodHandles.privateLookupIn(AuthenticationFilter.class, MethodHandles.lookup())
+                .findVirtual(AuthenticationFilter.class, "processValidToken",
+                        MethodType.methodType(Mono.class, ResponseEntity.class, ServerWebExchange.class, String.class));
+
+        authHeader = "Bearer " + Fixtures.accessToken();
+        openRequest = MockServerHttpRequest.get("/api/v1/user/public/posts/12345").build();
+        securedRequest = MockServerHttpRequest.get("/api/v1/user/posts/12345/comments")
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
+                .build();
+        exchange = MockServerWebExchange.from(securedRequest);
+        validationResponse = ResponseEntity.ok(VALIDATION_RESPONSE);
+    }
+
+    @Benchmark
+    public boolean isSecuredOpenPath() {
+        return routeValidator.isSecured.test(openRequest);
+    }
+
+    @Benchmark
+    public boolean isSecuredSecuredPath() {
+        return routeValidator.isSecured.test(securedRequest);
+    }
+
+    @Benchmark
+    public Object processValidToken() throws Throwable {
+        Mono<?> result = (Mono<?>) processValidToken.invoke(authenticationFilter, validationResponse, exchange, authHeader);
+        return result.block();
+    }
+}
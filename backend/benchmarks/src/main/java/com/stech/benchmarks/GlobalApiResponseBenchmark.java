@@ -0,0 +1,81 @@
+package com.stech.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stech.common.library.GlobalApiResponse;
+
+/**
+ * Building and serializing the GlobalApiResponse envelope the way Spring MVC does for every
+ * controller response. The payload mimics a page of post summaries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalApiResponseBenchmark {
+
+    @Param({"1", "20"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private List<PostSummary> payload;
+    private GlobalApiResponse.ApiResult<List<PostSummary>> prebuilt;
+
+    @Setup
+    public void setUp() {
+        // Boot's defaults for the MVC mapper: ISO dates, Java time module registered
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        payload = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            payload.add(new PostSummary((long) i, "Post title number " + i,
+                    "A short excerpt of the post body that is shown in the feed " + i,
+                    "Technology", 1200L + i, 35 + i, 7, LocalDateTime.of(2025, 1, 1, 12, 0).plusHours(i)));
+        }
+        MDC.put("requestId", "5f0c2b0e-6c1d-4c3e-9d1f-8a1b2c3d4e5f");
+        prebuilt = GlobalApiResponse.success(payload, "Posts fetched successfully");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GlobalApiResponse.success(payload, "Posts fetched successfully"));
+    }
+
+    @Benchmark
+    public byte[] serializeOnly() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(prebuilt);
+    }
+
+    public record PostSummary(Long id, String title, String excerpt, String category, Long viewCount,
+                              Integer voteCount, Integer commentCount, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.stech.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stech.common.library.JwtTokenLibrary;
+import com.stech.common.security.authority.PermissionAuthorities;
+import com.stech.common.security.authority.PermissionRegistryResolver;
+
+/**
+ * Token checks done by CommonJwtAuthenticationFilter on every secured request
+ * in user-management and payment-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenLibraryBenchmark {
+
+    private String token;
+    private PermissionRegistryResolver registryResolver;
+
+    @Setup
+    public void setUp() {
+        token = Fixtures.accessToken();
+        registryResolver = Fixtures.registryResolver();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return JwtTokenLibrary.validateToken(token);
+    }
+
+    @Benchmark
+    public PermissionAuthorities getAuthorities() {
+        return JwtTokenLibrary.getAuthorities(token, registryResolver);
+    }
+}
@@ -0,0 +1,70 @@
+package com.stech.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.stech.common.security.filter.CommonJwtAuthenticationFilter;
+
+/**
+ * Public-URL matching in CommonJwtAuthenticationFilter, which runs before any token work.
+ * A secured path is the worst case: every pattern is tried and none matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicUrlMatchingBenchmark {
+
+    private ExposedFilter filter;
+    private MockHttpServletRequest loginRequest;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletRequest securedRequest;
+
+    @Setup
+    public void setUp() {
+        filter = new ExposedFilter();
+        loginRequest = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        publicRequest = new MockHttpServletRequest("GET", "/api/v1/user/public/posts/12345");
+        securedRequest = new MockHttpServletRequest("GET", "/api/v1/user/posts/12345/comments");
+    }
+
+    @Benchmark
+    public boolean firstPattern() {
+        return filter.isPublic(loginRequest);
+    }
+
+    @Benchmark
+    public boolean publicWildcard() {
+        return filter.isPublic(publicRequest);
+    }
+
+    @Benchmark
+    public boolean securedPath() {
+        return filter.isPublic(securedRequest);
+    }
+
+    /** Same configuration as the user-management and payment-service filters */
+    static final class ExposedFilter extends CommonJwtAuthenticationFilter {
+
+        ExposedFilter() {
+            super(new String[0], Fixtures.registryResolver());
+        }
+
+        boolean isPublic(MockHttpServletRequest request) {
+            return shouldNotFilter(request);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput comparison of the platform-thread and virtual-thread execution modes.
+ * <p>
+ * Run with the JDK source launcher, no build needed:
+ * <pre>
+ *   # in-process model of a request: blocking I/O (MySQL / Razorpay / RestTemplate) + CPU
+ *   java VirtualThreadBenchmark.java simulate [requests] [ioMillis] [cpuMicros]
+ *
+ *   # closed-loop load against a running service, once per mode
+ *   VIRTUAL_THREADS_ENABLED=false  -> start the service, then:
+ *   java VirtualThreadBenchmark.java http http://localhost:9092/api/v1/user/public/categories 400 30
+ *   VIRTUAL_THREADS_ENABLED=true   -> restart the service and repeat
+ * </pre>
+ * The simulated platform pool has 200 threads, the Tomcat default for
+ * {@code server.tomcat.threads.max}.
+ */
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "simulate";
+        switch (mode) {
+            case "simulate" -> simulate(
+                    args.length > 1 ? Integer.parseInt(args[1]) : 20_000,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 50,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 200);
+            case "http" -> http(
+                    args[1],
+                    args.length > 2 ? Integer.parseInt(args[2]) : 400,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 30);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    private static void simulate(int requests, int ioMillis, int cpuMicros) throws InterruptedException {
+        System.out.printf("%d requests, %d ms blocking I/O and %d us CPU each%n", requests, ioMillis, cpuMicros);
+        // Warm up both paths before measuring
+        run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests / 10, ioMillis, cpuMicros);
+        run(Executors.newVirtualThreadPerTaskExecutor(), requests / 10, ioMillis, cpuMicros);
+
+        report("platform", run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests, ioMillis, cpuMicros), requests);
+        report("virtual", run(Executors.newVirtualThreadPerTaskExecutor(), requests, ioMillis, cpuMicros), requests);
+    }
+
+    private static long run(ExecutorService executor, int requests, int ioMillis, int cpuMicros)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                executor.submit(() -> {
+                    try {
+                        Thread.sleep(ioMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    burn(cpuMicros);
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void burn(int micros) {
+        long end = System.nanoTime() + micros * 1_000L;
+        long x = 0;
+        while (System.nanoTime() < end) {
+            x += System.nanoTime() & 1;
+        }
+        if (x == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static void report(String name, long nanos, int requests) {
+        System.out.printf("%-9s %10.0f req/s  (%d ms)%n", name, requests / (nanos / 1e9), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static void http(String url, int concurrency, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+
+        AtomicLong ok = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[concurrency][];
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < concurrency; u++) {
+                int user = u;
+                users.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() < 400 ? ok : errors).incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[user] = Arrays.copyOf(samples, count);
+                });
+            }
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%s with %d concurrent users for %d s%n", url, concurrency, seconds);
+        System.out.printf("throughput %.0f req/s, errors %d%n", ok.get() / (double) seconds, errors.get());
+        if (all.length > 0) {
+            System.out.printf("p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,69 @@
+package com.stech.common.concurrent;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Carries the caller's MDC (requestId), {@link SecurityContext}, Authorization header (see
+ * {@link PropagatedHeaders}) and current trace span into tasks run by Spring's task executors.
+ * The request attributes themselves stay behind: a task may outlive the request, whose objects
+ * the container recycles for the next one.
+ * <p>
+ * Spring Boot applies a single {@link TaskDecorator} bean to the auto-configured {@code @Async}
+ * executor in both the platform-thread and the virtual-thread mode, so thread-local state seen
+ * by {@code GlobalApiResponse}, {@code SecurityUtils} and {@code RestTemplateInterceptor} is the
+ * same no matter which thread runs the task.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable runnable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        String authorization = PropagatedHeaders.authorization();
+        Tracer tracer = tracerProvider.getIfAvailable();
+        Span span = tracer == null ? null : tracer.currentSpan();
+
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            String previousAuthorization = PropagatedHeaders.setAuthorization(authorization);
+            try {
+                setMdc(mdc);
+                SecurityContextHolder.setContext(securityContext);
+                try (Tracer.SpanInScope scope = span == null ? null : tracer.withSpan(span)) {
+                    runnable.run();
+                }
+            } finally {
+                // Pooled platform threads are reused, so leave them exactly as we found them
+                setMdc(previousMdc);
+                SecurityContextHolder.setContext(previousSecurityContext);
+                PropagatedHeaders.setAuthorization(previousAuthorization);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
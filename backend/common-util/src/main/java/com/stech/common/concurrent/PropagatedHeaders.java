@@ -0,0 +1,43 @@
+package com.stech.common.concurrent;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Request headers that outgoing calls forward, readable on the request thread and in tasks
+ * decorated by {@link ContextPropagatingTaskDecorator}. A task sees a copy taken when it was
+ * submitted: the request object itself is recycled by the container once the response is sent,
+ * so a task must never read it.
+ */
+public final class PropagatedHeaders {
+
+    private static final ThreadLocal<String> AUTHORIZATION = new ThreadLocal<>();
+
+    private PropagatedHeaders() {
+    }
+
+    /**
+     * Authorization header of the current request, or of the request that submitted the
+     * current task; null when there is neither
+     */
+    public static String authorization() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+        return AUTHORIZATION.get();
+    }
+
+    // Swaps the task's copy in and returns the previous one, for restoring afterwards
+    static String setAuthorization(String authorization) {
+        String previous = AUTHORIZATION.get();
+        if (authorization == null) {
+            AUTHORIZATION.remove();
+        } else {
+            AUTHORIZATION.set(authorization);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,84 @@
+package com.stech.common.concurrent;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs every virtual thread that stays pinned to its carrier longer than the threshold.
+ * <p>
+ * On Java 21 a virtual thread pins while it blocks inside a {@code synchronized} block or a
+ * native frame, which is what turns a slow JDBC call under a monitor into a stalled carrier.
+ * The JFR {@code jdk.VirtualThreadPinned} event is streamed in-process and reported with the
+ * top application frames, so the offending lock shows up in the regular service log.
+ * Only active when {@code spring.threads.virtual.enabled=true}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int maxFrames;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-monitor.enabled:true}") boolean enabled,
+            @Value("${app.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs,
+            @Value("${app.virtual-threads.pinning-monitor.max-frames:8}") int maxFrames) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.maxFrames = maxFrames;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::report);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started with a {} ms threshold", threshold.toMillis());
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. minimal runtime images); the service must still start
+            log.warn("Virtual thread pinning monitor could not be started: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        String frames = event.getStackTrace() == null ? "<no stack trace>"
+                : event.getStackTrace().getFrames().stream()
+                        .filter(RecordedFrame::isJavaFrame)
+                        .limit(maxFrames)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("Virtual thread {} pinned its carrier for {} ms{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), frames);
+    }
+}
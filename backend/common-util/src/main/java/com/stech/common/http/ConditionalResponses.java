@@ -0,0 +1,67 @@
+package com.stech.common.http;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.stech.common.library.GlobalApiResponse;
+
+/**
+ * Conditional GET support (ETag / Last-Modified / 304) for controllers returning
+ * {@link GlobalApiResponse.ApiResult}.
+ * <p>
+ * The result supplier is only invoked when the client copy is stale, so a controller that
+ * can compute the {@link ResourceVersion} cheaply (from a cache or an aggregate query)
+ * skips both the repository fetch and the JSON serialization on a 304.
+ */
+public final class ConditionalResponses {
+
+    // Clients may store the body but must revalidate; responses can depend on the caller
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static <T> ResponseEntity<GlobalApiResponse.ApiResult<T>> of(
+            WebRequest request,
+            ResourceVersion version,
+            Supplier<GlobalApiResponse.ApiResult<T>> result) {
+
+        boolean notModified = isNotModified(request, version);
+        ResponseEntity.BodyBuilder builder = withValidators(
+                ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK), version);
+        return notModified ? builder.build() : builder.body(result.get());
+    }
+
+    /**
+     * Variant for data that is already loaded: still saves serialization and transfer
+     */
+    public static <T> ResponseEntity<GlobalApiResponse.ApiResult<T>> of(
+            WebRequest request,
+            ResourceVersion version,
+            T data,
+            String message) {
+        return of(request, version, () -> GlobalApiResponse.success(data, message));
+    }
+
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return version.lastModified() != null
+                ? request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())
+                : request.checkNotModified(version.etag());
+    }
+
+    static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        builder.eTag(version.etag())
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION);
+        if (version.lastModified() != null) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+}
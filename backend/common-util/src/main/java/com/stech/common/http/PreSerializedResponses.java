@@ -0,0 +1,272 @@
+package com.stech.common.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.stech.common.library.GlobalApiResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in cache of fully serialized {@link GlobalApiResponse.ApiResult} bodies for idempotent
+ * public GETs.
+ * <p>
+ * The body is serialized once per {@link ResourceVersion} without its volatile fields; on
+ * every request only {@code timestamp} and {@code requestId} are spliced around the cached
+ * bytes. Large bodies are also kept as a precompressed DEFLATE segment, and a gzip member is
+ * assembled per request from two stored blocks around that segment, so the payload is never
+ * recompressed. Entries are keyed by the caller's cache key and replaced as soon as the
+ * version (ETag) changes, which ties invalidation to the underlying data.
+ * <p>
+ * Serialization goes through the same JSON message converter Spring MVC uses, so cached and
+ * regular responses are byte-for-byte identical.
+ * <p>
+ * The cached response is written straight to the servlet response and {@code null} is
+ * returned, which tells Spring MVC that the request has been handled. When the mode is
+ * disabled this behaves exactly like {@link ConditionalResponses}.
+ */
+@Component
+@Slf4j
+public class PreSerializedResponses {
+
+    private static final byte[] TIMESTAMP_PREFIX = "{\"timestamp\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REQUEST_ID_PREFIX = ",\"requestId\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final HttpMessageConverter<Object> jsonConverter;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PreSerializedResponses(HttpMessageConverters messageConverters,
+                                  @Value("${app.http.serialized-cache.enabled:false}") boolean enabled,
+                                  @Value("${app.http.serialized-cache.max-entries:1000}") int maxEntries,
+                                  @Value("${app.http.serialized-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.jsonConverter = jsonConverter(messageConverters);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public <T> ResponseEntity<GlobalApiResponse.ApiResult<T>> of(
+            WebRequest request,
+            String cacheKey,
+            ResourceVersion version,
+            Supplier<GlobalApiResponse.ApiResult<T>> result) {
+
+        if (!enabled || !(request instanceof ServletWebRequest servletRequest) || servletRequest.getResponse() == null) {
+            return ConditionalResponses.of(request, version, result);
+        }
+        if (ConditionalResponses.isNotModified(request, version)) {
+            return ConditionalResponses.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+        }
+
+        Entry entry = entries.get(cacheKey);
+        if (entry == null || !entry.etag().equals(version.etag())) {
+            entry = serialize(result.get(), version.etag());
+            entries.put(cacheKey, entry);
+            trimIfNeeded();
+        }
+
+        write(servletRequest.getRequest(), servletRequest.getResponse(), entry, version);
+        return null;
+    }
+
+    /**
+     * Drops every entry whose key starts with the given prefix
+     */
+    public void evict(String keyPrefix) {
+        entries.keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private Entry serialize(GlobalApiResponse.ApiResult<?> result, String etag) {
+        // Same shape as the Jackson output, minus the two volatile fields
+        GlobalApiResponse.ApiResult<?> stable = new GlobalApiResponse.ApiResult<>(
+                null, result.getStatus(), result.getData(), result.getMessage(),
+                result.getErrors(), result.getPageInfo(), null);
+        byte[] json = toJson(stable);
+        byte[] inner = Arrays.copyOfRange(json, 1, json.length - 1);
+
+        byte[] deflated = inner.length >= gzipMinBytes ? deflate(inner) : null;
+        return new Entry(etag, inner, deflated);
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, Entry entry, ResourceVersion version) {
+        byte[] head = concat(TIMESTAMP_PREFIX, toJson(ZonedDateTime.now()), new byte[] {','});
+        String requestId = MDC.get("requestId");
+        byte[] tail = requestId != null
+                ? concat(REQUEST_ID_PREFIX, toJson(requestId), new byte[] {'}'})
+                : new byte[] {'}'};
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, version.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalResponses.CACHE_CONTROL.getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (version.lastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModified().toEpochMilli());
+        }
+
+        try {
+            if (entry.deflated() != null && acceptsGzip(request)) {
+                byte[] body = gzip(head, entry, tail);
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLength(body.length);
+                response.getOutputStream().write(body);
+            } else {
+                response.setContentLength(head.length + entry.inner().length + tail.length);
+                response.getOutputStream().write(head);
+                response.getOutputStream().write(entry.inner());
+                response.getOutputStream().write(tail);
+            }
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One gzip member: stored block (head) + precompressed segment + final stored block (tail).
+     * The segment was flushed with SYNC_FLUSH, so it ends on a byte boundary and never sets
+     * BFINAL, which makes it safe to place between two stored blocks.
+     */
+    private byte[] gzip(byte[] head, Entry entry, byte[] tail) {
+        CRC32 crc = new CRC32();
+        crc.update(head);
+        crc.update(entry.inner());
+        crc.update(tail);
+        int size = head.length + entry.inner().length + tail.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                GZIP_HEADER.length + head.length + entry.deflated().length + tail.length + 18);
+        out.writeBytes(GZIP_HEADER);
+        writeStoredBlock(out, head, false);
+        out.writeBytes(entry.deflated());
+        writeStoredBlock(out, tail, true);
+        writeIntLe(out, (int) crc.getValue());
+        writeIntLe(out, size);
+        return out.toByteArray();
+    }
+
+    private static void writeStoredBlock(ByteArrayOutputStream out, byte[] data, boolean last) {
+        out.write(last ? 1 : 0);
+        out.write(data.length & 0xff);
+        out.write((data.length >>> 8) & 0xff);
+        out.write(~data.length & 0xff);
+        out.write((~data.length >>> 8) & 0xff);
+        out.writeBytes(data);
+    }
+
+    private static void writeIntLe(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, written);
+            } while (written == buffer.length || !deflater.needsInput());
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private byte[] toJson(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        HttpOutputMessage message = new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public ByteArrayOutputStream getBody() {
+                return out;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        try {
+            jsonConverter.write(value, MediaType.APPLICATION_JSON, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize response", e);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpMessageConverter<Object> jsonConverter(HttpMessageConverters messageConverters) {
+        return (HttpMessageConverter<Object>) messageConverters.getConverters().stream()
+                .filter(converter -> converter.canWrite(GlobalApiResponse.ApiResult.class, MediaType.APPLICATION_JSON))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JSON message converter available"));
+    }
+
+    private static byte[] concat(byte[] a, byte[] b, byte[] c) {
+        byte[] result = new byte[a.length + b.length + c.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        System.arraycopy(c, 0, result, a.length + b.length, c.length);
+        return result;
+    }
+
+    private void trimIfNeeded() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        log.debug("Pre-serialized response cache trimmed to {} entries", entries.size());
+    }
+
+    private record Entry(String etag, byte[] inner, byte[] deflated) {
+    }
+}
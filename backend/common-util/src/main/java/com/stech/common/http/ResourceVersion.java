@@ -0,0 +1,56 @@
+package com.stech.common.http;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * HTTP validators for a resource: a strong ETag and an optional Last-Modified instant.
+ * The ETag is a digest of the version parts (ids, {@code updatedAt}, counters...), so two
+ * responses with the same parts are byte-for-byte equivalent apart from the volatile
+ * {@code timestamp} and {@code requestId} fields of {@code GlobalApiResponse.ApiResult}.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    /**
+     * Version whose Last-Modified is taken from an entity {@code updatedAt} column
+     * (entities store {@link LocalDateTime} in the JVM time zone)
+     */
+    public static ResourceVersion of(LocalDateTime updatedAt, Object... parts) {
+        Instant lastModified = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant() : null;
+        Object[] all = new Object[parts.length + 1];
+        all[0] = updatedAt;
+        System.arraycopy(parts, 0, all, 1, parts.length);
+        return new ResourceVersion(strongEtag(all), lastModified);
+    }
+
+    /**
+     * Version identified by an ETag only. Use this when fields such as counters change
+     * without touching {@code updatedAt}, where an If-Modified-Since check would be wrong.
+     */
+    public static ResourceVersion ofParts(Object... parts) {
+        return new ResourceVersion(strongEtag(parts), null);
+    }
+
+    public static String strongEtag(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('|');
+        }
+        byte[] digest = sha256().digest(source.toString().getBytes(StandardCharsets.UTF_8));
+        // 128 bits are plenty to make collisions irrelevant and keep the header short
+        return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.stech.common.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sets the node id of the service's Snowflake ids ({@code app.ids.node-id}, 0-1023, unique per
+ * running instance) and exposes the generator for injection. The ids are primary keys, so
+ * startup fails without the property, except under the {@code local} and {@code loadtest}
+ * profiles, where the node id is derived from the host address and process id.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class IdGeneratorConfiguration {
+
+    static final Profiles DERIVED_NODE_ID_PROFILES = Profiles.of("local", "loadtest");
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.ids.node-id:-1}") int nodeId, Environment environment) {
+        if (nodeId < 0) {
+            if (!environment.acceptsProfiles(DERIVED_NODE_ID_PROFILES)) {
+                throw new IllegalStateException("app.ids.node-id (ID_NODE_ID) must be set to a node id between 0 and "
+                        + SnowflakeIdGenerator.MAX_NODE_ID + " that no other running instance uses");
+            }
+            SnowflakeIdGenerator generator = SnowflakeIds.install(SnowflakeIds.derivedNodeId());
+            log.warn("app.ids.node-id is not set, using derived node id {}; set it when running several instances",
+                    generator.nodeId());
+            return generator;
+        }
+        log.info("Snowflake id node: {}", nodeId);
+        return SnowflakeIds.install(nodeId);
+    }
+}
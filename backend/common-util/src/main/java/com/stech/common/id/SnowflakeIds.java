@@ -0,0 +1,60 @@
+package com.stech.common.id;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * The process-wide {@link SnowflakeIdGenerator}, for code that Spring does not create:
+ * Hibernate instantiates {@code SnowflakeIdentifierGenerator} itself. {@link IdGeneratorConfiguration}
+ * installs the generator of the configured node at startup; anything asking earlier gets one
+ * whose node id is derived from the host address and process id.
+ */
+public final class SnowflakeIds {
+
+    private static volatile SnowflakeIdGenerator generator;
+
+    private SnowflakeIds() {
+    }
+
+    public static long next() {
+        return generator().nextId();
+    }
+
+    public static SnowflakeIdGenerator generator() {
+        SnowflakeIdGenerator current = generator;
+        if (current == null) {
+            synchronized (SnowflakeIds.class) {
+                if (generator == null) {
+                    generator = new SnowflakeIdGenerator(derivedNodeId());
+                }
+                current = generator;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Makes the generator of {@code nodeId} the process-wide one. The current generator stays
+     * when it already has that node id, since a fresh one could repeat its last ids.
+     */
+    public static synchronized SnowflakeIdGenerator install(int nodeId) {
+        if (generator == null || generator.nodeId() != nodeId) {
+            generator = new SnowflakeIdGenerator(nodeId);
+        }
+        return generator;
+    }
+
+    /**
+     * Node id from the host address and process id. Two instances can land on the same one, so
+     * deployments with several instances of a service set {@code app.ids.node-id} instead.
+     */
+    public static int derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return Math.floorMod((host + "/" + ProcessHandle.current().pid()).hashCode(), SnowflakeIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -14,6 +14,11 @@ public class CommunicationServiceUtil {
         return API_AUTHENTICATION_SERVICE_MICROSERVICE+"/api/v1/auth";
     }
 
+    // Internal endpoints of the authentication service, not routed by the gateway
+    public static String getAuthenticationServiceInternalUrl() {
+        return API_AUTHENTICATION_SERVICE_MICROSERVICE+"/internal";
+    }
+
     public static String getUserManagementMicroserviceUrl() {
         return API_USER_MANAGEMENT_MICROSERVICE+"/api/v1/user";
     }
@@ -1,10 +1,11 @@
 package com.stech.common.library;
 
-import java.util.Arrays;
-import java.util.List;
-
 import javax.crypto.SecretKey;
 
+import com.stech.common.security.authority.PermissionAuthorities;
+import com.stech.common.security.authority.PermissionClaims;
+import com.stech.common.security.authority.PermissionRegistryResolver;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
@@ -85,15 +86,10 @@ public class JwtTokenLibrary {
         return JWT_EXPIRATION_MS;
     }
 
-    public static List<String> getAuthorities(String token) {
-        String auth = getAllClaimsFromToken(token).get("permissions", String.class);
-
-        if (auth == null || auth.isEmpty()) {
-            return List.of();
-        }
-
-        return Arrays.stream(auth.split(","))
-                .map(String::trim)
-                .toList();
+    /**
+     * Roles and permissions of the token; permission bits are decoded against the registry
+     */
+    public static PermissionAuthorities getAuthorities(String token, PermissionRegistryResolver resolver) {
+        return PermissionClaims.decode(getAllClaimsFromToken(token), resolver);
     }
 }
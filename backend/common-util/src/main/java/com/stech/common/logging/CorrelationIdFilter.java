@@ -1,21 +1,41 @@
 package com.stech.common.logging;
 
+import com.stech.common.id.SnowflakeIdGenerator;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Set;
 
+/**
+ * Puts the request's X-Request-ID into the MDC, ahead of the security filter chain so the JWT
+ * filter logs it too. Only an ID listed in {@code app.logging.debug-request.ids} flags the
+ * request for full logging (see {@link DebugRequestTurboFilter}); the ID travels unchanged to
+ * downstream services. Requests arriving without one get a Snowflake id as 16 hex digits.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class CorrelationIdFilter extends OncePerRequestFilter {
 
     private static final String CORRELATION_ID_HEADER_NAME = "X-Request-ID";
     private static final String CORRELATION_ID_LOG_VAR_NAME = "requestId";
 
+    private final SnowflakeIdGenerator idGenerator;
+
+    @Value("${app.logging.debug-request.ids:}")
+    private Set<String> debugIds;
+
+    public CorrelationIdFilter(SnowflakeIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     @Override
     protected void doFilterInternal(@org.springframework.lang.NonNull HttpServletRequest request, 
                                     @org.springframework.lang.NonNull HttpServletResponse response, 
@@ -25,15 +45,23 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
         String correlationId = request.getHeader(CORRELATION_ID_HEADER_NAME);
         
         if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = idGenerator.nextHexId();
         }
 
         try {
             MDC.put(CORRELATION_ID_LOG_VAR_NAME, correlationId);
+            if (isDebugRequest(correlationId)) {
+                MDC.put(DebugRequestTurboFilter.MDC_KEY, "true");
+            }
             response.setHeader(CORRELATION_ID_HEADER_NAME, correlationId);
             filterChain.doFilter(request, response);
         } finally {
             MDC.remove(CORRELATION_ID_LOG_VAR_NAME);
+            MDC.remove(DebugRequestTurboFilter.MDC_KEY);
         }
     }
+
+    private boolean isDebugRequest(String correlationId) {
+        return debugIds.contains(correlationId);
+    }
 }
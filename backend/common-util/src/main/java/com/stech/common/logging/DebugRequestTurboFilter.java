@@ -0,0 +1,38 @@
+package com.stech.common.logging;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Full logging for a single request: while {@link CorrelationIdFilter} has flagged the current
+ * request for debug, every event at {@code minimumLevel} or above is accepted regardless of the
+ * logger's level, and {@link SampledLogger} stops sampling.
+ */
+public class DebugRequestTurboFilter extends TurboFilter {
+
+    /** MDC key set by CorrelationIdFilter for flagged requests */
+    public static final String MDC_KEY = "debugRequest";
+
+    private Level minimumLevel = Level.DEBUG;
+
+    public static boolean isDebugRequest() {
+        return MDC.get(MDC_KEY) != null;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && level.isGreaterOrEqual(minimumLevel) && isDebugRequest()) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setMinimumLevel(Level minimumLevel) {
+        this.minimumLevel = minimumLevel;
+    }
+}
@@ -0,0 +1,122 @@
+package com.stech.common.logging;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+/**
+ * One JSON object per line: timestamp, level, service, logger, thread, message, MDC entries
+ * (requestId among them), SLF4J key-value pairs and the stack trace.
+ * <p>
+ * Written straight into a {@link StringBuilder} instead of going through a pattern converter
+ * chain; the timestamp text is reused for every event within the same second.
+ */
+public class JsonLogLayout extends LayoutBase<ILoggingEvent> {
+
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private String service = "";
+    private volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    @Override
+    public String doLayout(ILoggingEvent event) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"@timestamp\":\"");
+        appendTimestamp(json, event.getTimeStamp());
+        json.append("\",\"level\":\"").append(event.getLevel().levelStr).append('"');
+        field(json, "service", service);
+        field(json, "logger", event.getLoggerName());
+        field(json, "thread", event.getThreadName());
+        field(json, "message", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                field(json, entry.getKey(), entry.getValue());
+            }
+        }
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs != null) {
+            for (KeyValuePair pair : keyValuePairs) {
+                field(json, pair.key, String.valueOf(pair.value));
+            }
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        return json.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json";
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    private void appendTimestamp(StringBuilder json, long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        CachedSecond cached = cachedSecond;
+        if (cached.second() != second) {
+            cached = new CachedSecond(second, SECOND_FORMAT.format(Instant.ofEpochSecond(second)));
+            cachedSecond = cached;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        json.append(cached.text()).append('.')
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append('Z');
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"");
+        escape(json, name);
+        json.append("\":\"");
+        escape(json, value);
+        json.append('"');
+    }
+
+    /**
+     * Appends {@code value} as the content of a JSON string
+     */
+    public static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private record CachedSecond(long second, String text) {
+    }
+}
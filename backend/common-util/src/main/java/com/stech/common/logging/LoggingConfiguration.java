@@ -1,36 +1,145 @@
 package com.stech.common.logging;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
-import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.rolling.RollingFileAppender;
 import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import com.github.loki4j.logback.Loki4jAppender;
+import com.github.loki4j.logback.PipelineConfigAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Logging pipeline of the servlet services: JSON lines to a daily rolling file and, when enabled,
+ * batched pushes to Loki, both behind one {@link RingBufferAsyncAppender} so request threads only
+ * enqueue. Loki4j batches by count and time and bounds its send queue, dropping instead of
+ * blocking when Loki falls behind.
+ * <p>
+ * Dropped events and queue depth are published as {@code app.logging.*} meters. Requests
+ * flagged for debug log everything from {@code app.logging.debug-request.minimum-level} up.
+ */
 @Configuration
 @Slf4j
 public class LoggingConfiguration {
 
+    private static final String ASYNC_APPENDER = "ASYNC";
+    private static final String CONSOLE_APPENDER = "CONSOLE";
+
     @Value("${spring.application.name:APP}")
     private String appName;
 
+    @Value("${app.logging.async.queue-size:8192}")
+    private int queueSize;
+
+    @Value("${app.logging.async.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.logging.async.overflow-policy:DROP_BELOW_WARN}")
+    private RingBufferAsyncAppender.OverflowPolicy overflowPolicy;
+
+    @Value("${app.logging.async.defer-formatting:false}")
+    private boolean deferFormatting;
+
+    @Value("${app.logging.async.console:false}")
+    private boolean asyncConsole;
+
+    @Value("${app.logging.loki.enabled:false}")
+    private boolean lokiEnabled;
+
+    @Value("${logging.loki.url:http://localhost:3100/loki/api/v1/push}")
+    private String lokiUrl;
+
+    @Value("${app.logging.loki.batch-max-items:1000}")
+    private int lokiBatchMaxItems;
+
+    @Value("${app.logging.loki.batch-timeout-ms:1000}")
+    private long lokiBatchTimeoutMs;
+
+    @Value("${app.logging.loki.send-queue-max-bytes:41943040}")
+    private long lokiSendQueueMaxBytes;
+
+    @Value("${app.logging.sampling.per-second:5}")
+    private int sampledPerSecond;
+
+    @Value("${app.logging.debug-request.minimum-level:DEBUG}")
+    private String debugRequestMinimumLevel;
+
     @PostConstruct
     public void configureLogback() {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
 
         // Check if appenders already exist to avoid duplication on refresh
         Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
-        if (rootLogger.getAppender("FILE") != null) {
+        if (rootLogger.getAppender(ASYNC_APPENDER) != null) {
             return;
         }
 
-        log.info("Configuring Logback for File logging for app: {}", appName);
+        SampledLogger.setDefaultPerSecond(sampledPerSecond);
+        DebugRequestTurboFilter debugRequestFilter = new DebugRequestTurboFilter();
+        debugRequestFilter.setContext(context);
+        debugRequestFilter.setMinimumLevel(Level.toLevel(debugRequestMinimumLevel, Level.DEBUG));
+        debugRequestFilter.start();
+        context.addTurboFilter(debugRequestFilter);
+
+        log.info("Configuring asynchronous logging for app: {}", appName);
 
+        RingBufferAsyncAppender asyncAppender = new RingBufferAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(ASYNC_APPENDER);
+        asyncAppender.setQueueSize(queueSize);
+        asyncAppender.setBatchSize(batchSize);
+        asyncAppender.setOverflowPolicy(overflowPolicy);
+        asyncAppender.setDeferFormatting(deferFormatting);
+        asyncAppender.addAppender(fileAppender(context));
+        if (lokiEnabled) {
+            asyncAppender.addAppender(lokiAppender(context));
+        }
+        if (asyncConsole) {
+            Appender<ILoggingEvent> console = rootLogger.getAppender(CONSOLE_APPENDER);
+            if (console != null) {
+                rootLogger.detachAppender(console);
+                asyncAppender.addAppender(console);
+            }
+        }
+        asyncAppender.start();
+
+        // --- Add to Root Logger ---
+        rootLogger.addAppender(asyncAppender);
+
+        log.info("Logback configuration completed (queue {}, overflow {}, loki {}).",
+                asyncAppender.queueCapacity(), overflowPolicy, lokiEnabled ? lokiUrl : "off");
+    }
+
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            if (!(context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER) instanceof RingBufferAsyncAppender appender)) {
+                return;
+            }
+            FunctionCounter.builder("app.logging.dropped.events", appender, RingBufferAsyncAppender::droppedEvents)
+                    .description("Log events dropped because the async buffer was full")
+                    .register(registry);
+            Gauge.builder("app.logging.queue.depth", appender, RingBufferAsyncAppender::queueDepth)
+                    .description("Log events waiting for the writer thread")
+                    .register(registry);
+            Gauge.builder("app.logging.queue.capacity", appender, RingBufferAsyncAppender::queueCapacity)
+                    .register(registry);
+        };
+    }
+
+    private RollingFileAppender<ILoggingEvent> fileAppender(LoggerContext context) {
         // --- File Appender ---
         String logDir = "../../logs";
         RollingFileAppender<ILoggingEvent> fileAppender = new RollingFileAppender<>();
@@ -48,18 +157,43 @@ public class LoggingConfiguration {
 
         fileAppender.setRollingPolicy(rollingPolicy);
 
-        // File Encoder
-        PatternLayoutEncoder fileEncoder = new PatternLayoutEncoder();
+        // JSON Encoder; only the writer thread writes, so flushing never holds up a request
+        LayoutWrappingEncoder<ILoggingEvent> fileEncoder = new LayoutWrappingEncoder<>();
         fileEncoder.setContext(context);
-        fileEncoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - [RID:%X{requestId}] %msg%n");
+        fileEncoder.setLayout(jsonLayout(context));
         fileEncoder.start();
 
         fileAppender.setEncoder(fileEncoder);
         fileAppender.start();
+        return fileAppender;
+    }
 
-        // --- Add to Root Logger ---
-        rootLogger.addAppender(fileAppender);
-        
-        log.info("Logback configuration completed.");
+    private Loki4jAppender lokiAppender(LoggerContext context) {
+        PipelineConfigAppenderBase.HttpCfg http = new PipelineConfigAppenderBase.HttpCfg();
+        http.setUrl(lokiUrl);
+
+        PipelineConfigAppenderBase.BatchCfg batch = new PipelineConfigAppenderBase.BatchCfg();
+        batch.setMaxItems(lokiBatchMaxItems);
+        batch.setTimeoutMs(lokiBatchTimeoutMs);
+        batch.setSendQueueMaxBytes(lokiSendQueueMaxBytes);
+
+        Loki4jAppender lokiAppender = new Loki4jAppender();
+        lokiAppender.setContext(context);
+        lokiAppender.setName("LOKI");
+        lokiAppender.setHttp(http);
+        lokiAppender.setBatch(batch);
+        lokiAppender.setLabels("service=" + appName + "\nlevel=%level");
+        lokiAppender.setMessage(jsonLayout(context));
+        lokiAppender.setMetricsEnabled(true);
+        lokiAppender.start();
+        return lokiAppender;
+    }
+
+    private JsonLogLayout jsonLayout(LoggerContext context) {
+        JsonLogLayout layout = new JsonLogLayout();
+        layout.setContext(context);
+        layout.setService(appName);
+        layout.start();
+        return layout;
     }
 }
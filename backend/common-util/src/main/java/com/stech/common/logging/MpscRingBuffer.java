@@ -0,0 +1,80 @@
+package com.stech.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer (Vyukov's sequence-per-slot ring).
+ * A producer claims a slot with one CAS on the tail and publishes it by advancing the slot's
+ * sequence; it never waits on the consumer or on other producers.
+ */
+final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    /** Only written by the consumer; volatile so size() is meaningful from other threads */
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false when the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Consumer only
+     *
+     * @return the oldest element, or null when empty
+     */
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
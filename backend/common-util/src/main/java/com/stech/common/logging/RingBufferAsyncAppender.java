@@ -0,0 +1,206 @@
+package com.stech.common.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Hands log events to a single writer thread through a lock-free ring buffer, so request threads
+ * never wait on the disk or on Loki. The writer drains the buffer in batches into the attached
+ * appenders and parks while it is empty.
+ * <p>
+ * The calling thread captures what is thread-bound (thread name, MDC) and formats the message,
+ * so a mutable argument (an entity, a collection) is logged as it was at the call; only the
+ * layout and the I/O are left to the writer. {@code deferFormatting} also leaves the message
+ * to the writer, which is only safe when no argument can change after the call.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    /** What a full buffer does with a new event */
+    public enum OverflowPolicy {
+        /** Drop the event */
+        DROP,
+        /** Drop INFO and below, wait for space for WARN and ERROR */
+        DROP_BELOW_WARN,
+        /** Wait for space */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+    private int queueSize = 8192;
+    private int batchSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_BELOW_WARN;
+    private boolean deferFormatting = false;
+
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new MpscRingBuffer<>(queueSize);
+        writer = new Thread(this::drainLoop, "async-log-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            // The writer drains what is left before it exits
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        if (!deferFormatting) {
+            event.getFormattedMessage();
+        }
+        if (!buffer.offer(event) && !overflow(event)) {
+            dropped.increment();
+            return;
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * @return whether the event was queued after all
+     */
+    private boolean overflow(ILoggingEvent event) {
+        if (overflowPolicy == OverflowPolicy.DROP
+                || (overflowPolicy == OverflowPolicy.DROP_BELOW_WARN && !event.getLevel().isGreaterOrEqual(Level.WARN))) {
+            return false;
+        }
+        while (isStarted()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        while (true) {
+            int drained = 0;
+            ILoggingEvent event;
+            while (drained < batchSize && (event = buffer.poll()) != null) {
+                dispatch(event);
+                drained++;
+            }
+            if (drained > 0) {
+                continue;
+            }
+            if (!isStarted()) {
+                return;
+            }
+            writerParked = true;
+            // Re-check after publishing the flag, an event may have arrived in between
+            if (buffer.size() == 0 && isStarted()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+    private void dispatch(ILoggingEvent event) {
+        try {
+            appenders.appendLoopOnAppenders(event);
+        } catch (RuntimeException e) {
+            addError("Appender failed for an event of " + event.getLoggerName(), e);
+        }
+    }
+
+    public long droppedEvents() {
+        return dropped.sum();
+    }
+
+    public int queueDepth() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    public int queueCapacity() {
+        return buffer == null ? queueSize : buffer.capacity();
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void setDeferFormatting(boolean deferFormatting) {
+        this.deferFormatting = deferFormatting;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,141 @@
+package com.stech.common.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * Logging facade for hot paths: each call site, identified by its logger and message template,
+ * is either rate-limited (at most N events per second) or sampled (one in N). The next event a
+ * call site emits carries the number it suppressed as the {@code suppressed} key-value pair.
+ * <p>
+ * Requests flagged for debug (see {@link DebugRequestTurboFilter}) bypass the limit, so a
+ * single request can be traced end to end while everything else stays quiet.
+ *
+ * <pre>
+ * private static final SampledLogger hotLog = SampledLogger.rateLimited(log);
+ * hotLog.info("Processing request: {} {}", method, uri);
+ * </pre>
+ */
+public final class SampledLogger {
+
+    /** Events per second and call site for {@link #rateLimited(Logger)}, set from app.logging.sampling.per-second */
+    private static volatile int defaultPerSecond = 5;
+
+    private final Logger delegate;
+    private final int limit;
+    private final boolean sampling;
+    private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+    private SampledLogger(Logger delegate, int limit, boolean sampling) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.sampling = sampling;
+    }
+
+    /**
+     * At most {@code app.logging.sampling.per-second} events per second and call site
+     */
+    public static SampledLogger rateLimited(Logger delegate) {
+        return new SampledLogger(delegate, 0, false);
+    }
+
+    public static SampledLogger rateLimited(Logger delegate, int perSecond) {
+        return new SampledLogger(delegate, Math.max(1, perSecond), false);
+    }
+
+    /**
+     * One in {@code oneIn} events per call site, the first one included
+     */
+    public static SampledLogger sampled(Logger delegate, int oneIn) {
+        return new SampledLogger(delegate, Math.max(1, oneIn), true);
+    }
+
+    static void setDefaultPerSecond(int perSecond) {
+        defaultPerSecond = Math.max(1, perSecond);
+    }
+
+    public void debug(String format, Object... args) {
+        if (delegate.isDebugEnabled()) {
+            emit(Level.DEBUG, format, args);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (delegate.isInfoEnabled()) {
+            emit(Level.INFO, format, args);
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        if (delegate.isWarnEnabled()) {
+            emit(Level.WARN, format, args);
+        }
+    }
+
+    public void error(String format, Object... args) {
+        if (delegate.isErrorEnabled()) {
+            emit(Level.ERROR, format, args);
+        }
+    }
+
+    private void emit(Level level, String format, Object[] args) {
+        if (DebugRequestTurboFilter.isDebugRequest()) {
+            delegate.atLevel(level).log(format, args);
+            return;
+        }
+        CallSite callSite = callSites.get(format);
+        if (callSite == null) {
+            callSite = callSites.computeIfAbsent(format, key -> new CallSite());
+        }
+        long suppressed = sampling ? callSite.sample(limit) : callSite.acquire(limit > 0 ? limit : defaultPerSecond);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed == 0) {
+            delegate.atLevel(level).log(format, args);
+        } else {
+            delegate.atLevel(level).addKeyValue("suppressed", suppressed).log(format, args);
+        }
+    }
+
+    /**
+     * Counters of one message template. The per-second window is reset with a CAS, so the limit
+     * is approximate by a few events when many threads cross a second boundary together.
+     */
+    private static final class CallSite {
+
+        private final AtomicLong window = new AtomicLong();
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * @return events suppressed since the last emitted one, or -1 to suppress this one
+         */
+        long acquire(int perSecond) {
+            long second = System.nanoTime() / 1_000_000_000L;
+            long current = window.get();
+            if (current != second && window.compareAndSet(current, second)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() > perSecond) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+
+        long sample(int oneIn) {
+            if (calls.getAndIncrement() % oneIn != 0) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
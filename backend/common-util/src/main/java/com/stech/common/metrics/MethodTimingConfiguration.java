@@ -0,0 +1,110 @@
+package com.stech.common.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Latency timers below the HTTP layer: every Spring Data repository call
+ * ({@code app.repository.invocations}) and every public method of a {@code *ServiceImpl}
+ * ({@code app.service.invocations}), published as percentile histograms for Prometheus.
+ * <p>
+ * The pointcuts are static, so only matching beans are proxied and the match is decided once at
+ * startup. The advisors run outermost, so service timings include the transaction commit.
+ * Within a traced request the same calls are recorded as child spans.
+ * Disable with {@code app.metrics.method-timing.enabled=false}.
+ * <p>
+ * Registered as auto-configuration (META-INF/spring/...AutoConfiguration.imports) so its
+ * conditions are evaluated after the application's own beans; the services' component scan
+ * excludes it.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "app.metrics.method-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingConfiguration {
+
+    /** Resolved by name, common-util does not depend on Spring Data */
+    private static final String REPOSITORY_TYPE = "org.springframework.data.repository.Repository";
+    private static final String SERVICE_SUFFIX = "ServiceImpl";
+    private static final String BASE_PACKAGE = "com.stech.";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnClass(name = REPOSITORY_TYPE)
+    public static Advisor repositoryTimingAdvisor(ObjectProvider<MeterRegistry> registry, ObjectProvider<Tracer> tracer,
+            @Value("${app.metrics.method-timing.percentile-histogram:true}") boolean percentileHistogram) {
+        Class<?> repositoryType = ClassUtils.resolveClassName(REPOSITORY_TYPE, MethodTimingConfiguration.class.getClassLoader());
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                // Repository interfaces and Spring Data fragments, not Object or the proxy's own interfaces
+                Class<?> declaringClass = method.getDeclaringClass();
+                return repositoryType.isAssignableFrom(declaringClass)
+                        || declaringClass.getName().startsWith("org.springframework.data.")
+                        || declaringClass.getName().startsWith(BASE_PACKAGE);
+            }
+        };
+        pointcut.setClassFilter(repositoryType::isAssignableFrom);
+        return advisor(new MethodTimingInterceptor("app.repository.invocations",
+                target -> repositoryName(target, repositoryType), registry, tracer, percentileHistogram), pointcut);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry, ObjectProvider<Tracer> tracer,
+            @Value("${app.metrics.method-timing.percentile-histogram:true}") boolean percentileHistogram) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                int modifiers = method.getModifiers();
+                return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                        && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(serviceImplementations());
+        return advisor(new MethodTimingInterceptor("app.service.invocations",
+                target -> ClassUtils.getUserClass(target).getSimpleName(), registry, tracer, percentileHistogram), pointcut);
+    }
+
+    private static ClassFilter serviceImplementations() {
+        return clazz -> {
+            Class<?> userClass = ClassUtils.getUserClass(clazz);
+            return userClass.getName().startsWith(BASE_PACKAGE) && userClass.getSimpleName().endsWith(SERVICE_SUFFIX);
+        };
+    }
+
+    /**
+     * The application's repository interface (e.g. PostRepository) behind a Spring Data proxy
+     */
+    private static String repositoryName(Object target, Class<?> repositoryType) {
+        for (Class<?> candidate : ClassUtils.getAllInterfaces(target)) {
+            if (repositoryType.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+
+    private static Advisor advisor(MethodTimingInterceptor interceptor, StaticMethodMatcherPointcut pointcut) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
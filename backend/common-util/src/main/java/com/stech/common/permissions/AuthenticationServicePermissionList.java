@@ -13,4 +13,7 @@ public final class AuthenticationServicePermissionList {
     public static final String PERMISSION_WRITE = "PERMISSION_WRITE";
     public static final String PERMISSION_DELETE = "PERMISSION_DELETE";
     public static final String PERMISSION_UPDATE = "PERMISSION_UPDATE";
+    public static final String ROLE_UPDATE = "ROLE_UPDATE";
+    public static final String USER_CREATE = "USER_CREATE";
+    public static final String USER_UPDATE = "USER_UPDATE";
 }
@@ -0,0 +1,35 @@
+package com.stech.common.persistence;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the service's {@link DataSource} in a {@link QueryCountingDataSource}, so statements are
+ * counted below every data access path (Hibernate, {@code JdbcTemplate}) and the services need no
+ * setup of their own. Slow statements are logged by Hibernate itself
+ * ({@code hibernate.log_slow_query}, logger {@code org.hibernate.SQL_SLOW}) and carry the request
+ * ID through the MDC.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.jdbc.datasource.DelegatingDataSource")
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfiguration {
+
+    // Static: post-processors are created before the other beans of the configuration
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+                        ? new QueryCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.stech.common.persistence;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.stech.common.logging.SampledLogger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements of every HTTP request, as seen by {@link QueryCountingDataSource} on
+ * the request thread (work handed to other threads is not counted), and publishes them per endpoint as
+ * {@code app.http.request.statements}. A request over {@code app.query-budget.max-statements},
+ * or running one statement shape {@code repeated-statement-threshold} times or more (a suspected
+ * N+1, also counted in {@code app.http.request.repeated.statements}), is logged as a warning
+ * with its request ID. Runs right after {@code CorrelationIdFilter}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final SampledLogger budgetLog = SampledLogger.rateLimited(log);
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200};
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Value("${app.query-budget.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${app.query-budget.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter queries = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queries.close();
+            report(request, queries);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter queries) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int statements = queries.statementCount();
+
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry != null) {
+            summaries.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder("app.http.request.statements")
+                            .description("SQL statements executed per HTTP request")
+                            .tag("method", method)
+                            .tag("uri", uri)
+                            .serviceLevelObjectives(STATEMENT_BUCKETS)
+                            .register(registry))
+                    .record(statements);
+        }
+        if (statements == 0) {
+            return;
+        }
+
+        if (statements > maxStatements) {
+            budgetLog.warn("{} {} ran {} SQL statements, over the budget of {}", method, uri, statements, maxStatements);
+        }
+        Map<String, Integer> repeated = queries.repeatedStatements(repeatedStatementThreshold);
+        if (!repeated.isEmpty()) {
+            repeated.forEach((shape, count) -> budgetLog.warn("Suspected N+1 in {} {}: {} x {}",
+                    method, uri, count, abbreviate(shape)));
+            if (registry != null) {
+                Counter.builder("app.http.request.repeated.statements")
+                        .description("Requests that repeated one statement shape past the N+1 threshold")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(registry)
+                        .increment();
+            }
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
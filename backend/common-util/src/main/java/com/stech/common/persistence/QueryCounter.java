@@ -0,0 +1,134 @@
+package com.stech.common.persistence;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements run on the current thread while the counter is open, grouped by
+ * statement shape (the SQL with IN lists collapsed). {@link QueryCountingDataSource} sees every
+ * statement on the service's connections, Hibernate and {@code JdbcTemplate} alike; connections
+ * opened outside the Spring {@code DataSource} bean are not counted. {@link QueryBudgetFilter} opens
+ * one per HTTP request; tests open their own around the code under test:
+ *
+ * <pre>
+ * try (QueryCounter queries = QueryCounter.start()) {
+ *     postService.getAllPosts(0, 20);
+ *     queries.assertStatementCountAtMost(3).assertNoRepeatedStatements(2);
+ * }
+ * </pre>
+ *
+ * Counters nest: closing one adds its statements to the counter it was opened inside. Work
+ * handed to other threads is not counted.
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+    /** Distinct shapes kept per counter; further statements are still counted */
+    private static final int MAX_SHAPES = 256;
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+
+    private final QueryCounter parent;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private boolean closed;
+
+    private QueryCounter(QueryCounter parent) {
+        this.parent = parent;
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Called by {@link QueryCountingDataSource} for every statement run on its connections
+     */
+    static void record(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.add(shape(sql), 1);
+        }
+    }
+
+    static String shape(String sql) {
+        return sql.indexOf(",?") < 0 && sql.indexOf(", ?") < 0 ? sql : IN_LIST.matcher(sql).replaceAll("(?...)");
+    }
+
+    private void add(String shape, int count) {
+        statements += count;
+        if (shapes.size() < MAX_SHAPES || shapes.containsKey(shape)) {
+            shapes.merge(shape, count, Integer::sum);
+        }
+    }
+
+    public int statementCount() {
+        return statements;
+    }
+
+    /**
+     * Shapes executed at least {@code threshold} times, most frequent first
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    public QueryCounter assertStatementCount(int expected) {
+        if (statements != expected) {
+            throw new AssertionError("Expected " + expected + " statements but " + describe(1));
+        }
+        return this;
+    }
+
+    public QueryCounter assertStatementCountAtMost(int max) {
+        if (statements > max) {
+            throw new AssertionError("Expected at most " + max + " statements but " + describe(1));
+        }
+        return this;
+    }
+
+    /**
+     * Fails when any statement shape ran {@code threshold} times or more, the usual N+1 pattern
+     */
+    public QueryCounter assertNoRepeatedStatements(int threshold) {
+        if (!repeatedStatements(threshold).isEmpty()) {
+            throw new AssertionError("Suspected N+1: " + describe(threshold));
+        }
+        return this;
+    }
+
+    private String describe(int threshold) {
+        StringBuilder message = new StringBuilder().append(statements).append(" ran");
+        repeatedStatements(threshold).forEach((shape, count) ->
+                message.append(System.lineSeparator()).append("  ").append(count).append(" x ").append(shape));
+        return message.toString();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+            shapes.forEach(parent::add);
+            // Statements beyond MAX_SHAPES have no shape but still count
+            int unshaped = statements - shapes.values().stream().mapToInt(Integer::intValue).sum();
+            if (unshaped > 0) {
+                parent.statements += unshaped;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.stech.common.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Feeds every statement run on the service's connections into the thread's {@link QueryCounter},
+ * whether Hibernate, {@code JdbcTemplate} or plain JDBC runs it. A prepared statement counts once
+ * when it is prepared, so a JDBC batch is one statement, as it is one round trip; a plain
+ * {@link Statement} counts each {@code execute} call. The SQL is passed through unchanged.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args[0] instanceof String sql) {
+                QueryCounter.record(sql);
+            }
+            Object result = invoke(connection, method, args);
+            return name.equals("createStatement") ? counting((Statement) result) : result;
+        });
+    }
+
+    private static Statement counting(Statement statement) {
+        return proxy(Statement.class, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && args != null && args[0] instanceof String sql) {
+                QueryCounter.record(sql);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
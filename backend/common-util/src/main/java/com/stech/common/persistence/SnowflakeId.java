@@ -0,0 +1,19 @@
+package com.stech.common.persistence;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Gives the annotated {@code @Id} a {@link com.stech.common.id.SnowflakeIds} id when the entity
+ * is persisted. Unlike {@code GenerationType.IDENTITY} the id is known before the INSERT, so the
+ * INSERT waits for the flush and goes out in a JDBC batch ({@code hibernate.jdbc.batch_size}).
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface SnowflakeId {
+}
@@ -0,0 +1,17 @@
+package com.stech.common.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import com.stech.common.id.SnowflakeIds;
+
+/**
+ * Identifier generator behind {@link SnowflakeId}
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIds.next();
+    }
+}
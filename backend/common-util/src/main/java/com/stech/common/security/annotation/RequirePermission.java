@@ -7,6 +7,11 @@ import java.lang.annotation.Target;
 
 import org.springframework.core.annotation.AliasFor;
 
+/**
+ * Permission slugs required to call a method (or every method of a class). The user needs
+ * {@code authority} and every slug of {@code allOf}, plus at least one of {@code anyOf} when
+ * given; FULL_ACCESS passes any check. Resolved once per method at startup.
+ */
 @Target({ ElementType.METHOD, ElementType.TYPE })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RequirePermission {
@@ -15,4 +20,8 @@ public @interface RequirePermission {
 
     @AliasFor("value")
     String authority() default "";
+
+    String[] allOf() default {};
+
+    String[] anyOf() default {};
 }
@@ -0,0 +1,122 @@
+package com.stech.common.security.aspect;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.stech.common.security.annotation.RequirePermission;
+import com.stech.common.security.util.SecurityUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link RequirePermission} of one method, resolved once: the slugs as arrays and the
+ * outcome counters already registered, so a check only does authority lookups and a counter
+ * increment.
+ */
+final class PermissionCheck {
+
+    static final String METRIC_NAME = "app.security.permission.checks";
+    private static final String FULL_ACCESS = "FULL_ACCESS";
+
+    private final String[] allOf;
+    private final String[] anyOf;
+    private final Counter granted;
+    private final Counter fullAccess;
+    private final Counter denied;
+
+    private PermissionCheck(String[] allOf, String[] anyOf, Counter granted, Counter fullAccess, Counter denied) {
+        this.allOf = allOf;
+        this.anyOf = anyOf;
+        this.granted = granted;
+        this.fullAccess = fullAccess;
+        this.denied = denied;
+    }
+
+    /**
+     * Check for the method, from its own annotation or else its class's; null when neither has one
+     */
+    static PermissionCheck resolve(Method method, Class<?> targetClass, MeterRegistry registry) {
+        RequirePermission annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequirePermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequirePermission.class);
+        }
+        if (annotation == null) {
+            return null;
+        }
+
+        List<String> required = new ArrayList<>();
+        if (!annotation.authority().isEmpty()) {
+            required.add(annotation.authority());
+        }
+        required.addAll(List.of(annotation.allOf()));
+        String[] allOf = required.toArray(new String[0]);
+        String[] anyOf = annotation.anyOf();
+        if (allOf.length == 0 && anyOf.length == 0) {
+            throw new IllegalStateException("@RequirePermission on " + targetClass.getName() + "."
+                    + method.getName() + " names no permission");
+        }
+
+        String className = targetClass.getSimpleName();
+        String methodName = method.getName();
+        return new PermissionCheck(allOf, anyOf,
+                counter(registry, className, methodName, "GRANTED"),
+                counter(registry, className, methodName, "FULL_ACCESS"),
+                counter(registry, className, methodName, "DENIED"));
+    }
+
+    private static Counter counter(MeterRegistry registry, String className, String methodName, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("@RequirePermission checks by outcome")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * True when the authorities pass the check; counted either way
+     */
+    boolean test(Collection<? extends GrantedAuthority> authorities) {
+        if (SecurityUtils.hasAuthority(authorities, FULL_ACCESS)) {
+            fullAccess.increment();
+            return true;
+        }
+        boolean passed = hasAll(authorities) && hasAny(authorities);
+        (passed ? granted : denied).increment();
+        return passed;
+    }
+
+    /**
+     * Counts a call refused before its authorities could be checked
+     */
+    void deny() {
+        denied.increment();
+    }
+
+    private boolean hasAll(Collection<? extends GrantedAuthority> authorities) {
+        for (String permission : allOf) {
+            if (!SecurityUtils.hasAuthority(authorities, permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasAny(Collection<? extends GrantedAuthority> authorities) {
+        if (anyOf.length == 0) {
+            return true;
+        }
+        for (String permission : anyOf) {
+            if (SecurityUtils.hasAuthority(authorities, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,63 +1,106 @@
 package com.stech.common.security.aspect;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
 import com.stech.common.security.annotation.RequirePermission;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enforces {@link RequirePermission}. Every annotated method of the application's beans is
+ * resolved to a {@link PermissionCheck} once all singletons exist, so a call costs a map
+ * lookup, a few authority lookups (bit tests for access tokens) and no allocation. Outcomes are
+ * counted in {@code app.security.permission.checks} by class, method and outcome.
+ */
 @Aspect
 @Component
 @Slf4j
-public class PermissionSecurityAspect {
+public class PermissionSecurityAspect implements SmartInitializingSingleton {
 
-    public PermissionSecurityAspect() {
-        log.info("Constant checking: PermissionSecurityAspect initialized");
-    }
+    private static final String BASE_PACKAGE = "com.stech.";
 
-    @Before("@annotation(requirePermission)")
-    public void checkPermission(JoinPoint joinPoint, RequirePermission requirePermission) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    private final ApplicationContext applicationContext;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<Method, PermissionCheck> checks = new ConcurrentHashMap<>();
+    // Looked up once the context is ready: aspects are created before most other beans
+    private volatile MeterRegistry meterRegistry;
 
-        if (authentication == null || !authentication.isAuthenticated()) {
-             throw new AccessDeniedException("User is not authenticated");
-        }
+    public PermissionSecurityAspect(ApplicationContext applicationContext, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.applicationContext = applicationContext;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
 
-        // 1. Check for basic authentication
-        if ("anonymousUser".equals(authentication.getPrincipal())) {
-             throw new AccessDeniedException("User is not authenticated");
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> userClass = ClassUtils.getUserClass(beanType);
+            if (userClass.getName().startsWith(BASE_PACKAGE)) {
+                resolveChecks(userClass);
+            }
         }
+        log.info("Resolved {} @RequirePermission checks", checks.size());
+    }
 
-        // 2. Check for FULL_ACCESS
-        boolean isFullAccess = authentication.getAuthorities().stream()
-                .anyMatch(a -> "FULL_ACCESS".equals(a.getAuthority()));
+    private void resolveChecks(Class<?> userClass) {
+        boolean classAnnotated = AnnotatedElementUtils.hasAnnotation(userClass, RequirePermission.class);
+        ReflectionUtils.doWithMethods(userClass, method -> {
+            PermissionCheck check = PermissionCheck.resolve(method, userClass, meterRegistry);
+            if (check != null) {
+                checks.putIfAbsent(method, check);
+            }
+        }, method -> Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+                && (classAnnotated || AnnotatedElementUtils.hasAnnotation(method, RequirePermission.class)));
+    }
 
-        if (isFullAccess) {
-            log.info("Access granted via FULL_ACCESS for user: {}", authentication.getName());
-            return;
+    @Before("@annotation(com.stech.common.security.annotation.RequirePermission) "
+            + "|| @within(com.stech.common.security.annotation.RequirePermission)")
+    public void checkPermission(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        PermissionCheck check = checks.get(method);
+        if (check == null) {
+            // Interface methods of JDK proxies, beans created after startup
+            check = checks.computeIfAbsent(method, m -> PermissionCheck.resolve(m,
+                    AopUtils.getTargetClass(joinPoint.getTarget()), meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry)));
+            if (check == null) {
+                return;
+            }
         }
 
-        // 3. Check for specific permission
-        String rawPermission = requirePermission.authority();
-        if (rawPermission == null || rawPermission.isEmpty()) {
-            // Fallback to 'value' alias if authority is empty
-            rawPermission = requirePermission.value();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            check.deny();
+            throw new AccessDeniedException("User is not authenticated");
         }
-        final String requiredPermission = rawPermission;
-
-        log.info("Checking permission '{}' for user '{}'", requiredPermission, authentication.getName());
-        boolean hasPermission = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals(requiredPermission));
 
-        if (!hasPermission) {
-            log.warn("Access Denied. User '{}' does not have required permission '{}'", authentication.getName(), requiredPermission);
+        if (!check.test(authentication.getAuthorities())) {
             throw new AccessDeniedException("Access Denied");
         }
-        
-        log.info("Access granted for permission '{}'", requiredPermission);
     }
 }
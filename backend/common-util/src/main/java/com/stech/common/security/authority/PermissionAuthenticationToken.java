@@ -0,0 +1,45 @@
+package com.stech.common.security.authority;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * Authentication built from an access token. Unlike {@code UsernamePasswordAuthenticationToken},
+ * which copies its authorities into a list, it keeps the {@link PermissionAuthorities} bitset.
+ */
+public class PermissionAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String username;
+    private final transient Object credentials;
+    private final PermissionAuthorities permissionAuthorities;
+
+    public PermissionAuthenticationToken(String username, Object credentials, PermissionAuthorities authorities) {
+        super(AuthorityUtils.NO_AUTHORITIES);
+        this.username = username;
+        this.credentials = credentials;
+        this.permissionAuthorities = authorities;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return permissionAuthorities;
+    }
+
+    public PermissionAuthorities getPermissionAuthorities() {
+        return permissionAuthorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return credentials;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+}
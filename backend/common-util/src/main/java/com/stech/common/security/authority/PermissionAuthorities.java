@@ -0,0 +1,99 @@
+package com.stech.common.security.authority;
+
+import java.util.AbstractCollection;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Authorities of an access token: permissions as a bitset over a {@link PermissionRegistry},
+ * plus the few authorities that are not registry slugs (roles, FULL_ACCESS). Checks are a map
+ * lookup and a bit test; {@link GrantedAuthority} objects are only created when iterated.
+ */
+public final class PermissionAuthorities extends AbstractCollection<GrantedAuthority> {
+
+    private static final PermissionAuthorities NONE = new PermissionAuthorities(PermissionRegistry.EMPTY, new BitSet(), Set.of());
+
+    private final PermissionRegistry registry;
+    private final BitSet bits;
+    private final Set<String> named;
+    private final int size;
+
+    PermissionAuthorities(PermissionRegistry registry, BitSet bits, Set<String> named) {
+        // Indices the registry does not know (a deleted permission, a newer token) grant nothing
+        bits.clear(registry.version(), Math.max(bits.length(), registry.version()));
+        int registered = 0;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            if (registry.slug(i) != null) {
+                registered++;
+            } else {
+                bits.clear(i);
+            }
+        }
+        this.registry = registry;
+        this.bits = bits;
+        this.named = named;
+        this.size = registered + named.size();
+    }
+
+    public static PermissionAuthorities none() {
+        return NONE;
+    }
+
+    /**
+     * Authorities given by name only, as carried by tokens issued before the bitset encoding
+     */
+    public static PermissionAuthorities of(Collection<String> authorities) {
+        return authorities.isEmpty() ? NONE : new PermissionAuthorities(PermissionRegistry.EMPTY, new BitSet(), Set.copyOf(authorities));
+    }
+
+    public boolean hasAuthority(String authority) {
+        if (named.contains(authority)) {
+            return true;
+        }
+        int index = registry.indexOf(authority);
+        return index >= 0 && bits.get(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority authority && authority.getAuthority() != null
+                && hasAuthority(authority.getAuthority());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        Iterator<String> namedIterator = named.iterator();
+        return new Iterator<>() {
+            private int next = bits.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return namedIterator.hasNext() || next >= 0;
+            }
+
+            @Override
+            public GrantedAuthority next() {
+                if (namedIterator.hasNext()) {
+                    return new SimpleGrantedAuthority(namedIterator.next());
+                }
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                String slug = registry.slug(next);
+                next = bits.nextSetBit(next + 1);
+                return new SimpleGrantedAuthority(slug);
+            }
+        };
+    }
+}
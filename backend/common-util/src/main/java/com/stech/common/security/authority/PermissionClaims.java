@@ -0,0 +1,90 @@
+package com.stech.common.security.authority;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Access token claims for authorities. Permissions travel as a base64url bitset ({@code pb})
+ * over the registry version in {@code pv}; roles, FULL_ACCESS and slugs not yet registered
+ * travel by name in {@code auth}. Tokens issued before the bitset encoding carry the
+ * comma-joined {@code permissions} claim, which is still read until they expire.
+ */
+public final class PermissionClaims {
+
+    public static final String REGISTRY_VERSION = "pv";
+    public static final String PERMISSION_BITS = "pb";
+    public static final String NAMED_AUTHORITIES = "auth";
+    public static final String LEGACY_PERMISSIONS = "permissions";
+
+    private PermissionClaims() {
+        // Utility class
+    }
+
+    /**
+     * Claims for the given authority names; a name missing from the registry is listed in
+     * {@code auth} instead of being dropped
+     */
+    public static Map<String, Object> encode(PermissionRegistry registry, Collection<String> authorities) {
+        BitSet bits = new BitSet(registry.version());
+        List<String> named = new ArrayList<>();
+        for (String authority : authorities) {
+            int index = registry.indexOf(authority);
+            if (index >= 0) {
+                bits.set(index);
+            } else {
+                named.add(authority);
+            }
+        }
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(REGISTRY_VERSION, registry.version());
+        claims.put(PERMISSION_BITS, Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray()));
+        if (!named.isEmpty()) {
+            claims.put(NAMED_AUTHORITIES, String.join(",", named));
+        }
+        return claims;
+    }
+
+    /**
+     * Authorities carried by the token. The registry is fetched again when the token was issued
+     * against a newer version than the one cached; bits still unknown after that grant nothing.
+     */
+    public static PermissionAuthorities decode(Claims claims, PermissionRegistryResolver resolver) {
+        Set<String> named = new HashSet<>();
+        addNames(claims.get(NAMED_AUTHORITIES, String.class), named);
+        addNames(claims.get(LEGACY_PERMISSIONS, String.class), named);
+
+        String encoded = claims.get(PERMISSION_BITS, String.class);
+        Number version = claims.get(REGISTRY_VERSION, Number.class);
+        if (encoded == null || version == null) {
+            return PermissionAuthorities.of(named);
+        }
+        BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(encoded));
+        if (bits.isEmpty() && named.isEmpty()) {
+            return PermissionAuthorities.none();
+        }
+        PermissionRegistry registry = bits.isEmpty() ? PermissionRegistry.EMPTY : resolver.forVersion(version.intValue());
+        return new PermissionAuthorities(registry, bits, Set.copyOf(named));
+    }
+
+    private static void addNames(String joined, Set<String> names) {
+        if (joined == null || joined.isEmpty()) {
+            return;
+        }
+        for (String name : joined.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                names.add(trimmed);
+            }
+        }
+    }
+}
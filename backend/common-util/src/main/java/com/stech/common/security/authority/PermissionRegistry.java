@@ -0,0 +1,64 @@
+package com.stech.common.security.authority;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable mapping between permission slugs and their bit indices. Indices are handed out by
+ * the authentication service, are never reused, and a slug keeps its index for as long as the
+ * permission exists, so a registry can decode every token issued against the same or an older
+ * version.
+ */
+public final class PermissionRegistry {
+
+    public static final PermissionRegistry EMPTY = new PermissionRegistry(new String[0]);
+
+    private final String[] slugs;
+    private final Map<String, Integer> indices;
+
+    private PermissionRegistry(String[] slugs) {
+        this.slugs = slugs;
+        this.indices = new HashMap<>(slugs.length * 2);
+        for (int i = 0; i < slugs.length; i++) {
+            if (slugs[i] != null) {
+                indices.put(slugs[i], i);
+            }
+        }
+    }
+
+    public static PermissionRegistry of(PermissionRegistrySnapshot snapshot) {
+        String[] slugs = snapshot.slugs().toArray(new String[0]);
+        if (slugs.length != snapshot.version()) {
+            throw new IllegalArgumentException("Registry version " + snapshot.version()
+                    + " does not match its " + slugs.length + " slots");
+        }
+        return new PermissionRegistry(slugs);
+    }
+
+    /**
+     * Number of bit indices handed out when this registry was loaded; grows with every new permission
+     */
+    public int version() {
+        return slugs.length;
+    }
+
+    /**
+     * Bit index of the slug, or -1 when it is not (yet) registered
+     */
+    public int indexOf(String slug) {
+        Integer index = indices.get(slug);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Slug at the index, or null for a deleted permission or an index beyond this version
+     */
+    public String slug(int index) {
+        return index >= 0 && index < slugs.length ? slugs[index] : null;
+    }
+
+    public PermissionRegistrySnapshot snapshot() {
+        return new PermissionRegistrySnapshot(slugs.length, Arrays.asList(slugs));
+    }
+}
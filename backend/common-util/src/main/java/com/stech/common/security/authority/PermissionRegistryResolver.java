@@ -0,0 +1,90 @@
+package com.stech.common.security.authority;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cached {@link PermissionRegistry}. A token issued against a newer version than the cached
+ * one triggers a reload; otherwise the registry is reloaded every {@code refresh-seconds} by
+ * one caller while the others keep using the cached copy. Loads are at least
+ * {@code min-fetch-interval-ms} apart, so an unreachable source is not hammered.
+ */
+@Component
+@Slf4j
+public class PermissionRegistryResolver {
+
+    private final PermissionRegistrySource source;
+    private final long refreshMillis;
+    private final long minFetchIntervalMillis;
+
+    // Not synchronized: a monitor held across the load would pin a virtual thread
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    private volatile PermissionRegistry registry = PermissionRegistry.EMPTY;
+    private volatile long fetchedAt;
+    private volatile long attemptedAt;
+
+    public PermissionRegistryResolver(PermissionRegistrySource source,
+                                      @Value("${app.security.permission-registry.refresh-seconds:300}") long refreshSeconds,
+                                      @Value("${app.security.permission-registry.min-fetch-interval-ms:2000}") long minFetchIntervalMillis) {
+        this.source = source;
+        this.refreshMillis = refreshSeconds * 1000;
+        this.minFetchIntervalMillis = minFetchIntervalMillis;
+    }
+
+    /**
+     * Cached registry, loaded on first use
+     */
+    public PermissionRegistry current() {
+        if (fetchedAt == 0) {
+            fetch(0, true);
+        } else if (System.currentTimeMillis() - fetchedAt > refreshMillis) {
+            fetch(0, false);
+        }
+        return registry;
+    }
+
+    /**
+     * Registry able to decode a token issued against the given version. May still be older
+     * when the source cannot be reached; the token's unknown permissions then grant nothing.
+     */
+    public PermissionRegistry forVersion(int version) {
+        PermissionRegistry current = current();
+        if (current.version() >= version) {
+            return current;
+        }
+        fetch(version, true);
+        return registry;
+    }
+
+    private void fetch(int minVersion, boolean wait) {
+        if (wait) {
+            fetchLock.lock();
+        } else if (!fetchLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            boolean stale = fetchedAt == 0 || now - fetchedAt > refreshMillis;
+            // Loaded by another caller while this one waited, or loaded too recently to retry
+            if (!stale && registry.version() >= minVersion || now - attemptedAt < minFetchIntervalMillis) {
+                return;
+            }
+            attemptedAt = now;
+            PermissionRegistry loaded = PermissionRegistry.of(source.load(minVersion));
+            // Versions only grow; a lagging source must not take indices away
+            if (loaded.version() >= registry.version()) {
+                registry = loaded;
+            }
+            fetchedAt = now;
+            log.debug("Permission registry at version {}", registry.version());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the permission registry: {}", e.getMessage());
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+}
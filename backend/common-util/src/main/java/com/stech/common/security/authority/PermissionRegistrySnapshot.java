@@ -0,0 +1,10 @@
+package com.stech.common.security.authority;
+
+import java.util.List;
+
+/**
+ * Wire form of a {@link PermissionRegistry}: the slug at each bit index, null where the
+ * permission was deleted. The version is the number of indices handed out so far.
+ */
+public record PermissionRegistrySnapshot(int version, List<String> slugs) {
+}
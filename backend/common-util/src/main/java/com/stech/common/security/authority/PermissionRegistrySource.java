@@ -0,0 +1,14 @@
+package com.stech.common.security.authority;
+
+/**
+ * Where {@link PermissionRegistryResolver} loads the registry from: the database in the
+ * authentication service, the authentication service everywhere else.
+ */
+@FunctionalInterface
+public interface PermissionRegistrySource {
+
+    /**
+     * Latest registry, of at least {@code minVersion} when the source has it
+     */
+    PermissionRegistrySnapshot load(int minVersion);
+}
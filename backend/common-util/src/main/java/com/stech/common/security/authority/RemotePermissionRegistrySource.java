@@ -0,0 +1,51 @@
+package com.stech.common.security.authority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.stech.common.library.CommunicationServiceUtil;
+import com.stech.common.security.util.InternalServiceToken;
+
+/**
+ * Loads the registry from the authentication service's internal endpoint, with the internal
+ * service token. The authentication service itself replaces this source with its database.
+ */
+@Component
+public class RemotePermissionRegistrySource implements PermissionRegistrySource {
+
+    private final RestTemplate restTemplate;
+    private final InternalServiceToken internalServiceToken;
+
+    public RemotePermissionRegistrySource(@Qualifier("loadBalancedRestTemplate") RestTemplate restTemplate,
+                                          InternalServiceToken internalServiceToken) {
+        this.restTemplate = restTemplate;
+        this.internalServiceToken = internalServiceToken;
+    }
+
+    @Override
+    public PermissionRegistrySnapshot load(int minVersion) {
+        // The endpoint serves its cached registry; minVersion only decides when this side asks again
+        String url = CommunicationServiceUtil.getAuthenticationServiceInternalUrl() + "/permission-registry";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(InternalServiceToken.HEADER_NAME, internalServiceToken.value());
+        JsonNode response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class).getBody();
+        JsonNode data = response != null ? response.get("data") : null;
+        if (data == null || !data.hasNonNull("version")) {
+            throw new IllegalStateException("Permission registry response has no data");
+        }
+
+        List<String> slugs = new ArrayList<>(data.get("version").asInt());
+        for (JsonNode slug : data.path("slugs")) {
+            slugs.add(slug.isNull() ? null : slug.asText());
+        }
+        return new PermissionRegistrySnapshot(data.get("version").asInt(), slugs);
+    }
+}
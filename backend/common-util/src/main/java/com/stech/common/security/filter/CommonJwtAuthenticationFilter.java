@@ -2,19 +2,21 @@ package com.stech.common.security.filter;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
 
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.stech.common.library.JwtTokenLibrary;
+import com.stech.common.logging.SampledLogger;
+import com.stech.common.security.authority.PermissionAuthenticationToken;
+import com.stech.common.security.authority.PermissionAuthorities;
+import com.stech.common.security.authority.PermissionClaims;
+import com.stech.common.security.authority.PermissionRegistryResolver;
 import com.stech.common.security.util.SecurityUtils;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,22 +32,29 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CommonJwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Per-request lines, rate-limited per message unless the request is flagged for debug */
+    private static final SampledLogger requestLog = SampledLogger.rateLimited(log);
+
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final PermissionRegistryResolver permissionRegistryResolver;
     private String[] additionalPublicUrls = new String[0];
 
     /**
      * Constructor with no additional public URLs
+     * @param permissionRegistryResolver Registry the token's permission bits are decoded against
      */
-    public CommonJwtAuthenticationFilter() {
-        this(new String[0]);
+    public CommonJwtAuthenticationFilter(PermissionRegistryResolver permissionRegistryResolver) {
+        this(new String[0], permissionRegistryResolver);
     }
 
     /**
      * Constructor with additional public URLs specific to the service
      * @param additionalPublicUrls Service-specific public URLs
+     * @param permissionRegistryResolver Registry the token's permission bits are decoded against
      */
-    public CommonJwtAuthenticationFilter(String[] additionalPublicUrls) {
+    public CommonJwtAuthenticationFilter(String[] additionalPublicUrls, PermissionRegistryResolver permissionRegistryResolver) {
         this.additionalPublicUrls = additionalPublicUrls;
+        this.permissionRegistryResolver = permissionRegistryResolver;
     }
 
     @Override
@@ -65,11 +74,11 @@ public class CommonJwtAuthenticationFilter extends OncePerRequestFilter {
         final String requestURI = request.getRequestURI();
         final String method = request.getMethod();
         
-        log.info("Processing request: {} {}", method, requestURI);
+        requestLog.info("Processing request: {} {}", method, requestURI);
         
         // Skip JWT processing for public URLs
         if (isPublicUrl(requestURI)) {
-            log.info("Skipping JWT processing for public URL: {} {}", method, requestURI);
+            requestLog.info("Skipping JWT processing for public URL: {} {}", method, requestURI);
             filterChain.doFilter(request, response);
             return;
         }
@@ -77,24 +86,22 @@ public class CommonJwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.info("No or invalid Authorization header found for URL: {} {}", method, requestURI);
+            requestLog.info("No or invalid Authorization header found for URL: {} {}", method, requestURI);
             filterChain.doFilter(request, response);
             return;
         }
 
-        log.info("Authorization header found for URL starting with Bearer");
+        requestLog.info("Authorization header found for URL starting with Bearer");
         final String jwt = authHeader.substring(7);
 
         try {
             if (JwtTokenLibrary.validateToken(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String username = JwtTokenLibrary.getUsernameFromToken(jwt);
-                List<String> roles = JwtTokenLibrary.getAuthorities(jwt);
-                Collection<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .toList();
-
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
+                Claims claims = JwtTokenLibrary.getAllClaimsFromToken(jwt);
+                String username = claims.getSubject();
+                PermissionAuthorities authorities = PermissionClaims.decode(claims, permissionRegistryResolver);
+
+                PermissionAuthenticationToken authToken =
+                        new PermissionAuthenticationToken(
                             username,
                             jwt,
                             authorities
@@ -102,19 +109,19 @@ public class CommonJwtAuthenticationFilter extends OncePerRequestFilter {
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.info("Successfully authenticated user: {} with authorities: {}", username, roles);
+                requestLog.info("Successfully authenticated user: {} with {} authorities", username, authorities.size());
             } else if (!JwtTokenLibrary.validateToken(jwt)) {
-                log.error("Invalid or expired JWT token for URL: {} {}", method, requestURI);
+                requestLog.error("Invalid or expired JWT token for URL: {} {}", method, requestURI);
                 sendErrorResponse(response, 401, "JWT Token Error", "Invalid or expired JWT token. Please login again.");
                 return;
             }
         } catch (Exception e) {
-            log.error("JWT token validation failed: {}", e.getMessage());
+            requestLog.error("JWT token validation failed: {}", e.getMessage());
             sendErrorResponse(response, 401, "JWT Token Error", "JWT token validation failed: " + e.getMessage());
             return;
         }
 
-        log.info("Authorization ended");
+        requestLog.info("Authorization ended");
         filterChain.doFilter(request, response);
     }
 
@@ -0,0 +1,41 @@
+package com.stech.common.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared secret the services present to each other on internal endpoints, which live outside
+ * {@code /api/v1/**} so the gateway never routes them ({@code app.security.internal-token},
+ * sent as {@value #HEADER_NAME}). Without a configured token every internal call is refused.
+ */
+@Component
+public class InternalServiceToken {
+
+    public static final String HEADER_NAME = "X-Internal-Token";
+
+    private final String token;
+
+    public InternalServiceToken(@Value("${app.security.internal-token:}") String token) {
+        this.token = token;
+    }
+
+    /**
+     * The token to send, empty when none is configured
+     */
+    public String value() {
+        return token;
+    }
+
+    /**
+     * True when a token is configured and the presented one equals it; compared in constant time
+     */
+    public boolean matches(String presented) {
+        if (token.isEmpty() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,13 +1,16 @@
 package com.stech.common.security.util;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import com.stech.common.library.JwtTokenLibrary;
+import com.stech.common.security.authority.PermissionAuthorities;
 
 /**
  * Security Utility class for common security operations
@@ -65,10 +68,24 @@ public final class SecurityUtils {
         Arrays.stream(FRONTEND_URLS)
     ).toList();
 
+    public static final String PROMETHEUS_SCRAPE_URL = "/actuator/prometheus";
+
     private SecurityUtils() {
         // Private constructor to prevent instantiation
     }
 
+    /**
+     * Matches Prometheus scrapes that arrive on the management port ({@code management.server.port}),
+     * which is not published and which the gateway does not route. Never matches without a separate
+     * management port, so the scrape endpoint then needs a token like any other.
+     * @param managementPort the management port, or a negative value when none is configured
+     */
+    public static RequestMatcher prometheusScrape(int managementPort) {
+        return request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && PROMETHEUS_SCRAPE_URL.equals(request.getRequestURI());
+    }
+
     /**
      * Get the current authenticated username
      * @return username or null if not authenticated
@@ -118,8 +135,7 @@ public final class SecurityUtils {
      * @return true if user has the role
      */
     public static boolean hasRole(String roleName) {
-        String roleWithPrefix = roleName.startsWith(ROLE_PREFIX) ? roleName : ROLE_PREFIX + roleName;
-        return getCurrentAuthorities().contains(roleWithPrefix);
+        return hasAuthority(currentGrantedAuthorities(), withRolePrefix(roleName));
     }
 
     /**
@@ -128,10 +144,9 @@ public final class SecurityUtils {
      * @return true if user has any of the roles
      */
     public static boolean hasAnyRole(String... roleNames) {
-        List<String> currentAuthorities = getCurrentAuthorities();
+        Collection<? extends GrantedAuthority> currentAuthorities = currentGrantedAuthorities();
         for (String roleName : roleNames) {
-            String roleWithPrefix = roleName.startsWith(ROLE_PREFIX) ? roleName : ROLE_PREFIX + roleName;
-            if (currentAuthorities.contains(roleWithPrefix)) {
+            if (hasAuthority(currentAuthorities, withRolePrefix(roleName))) {
                 return true;
             }
         }
@@ -144,10 +159,9 @@ public final class SecurityUtils {
      * @return true if user has all of the roles
      */
     public static boolean hasAllRoles(String... roleNames) {
-        List<String> currentAuthorities = getCurrentAuthorities();
+        Collection<? extends GrantedAuthority> currentAuthorities = currentGrantedAuthorities();
         for (String roleName : roleNames) {
-            String roleWithPrefix = roleName.startsWith(ROLE_PREFIX) ? roleName : ROLE_PREFIX + roleName;
-            if (!currentAuthorities.contains(roleWithPrefix)) {
+            if (!hasAuthority(currentAuthorities, withRolePrefix(roleName))) {
                 return false;
             }
         }
@@ -160,7 +174,7 @@ public final class SecurityUtils {
      * @return true if user has the permission
      */
     public static boolean hasPermission(String permissionSlug) {
-        return getCurrentAuthorities().contains(permissionSlug);
+        return hasAuthority(permissionSlug);
     }
 
     /**
@@ -169,13 +183,7 @@ public final class SecurityUtils {
      * @return true if user has any of the permissions
      */
     public static boolean hasAnyPermission(String... permissionSlugs) {
-        List<String> currentAuthorities = getCurrentAuthorities();
-        for (String permission : permissionSlugs) {
-            if (currentAuthorities.contains(permission)) {
-                return true;
-            }
-        }
-        return false;
+        return hasAnyAuthority(permissionSlugs);
     }
 
     /**
@@ -184,9 +192,9 @@ public final class SecurityUtils {
      * @return true if user has all of the permissions
      */
     public static boolean hasAllPermissions(String... permissionSlugs) {
-        List<String> currentAuthorities = getCurrentAuthorities();
+        Collection<? extends GrantedAuthority> currentAuthorities = currentGrantedAuthorities();
         for (String permission : permissionSlugs) {
-            if (!currentAuthorities.contains(permission)) {
+            if (!hasAuthority(currentAuthorities, permission)) {
                 return false;
             }
         }
@@ -217,7 +225,7 @@ public final class SecurityUtils {
      * @return true if user has the authority
      */
     public static boolean hasAuthority(String authority) {
-        return getCurrentAuthorities().contains(authority);
+        return hasAuthority(currentGrantedAuthorities(), authority);
     }
 
     /**
@@ -226,15 +234,46 @@ public final class SecurityUtils {
      * @return true if user has any of the authorities
      */
     public static boolean hasAnyAuthority(String... authorities) {
-        List<String> currentAuthorities = getCurrentAuthorities();
+        Collection<? extends GrantedAuthority> currentAuthorities = currentGrantedAuthorities();
         for (String authority : authorities) {
-            if (currentAuthorities.contains(authority)) {
+            if (hasAuthority(currentAuthorities, authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check an authority without copying the collection: a bit test for the authorities of an
+     * access token ({@link PermissionAuthorities}), a scan otherwise
+     * @param authorities authorities of an authentication
+     * @param authority the authority to check
+     * @return true if the authority is among them
+     */
+    public static boolean hasAuthority(Collection<? extends GrantedAuthority> authorities, String authority) {
+        if (authorities instanceof PermissionAuthorities permissionAuthorities) {
+            return permissionAuthorities.hasAuthority(authority);
+        }
+        for (GrantedAuthority granted : authorities) {
+            if (authority.equals(granted.getAuthority())) {
                 return true;
             }
         }
         return false;
     }
 
+    private static Collection<? extends GrantedAuthority> currentGrantedAuthorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getAuthorities();
+        }
+        return List.of();
+    }
+
+    private static String withRolePrefix(String roleName) {
+        return roleName.startsWith(ROLE_PREFIX) ? roleName : ROLE_PREFIX + roleName;
+    }
+
     /**
      * Get the Authentication object
      * @return current authentication or null
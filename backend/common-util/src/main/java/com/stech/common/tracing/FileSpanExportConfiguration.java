@@ -0,0 +1,28 @@
+package com.stech.common.tracing;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Exports sampled spans to {@code <directory>/<application>-spans.jsonl}, next to the
+ * application log. Enable with {@code app.tracing.file-export.enabled=true}; the OTLP exporter
+ * ({@code management.otlp.tracing.*}) can run alongside it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(SpanExporter.class)
+@ConditionalOnProperty(prefix = "app.tracing.file-export", name = "enabled", havingValue = "true")
+public class FileSpanExportConfiguration {
+
+    @Bean
+    public FileSpanExporter fileSpanExporter(@Value("${spring.application.name:APP}") String appName,
+            @Value("${app.tracing.file-export.directory:../../logs}") String directory) {
+        return new FileSpanExporter(Path.of(directory, appName + "-spans.jsonl"));
+    }
+}
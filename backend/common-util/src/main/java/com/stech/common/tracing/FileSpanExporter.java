@@ -0,0 +1,136 @@
+package com.stech.common.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.stech.common.logging.JsonLogLayout;
+import com.stech.common.logging.SampledLogger;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes finished spans as JSON lines to a local file, for environments without an OTLP
+ * collector. Spring Boot hands every {@link SpanExporter} bean to the batch span processor, so
+ * this runs on the exporter thread with a whole batch at a time, never on a request thread.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private static final SampledLogger exportLog = SampledLogger.rateLimited(log, 1);
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final Path file;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter writer;
+    private volatile boolean shutdown;
+
+    public FileSpanExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        StringBuilder json = new StringBuilder(spans.size() * 384);
+        for (SpanData span : spans) {
+            append(json, span);
+        }
+        lock.lock();
+        try {
+            BufferedWriter out = writer();
+            out.append(json);
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            exportLog.warn("Could not write {} spans to {}: {}", spans.size(), file, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        shutdown = true;
+        lock.lock();
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+
+    private static void append(StringBuilder json, SpanData span) {
+        json.append("{\"traceId\":\"").append(span.getTraceId())
+                .append("\",\"spanId\":\"").append(span.getSpanId()).append('"');
+        if (span.getParentSpanContext().isValid()) {
+            json.append(",\"parentSpanId\":\"").append(span.getParentSpanId()).append('"');
+        }
+        field(json, "service", span.getResource().getAttribute(SERVICE_NAME));
+        field(json, "name", span.getName());
+        field(json, "kind", span.getKind().name());
+        json.append(",\"startMicros\":").append(TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()))
+                .append(",\"durationMicros\":")
+                .append(TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        field(json, "status", span.getStatus().getStatusCode().name());
+        json.append(",\"attributes\":{");
+        boolean[] first = {true};
+        span.getAttributes().forEach((key, value) -> {
+            if (!first[0]) {
+                json.append(',');
+            }
+            first[0] = false;
+            json.append('"');
+            JsonLogLayout.escape(json, key.getKey());
+            json.append("\":\"");
+            JsonLogLayout.escape(json, String.valueOf(value));
+            json.append('"');
+        });
+        json.append("}}\n");
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"").append(name).append("\":\"");
+        JsonLogLayout.escape(json, value);
+        json.append('"');
+    }
+}
@@ -0,0 +1,122 @@
+package com.stech.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Bit layout and ordering of {@link SnowflakeIdGenerator} on a hand-driven clock, the
+ * replacement rules of {@link SnowflakeIds#install} and the node id check at startup.
+ */
+class SnowflakeIdGeneratorTests {
+
+    private static final long NOW = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final long SEQUENCE_MASK = (1L << SnowflakeIdGenerator.SEQUENCE_BITS) - 1;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void encodesTheTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, clock::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertThat(first).isPositive();
+        assertThat(SnowflakeIdGenerator.timestampOf(first)).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat(SnowflakeIdGenerator.nodeOf(first)).isEqualTo(SnowflakeIdGenerator.MAX_NODE_ID);
+        assertThat(first & SEQUENCE_MASK).isZero();
+        assertThat(second & SEQUENCE_MASK).isEqualTo(1);
+        assertThat(generator.nextHexId()).hasSize(16).isGreaterThan(String.format("%016x", second));
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1, clock::get)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsGrowingWhenTheClockStepsBack() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock::get);
+        long beforeRollback = generator.nextId();
+
+        clock.set(NOW - 5_000);
+        long duringRollback = generator.nextId();
+        // Carries on from the last millisecond until the clock catches up
+        assertThat(duringRollback).isGreaterThan(beforeRollback);
+        assertThat(SnowflakeIdGenerator.timestampOf(duringRollback)).isEqualTo(Instant.ofEpochMilli(NOW));
+
+        clock.set(NOW + 1);
+        long afterCatchUp = generator.nextId();
+        assertThat(afterCatchUp).isGreaterThan(duringRollback);
+        assertThat(SnowflakeIdGenerator.timestampOf(afterCatchUp)).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+        assertThat(afterCatchUp & SEQUENCE_MASK).isZero();
+    }
+
+    @Test
+    void spillsIntoTheNextMillisecondWhenTheSequenceRunsOut() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock::get);
+        int perMillisecond = 1 << SnowflakeIdGenerator.SEQUENCE_BITS;
+
+        long previous = -1;
+        for (int i = 0; i < perMillisecond; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+            previous = id;
+        }
+        assertThat(previous & SEQUENCE_MASK).isEqualTo(SEQUENCE_MASK);
+
+        long overflow = generator.nextId();
+        assertThat(overflow).isGreaterThan(previous);
+        assertThat(SnowflakeIdGenerator.timestampOf(overflow)).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+        assertThat(SnowflakeIdGenerator.nodeOf(overflow)).isEqualTo(7);
+        assertThat(overflow & SEQUENCE_MASK).isZero();
+    }
+
+    @Test
+    void installKeepsTheGeneratorOfTheSameNode() {
+        SnowflakeIdGenerator installed = SnowflakeIds.install(11);
+
+        assertThat(SnowflakeIds.install(11)).isSameAs(installed);
+        assertThat(SnowflakeIds.generator()).isSameAs(installed);
+    }
+
+    @Test
+    void installReplacesTheGeneratorOfAnotherNode() {
+        SnowflakeIdGenerator previous = SnowflakeIds.install(11);
+        SnowflakeIdGenerator installed = SnowflakeIds.install(12);
+
+        assertThat(installed).isNotSameAs(previous);
+        assertThat(installed.nodeId()).isEqualTo(12);
+        assertThat(SnowflakeIds.generator()).isSameAs(installed);
+        assertThat(SnowflakeIdGenerator.nodeOf(SnowflakeIds.next())).isEqualTo(12);
+    }
+
+    @Test
+    void requiresTheNodeIdOutsideLocalProfiles() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        assertThatThrownBy(() -> new IdGeneratorConfiguration().snowflakeIdGenerator(-1, environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.ids.node-id");
+        assertThat(new IdGeneratorConfiguration().snowflakeIdGenerator(13, environment).nodeId()).isEqualTo(13);
+    }
+
+    @Test
+    void derivesTheNodeIdUnderLocalProfiles() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("loadtest");
+
+        assertThat(new IdGeneratorConfiguration().snowflakeIdGenerator(-1, environment).nodeId())
+                .isEqualTo(SnowflakeIds.derivedNodeId());
+    }
+}
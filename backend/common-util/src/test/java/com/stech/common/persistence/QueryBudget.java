@@ -0,0 +1,46 @@
+package com.stech.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Query budget of a request in the services' query-count tests: at most so many SQL statements
+ * ({@link QueryCounter}) and entity loads (Hibernate statistics, so the test context needs
+ * {@code hibernate.generate_statistics=true}). Shipped to the services in the common-util test jar.
+ *
+ * <pre>
+ * new QueryBudget(mockMvc, entityManagerFactory).assertWithin(get("/api/v1/..."), 2, 1);
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private final MockMvc mockMvc;
+    private final Statistics statistics;
+
+    public QueryBudget(MockMvc mockMvc, EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Performs {@code request}, expects 200 and fails when it ran more than {@code maxStatements}
+     * statements or loaded more than {@code maxEntitiesLoaded} entities
+     */
+    public void assertWithin(RequestBuilder request, int maxStatements, long maxEntitiesLoaded) throws Exception {
+        statistics.clear();
+        try (QueryCounter queries = QueryCounter.start()) {
+            mockMvc.perform(request).andExpect(status().isOk());
+            queries.assertStatementCountAtMost(maxStatements);
+        }
+        assertThat(statistics.getEntityLoadCount())
+                .as("entities loaded")
+                .isLessThanOrEqualTo(maxEntitiesLoaded);
+    }
+}
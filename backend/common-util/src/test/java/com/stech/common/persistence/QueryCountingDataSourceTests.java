@@ -0,0 +1,71 @@
+package com.stech.common.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * What {@link QueryCountingDataSource} counts: prepared statements once each, batches included,
+ * and every execute call of a plain statement.
+ */
+class QueryCountingDataSourceTests {
+
+    private final Connection target = mock(Connection.class);
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(target);
+        when(target.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(target.createStatement()).thenReturn(mock(Statement.class));
+        dataSource = new QueryCountingDataSource(pool);
+    }
+
+    @Test
+    void countsAPreparedBatchOnce() throws Exception {
+        try (QueryCounter queries = QueryCounter.start()) {
+            Connection connection = dataSource.getConnection();
+            PreparedStatement insert = connection.prepareStatement("INSERT INTO t (a) VALUES (?)");
+            for (int i = 0; i < 3; i++) {
+                insert.setInt(1, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.prepareStatement("SELECT a FROM t WHERE a = ?").executeQuery();
+
+            queries.assertStatementCount(2);
+        }
+    }
+
+    @Test
+    void countsEveryExecuteOfAPlainStatement() throws Exception {
+        try (QueryCounter queries = QueryCounter.start()) {
+            Statement statement = dataSource.getConnection().createStatement();
+            statement.execute("DELETE FROM t");
+            statement.executeQuery("SELECT 1");
+
+            queries.assertStatementCount(2);
+            assertThat(queries.repeatedStatements(1)).containsKeys("DELETE FROM t", "SELECT 1");
+        }
+    }
+
+    @Test
+    void countsNothingOutsideACounter() throws Exception {
+        dataSource.getConnection().prepareStatement("SELECT 1");
+
+        try (QueryCounter queries = QueryCounter.start()) {
+            queries.assertStatementCount(0);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.stech.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * authentication-service tables: permissions, roles and their join table, then users with
+ * several roles and a few direct permissions each.
+ */
+final class AuthDataset {
+
+    /** BCrypt of Test12@#, the password of the DatabaseSeeder accounts */
+    private static final String PASSWORD_HASH = "$2a$10$HpoSCFqOFHrw1fjqNyEQ9.RsHJO6IYxMvUcmUdx6Y3gFOYk0lV5A6";
+    private static final String[] PERMISSION_CATEGORIES = {
+            "USER_MANAGEMENT", "ROLE_MANAGEMENT", "POST_MANAGEMENT", "COMMENT_MANAGEMENT", "PAYMENT_MANAGEMENT"};
+    private static final String[] API_METHODS = {"GET", "POST", "PUT", "DELETE"};
+    private static final String[] GENDERS = {"MALE", "FEMALE", "OTHER"};
+    private static final int TWO_YEARS_MINUTES = 2 * 365 * 24 * 60;
+
+    private final Connection connection;
+    private final GeneratorConfig config;
+    private final SplittableRandom random;
+    private final LocalDateTime anchor;
+
+    AuthDataset(Connection connection, GeneratorConfig config) {
+        this.connection = connection;
+        this.config = config;
+        this.random = new SplittableRandom(config.seed() ^ 0xA0_0001L);
+        this.anchor = config.anchor().atStartOfDay();
+    }
+
+    /**
+     * @return the ids of the generated users, or of the users already in the table when none are generated
+     */
+    IdRange generate() throws SQLException {
+        IdRange permissions = generatePermissions();
+        IdRange roles = generateRoles(permissions);
+        if (config.users() == 0) {
+            return DatasetGenerator.existingIds(connection, "users");
+        }
+        return generateUsers(roles, permissions);
+    }
+
+    private IdRange generatePermissions() throws SQLException {
+        long start = System.nanoTime();
+        IdRange ids = new IdRange(DatasetGenerator.nextId(connection, "permissions"), config.permissions());
+        try (BatchInserter permissions = new BatchInserter(connection, "permissions", config.batchSize(),
+                "id", "name", "category", "slug", "api_url", "api_method", "description",
+                "created_at", "updated_at", "is_deleted")) {
+            for (int i = 0; i < ids.count(); i++) {
+                long id = ids.first() + i;
+                String method = API_METHODS[i % API_METHODS.length];
+                LocalDateTime createdAt = pastTimestamp();
+                permissions.add(id, "Generated permission " + id, PERMISSION_CATEGORIES[i % PERMISSION_CATEGORIES.length],
+                        "GEN_PERMISSION_" + id, "/api/v1/generated/" + (i / API_METHODS.length), method,
+                        TextFactory.sentence(random, 4, 10), createdAt, createdAt, false);
+            }
+            DatasetGenerator.report("permissions", permissions.written(), start);
+        }
+        return ids;
+    }
+
+    private IdRange generateRoles(IdRange permissionIds) throws SQLException {
+        long start = System.nanoTime();
+        IdRange ids = new IdRange(DatasetGenerator.nextId(connection, "roles"), config.roles());
+        try (BatchInserter roles = new BatchInserter(connection, "roles", config.batchSize(),
+                "id", "name", "description", "is_active", "is_full_access", "created_at", "updated_at", "is_deleted");
+             BatchInserter rolePermissions = new BatchInserter(connection, "role_permissions", config.batchSize(),
+                     "role_id", "permission_id")) {
+            for (int i = 0; i < ids.count(); i++) {
+                long id = ids.first() + i;
+                LocalDateTime createdAt = pastTimestamp();
+                roles.add(id, "GEN_ROLE_" + id, TextFactory.sentence(random, 4, 10), random.nextInt(20) > 0, false,
+                        createdAt, createdAt, false);
+                // Between 10% and 40% of the generated permissions
+                int count = (int) (permissionIds.count() * (0.1 + random.nextDouble() * 0.3));
+                for (long permissionId : pick(permissionIds, count)) {
+                    rolePermissions.add(id, permissionId);
+                }
+            }
+            DatasetGenerator.report("roles", roles.written(), start);
+            DatasetGenerator.report("role_permissions", rolePermissions.written(), start);
+        }
+        return ids;
+    }
+
+    private IdRange generateUsers(IdRange roleIds, IdRange permissionIds) throws SQLException {
+        long start = System.nanoTime();
+        IdRange ids = new IdRange(DatasetGenerator.nextId(connection, "users"), config.users());
+        try (BatchInserter users = new BatchInserter(connection, "users", config.batchSize(),
+                "id", "first_name", "middle_name", "last_name", "gender", "phone", "email", "date_of_birth",
+                "password", "is_active", "user_status", "created_at", "updated_at", "is_deleted");
+             BatchInserter userRoles = new BatchInserter(connection, "users_roles", config.batchSize(),
+                     "user_id", "role_id");
+             BatchInserter userPermissions = new BatchInserter(connection, "users_permissions", config.batchSize(),
+                     "user_id", "permission_id")) {
+            for (int i = 0; i < ids.count(); i++) {
+                long id = ids.first() + i;
+                LocalDateTime createdAt = pastTimestamp();
+                int status = random.nextInt(100);
+                users.add(id, TextFactory.firstName(id), "", TextFactory.lastName(id),
+                        GENDERS[random.nextInt(GENDERS.length)], TextFactory.phone(random), TextFactory.email(id),
+                        LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                        PASSWORD_HASH, random.nextInt(100) >= 3,
+                        status < 85 ? "APPROVED" : status < 95 ? "PENDING" : "REJECTED",
+                        createdAt, createdAt.plusMinutes(random.nextInt(60 * 24 * 30)), random.nextInt(100) == 0);
+                for (long roleId : pick(roleIds, around(config.rolesPerUser()))) {
+                    userRoles.add(id, roleId);
+                }
+                for (long permissionId : pick(permissionIds, around(config.permissionsPerUser()))) {
+                    userPermissions.add(id, permissionId);
+                }
+            }
+            DatasetGenerator.report("users", users.written(), start);
+            DatasetGenerator.report("users_roles", userRoles.written(), start);
+            DatasetGenerator.report("users_permissions", userPermissions.written(), start);
+        }
+        return ids;
+    }
+
+    /** 1 .. 2*average-1, so the mean is {@code average} */
+    private int around(int average) {
+        return average <= 0 ? 0 : 1 + random.nextInt(2 * average - 1);
+    }
+
+    /**
+     * {@code count} distinct ids of the range (Floyd's algorithm)
+     */
+    private Set<Long> pick(IdRange range, int count) {
+        int n = (int) range.count();
+        Set<Long> picked = new HashSet<>();
+        for (int j = n - Math.min(count, n); j < n; j++) {
+            long candidate = range.first() + random.nextInt(j + 1);
+            if (!picked.add(candidate)) {
+                picked.add(range.first() + j);
+            }
+        }
+        return picked;
+    }
+
+    private LocalDateTime pastTimestamp() {
+        return anchor.minusMinutes(1 + random.nextInt(TWO_YEARS_MINUTES));
+    }
+}
@@ -0,0 +1,105 @@
+package com.stech.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Buffers rows for one table and writes them as multi-row {@code INSERT ... VALUES (..),(..)}
+ * statements, one transaction per statement. A full batch always reuses the same prepared
+ * statement; only the last, shorter batch needs its own.
+ */
+final class BatchInserter implements AutoCloseable {
+
+    /** MySQL's limit on placeholders in one prepared statement */
+    private static final int MAX_PLACEHOLDERS = 65_535;
+
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final Object[] buffer;
+    private PreparedStatement fullBatch;
+    private int rows;
+    private long written;
+
+    BatchInserter(Connection connection, String table, int rowsPerStatement, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = Math.max(1, Math.min(rowsPerStatement, MAX_PLACEHOLDERS / columns.length));
+        this.buffer = new Object[this.rowsPerStatement * columns.length];
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(table + " expects " + columns.length + " values but got " + values.length);
+        }
+        System.arraycopy(values, 0, buffer, rows * columns.length, values.length);
+        if (++rows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    long written() {
+        return written + rows;
+    }
+
+    private void flush() throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        if (rows == rowsPerStatement) {
+            if (fullBatch == null) {
+                fullBatch = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullBatch);
+        } else {
+            try (PreparedStatement partial = connection.prepareStatement(sql(rows))) {
+                execute(partial);
+            }
+        }
+        written += rows;
+        rows = 0;
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        int values = rows * columns.length;
+        for (int i = 0; i < values; i++) {
+            Object value = buffer[i];
+            if (value == null) {
+                statement.setNull(i + 1, Types.NULL);
+            } else {
+                statement.setObject(i + 1, value);
+            }
+            buffer[i] = null;
+        }
+        statement.executeUpdate();
+        connection.commit();
+    }
+
+    private String sql(int rowCount) {
+        String row = "(" + "?,".repeat(columns.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder(64 + rowCount * (row.length() + 1))
+                .append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            if (fullBatch != null) {
+                fullBatch.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.stech.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * user-management tables: categories and posts with LONGTEXT bodies, then views, votes,
+ * bookmarks and comment threads spread over the posts by a Zipf distribution.
+ * <p>
+ * Per-post counts are drawn up front, so {@code view_count} and {@code vote_count} of every post
+ * match the rows written afterwards.
+ */
+final class BlogDataset {
+
+    private static final int TWO_YEARS_MINUTES = 2 * 365 * 24 * 60;
+    /** Body bytes per multi-row INSERT, keeps statements well below max_allowed_packet */
+    private static final int POST_BYTES_PER_STATEMENT = 8 * 1024 * 1024;
+    private static final double MEAN_THREAD_SIZE = 6;
+
+    private final Connection connection;
+    private final GeneratorConfig config;
+    private final IdRange users;
+    private final SplittableRandom random;
+    private final LocalDateTime anchor;
+
+    private IdRange categories;
+    private IdRange posts;
+    /** Post index by popularity rank, so popularity does not follow the id order */
+    private int[] byRank;
+    private int[] ageMinutes;
+    private int[] viewCounts;
+    private int[] voteCounts;
+    private int[] bookmarkCounts;
+
+    BlogDataset(Connection connection, GeneratorConfig config, IdRange users) {
+        this.connection = connection;
+        this.config = config;
+        this.users = users;
+        this.random = new SplittableRandom(config.seed() ^ 0xB0_0001L);
+        this.anchor = config.anchor().atStartOfDay();
+    }
+
+    void generate() throws SQLException {
+        if (users.isEmpty()) {
+            System.out.println("No users to author posts, skipping the blog tables");
+            return;
+        }
+        generateCategories();
+        if (config.posts() == 0 || categories.isEmpty()) {
+            return;
+        }
+        drawPopularity();
+        generatePosts();
+        generateViews();
+        generateVotes();
+        generateBookmarks();
+        generateComments();
+    }
+
+    private void generateCategories() throws SQLException {
+        long start = System.nanoTime();
+        categories = new IdRange(DatasetGenerator.nextId(connection, "blog_categories"), config.categories());
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_categories", config.batchSize(),
+                "id", "name", "description", "created_at", "updated_at", "is_deleted")) {
+            for (int i = 0; i < categories.count(); i++) {
+                long id = categories.first() + i;
+                LocalDateTime createdAt = anchor.minusMinutes(TWO_YEARS_MINUTES + random.nextInt(TWO_YEARS_MINUTES));
+                inserter.add(id, "Generated category " + id, TextFactory.sentence(random, 6, 14), createdAt, createdAt, false);
+            }
+            DatasetGenerator.report("blog_categories", inserter.written(), start);
+        }
+        if (categories.isEmpty()) {
+            categories = DatasetGenerator.existingIds(connection, "blog_categories");
+        }
+    }
+
+    private void drawPopularity() {
+        int n = config.posts();
+        byRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            byRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byRank[i];
+            byRank[i] = byRank[j];
+            byRank[j] = swap;
+        }
+        ageMinutes = new int[n];
+        for (int i = 0; i < n; i++) {
+            ageMinutes[i] = 1 + random.nextInt(TWO_YEARS_MINUTES);
+        }
+        ZipfSampler zipf = new ZipfSampler(n, config.zipfExponent());
+        viewCounts = draw(zipf, config.views(), Integer.MAX_VALUE);
+        // A user votes on and bookmarks a post at most once
+        int perPostCap = (int) Math.min(Integer.MAX_VALUE, users.count());
+        voteCounts = draw(zipf, config.votes(), perPostCap);
+        bookmarkCounts = draw(zipf, config.bookmarks(), perPostCap);
+    }
+
+    private int[] draw(ZipfSampler zipf, long total, int perPostCap) {
+        int[] counts = new int[config.posts()];
+        for (long i = 0; i < total; i++) {
+            int post = byRank[zipf.sample(random) - 1];
+            if (counts[post] < perPostCap) {
+                counts[post]++;
+            }
+        }
+        return counts;
+    }
+
+    private void generatePosts() throws SQLException {
+        long start = System.nanoTime();
+        posts = new IdRange(DatasetGenerator.nextId(connection, "blog_posts"), config.posts());
+        int averageBytes = Math.max(1, config.contentKb()) * 1024;
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_posts",
+                Math.min(config.batchSize(), POST_BYTES_PER_STATEMENT / averageBytes),
+                "id", "title", "excerpt", "content", "author_id", "author_name", "category_id", "image", "type",
+                "view_count", "vote_count", "created_at", "updated_at", "is_deleted")) {
+            for (int i = 0; i < posts.count(); i++) {
+                long authorId = users.random(random);
+                LocalDateTime createdAt = anchor.minusMinutes(ageMinutes[i]);
+                int netVotes = 0;
+                for (int j = 0; j < voteCounts[i]; j++) {
+                    netVotes += voteType(i, j);
+                }
+                inserter.add(posts.first() + i, TextFactory.sentence(random, 4, 12), TextFactory.sentence(random, 20, 40),
+                        TextFactory.body(random, averageBytes / 2 + random.nextInt(averageBytes)),
+                        authorId, TextFactory.fullName(authorId), categories.random(random),
+                        random.nextInt(3) == 0 ? "/uploads/posts/" + (posts.first() + i) + ".jpg" : null,
+                        random.nextInt(10) == 0 ? "PRIVATE" : "PUBLIC", viewCounts[i], netVotes,
+                        createdAt, createdAt.plusMinutes(random.nextInt(ageMinutes[i])), random.nextInt(100) == 0);
+            }
+            DatasetGenerator.report("blog_posts", inserter.written(), start);
+        }
+    }
+
+    private void generateViews() throws SQLException {
+        long start = System.nanoTime();
+        long id = DatasetGenerator.nextId(connection, "blog_post_views");
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_post_views", config.batchSize(),
+                "id", "post_id", "user_id", "ip_address", "viewed_at")) {
+            for (int i = 0; i < posts.count(); i++) {
+                for (int j = 0; j < viewCounts[i]; j++) {
+                    // Most readers are anonymous
+                    Long userId = random.nextInt(10) < 6 ? null : users.random(random);
+                    inserter.add(id++, posts.first() + i, userId, TextFactory.ipAddress(random), afterCreation(i));
+                }
+            }
+            DatasetGenerator.report("blog_post_views", inserter.written(), start);
+        }
+    }
+
+    private void generateVotes() throws SQLException {
+        long start = System.nanoTime();
+        long id = DatasetGenerator.nextId(connection, "blog_post_votes");
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_post_votes", config.batchSize(),
+                "id", "post_id", "user_id", "ip_address", "vote_type", "created_at")) {
+            for (int i = 0; i < posts.count(); i++) {
+                long firstVoter = random.nextLong(users.count());
+                for (int j = 0; j < voteCounts[i]; j++) {
+                    long userId = users.first() + (firstVoter + j) % users.count();
+                    inserter.add(id++, posts.first() + i, userId, TextFactory.ipAddress(random), voteType(i, j), afterCreation(i));
+                }
+            }
+            DatasetGenerator.report("blog_post_votes", inserter.written(), start);
+        }
+    }
+
+    private void generateBookmarks() throws SQLException {
+        long start = System.nanoTime();
+        long id = DatasetGenerator.nextId(connection, "blog_post_bookmarks");
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_post_bookmarks", config.batchSize(),
+                "id", "post_id", "user_id", "created_at")) {
+            for (int i = 0; i < posts.count(); i++) {
+                long firstUser = random.nextLong(users.count());
+                for (int j = 0; j < bookmarkCounts[i]; j++) {
+                    inserter.add(id++, posts.first() + i, users.first() + (firstUser + j) % users.count(), afterCreation(i));
+                }
+            }
+            DatasetGenerator.report("blog_post_bookmarks", inserter.written(), start);
+        }
+    }
+
+    /**
+     * Threads of a root comment and its replies. Half of the replies answer the latest comment,
+     * which builds long chains up to {@code --comment-depth}; the rest answer an earlier one.
+     */
+    private void generateComments() throws SQLException {
+        long start = System.nanoTime();
+        long id = DatasetGenerator.nextId(connection, "blog_comments");
+        ZipfSampler zipf = new ZipfSampler(config.posts(), config.zipfExponent());
+        int maxDepth = Math.max(0, config.commentDepth());
+        try (BatchInserter inserter = new BatchInserter(connection, "blog_comments", config.batchSize(),
+                "id", "post_id", "content", "author_id", "author_name", "parent_id", "created_at", "updated_at", "is_deleted")) {
+            long remaining = config.comments();
+            while (remaining > 0) {
+                int post = byRank[zipf.sample(random) - 1];
+                int size = (int) Math.min(remaining, 1 + (long) (-Math.log(1 - random.nextDouble()) * MEAN_THREAD_SIZE));
+                long[] ids = new long[size];
+                int[] depth = new int[size];
+                LocalDateTime createdAt = afterCreation(post);
+                for (int k = 0; k < size; k++) {
+                    ids[k] = id++;
+                    int parent = -1;
+                    if (k > 0) {
+                        parent = random.nextBoolean() && depth[k - 1] < maxDepth ? k - 1 : random.nextInt(k);
+                        if (depth[parent] >= maxDepth) {
+                            parent = 0;
+                        }
+                        depth[k] = depth[parent] + 1;
+                        createdAt = min(createdAt.plusMinutes(1 + random.nextInt(240)), anchor);
+                    }
+                    long authorId = users.random(random);
+                    inserter.add(ids[k], posts.first() + post, TextFactory.sentence(random, 5, 40), authorId,
+                            TextFactory.fullName(authorId), parent < 0 ? null : ids[parent], createdAt, createdAt,
+                            random.nextInt(50) == 0);
+                }
+                remaining -= size;
+            }
+            DatasetGenerator.report("blog_comments", inserter.written(), start);
+        }
+    }
+
+    /** Up (80%) or down vote number {@code j} of post {@code i}, stable across passes */
+    private int voteType(int i, int j) {
+        long hash = TextFactory.mix(config.seed() ^ ((long) i << 32 | j));
+        return Long.remainderUnsigned(hash, 100) < 80 ? 1 : -1;
+    }
+
+    private LocalDateTime afterCreation(int post) {
+        return anchor.minusMinutes(ageMinutes[post]).plusMinutes(random.nextInt(ageMinutes[post]));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
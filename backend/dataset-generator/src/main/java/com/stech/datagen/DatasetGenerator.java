@@ -0,0 +1,82 @@
+package com.stech.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-loads synthetic data into the schemas the services create ({@code ddl-auto=update}),
+ * so query plans, caches and pagination can be measured at realistic volumes.
+ * <p>
+ * Rows are appended above the current maximum ids and never touch existing data, so it can run
+ * against a database that already holds the seeded accounts and plans. The same options and
+ * {@code --seed} produce the same rows.
+ */
+public final class DatasetGenerator {
+
+    private static final List<String> TABLES = List.of(
+            "permissions", "roles", "role_permissions", "users", "users_roles", "users_permissions",
+            "blog_categories", "blog_posts", "blog_post_views", "blog_post_votes", "blog_post_bookmarks",
+            "blog_comments", "pricing_plans", "user_subscriptions");
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(config.url(), config.user(), config.password())) {
+            requireSchema(connection);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Rows are generated consistent and unique, checking them again only slows the load down
+                statement.execute("SET SESSION foreign_key_checks = 0, unique_checks = 0");
+            }
+
+            IdRange users = new AuthDataset(connection, config).generate();
+            new BlogDataset(connection, config, users).generate();
+            new SubscriptionDataset(connection, config, users).generate();
+        }
+        System.out.printf(Locale.ROOT, "Done in %d s%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    static long nextId(Connection connection, String table) throws SQLException {
+        IdRange existing = existingIds(connection, table);
+        return existing.first() + existing.count();
+    }
+
+    /**
+     * The ids already in {@code table}, assumed to be mostly contiguous; empty for an empty table
+     */
+    static IdRange existingIds(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT MIN(id), MAX(id) FROM " + table);
+             ResultSet rows = statement.executeQuery()) {
+            rows.next();
+            long min = rows.getLong(1);
+            long max = rows.getLong(2);
+            return rows.wasNull() ? new IdRange(1, 0) : new IdRange(min, max - min + 1);
+        }
+    }
+
+    static void report(String table, long rows, long startNanos) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+        System.out.printf(Locale.ROOT, "%-22s %,12d rows %8.1f s %,12.0f rows/s%n", table, rows, seconds, rows / seconds);
+    }
+
+    private static void requireSchema(Connection connection) throws SQLException {
+        for (String table : TABLES) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT 1 FROM " + table + " LIMIT 1").close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Table " + table + " does not exist, start the services once so "
+                        + "Hibernate creates the schema", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stech.datagen;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options of the generator, all in {@code --name=value} form. Every size can be
+ * set to 0 to skip that table; the same options and seed always produce the same rows.
+ *
+ * <pre>
+ *   --url=jdbc:mysql://localhost:3306/blogging_project
+ *   --user=root --password=
+ *   --seed=42                          base seed, every table derives its own stream from it
+ *   --anchor=2025-01-01                "now" of the dataset, all timestamps lie before it
+ *   --batch-size=1000                  rows per multi-row INSERT (fewer for posts, see --content-kb)
+ *
+ *   --permissions=200 --roles=50
+ *   --users=100000
+ *   --roles-per-user=3                 average, each user gets 1 .. 2*n-1 roles
+ *   --permissions-per-user=2           average number of direct permissions
+ *
+ *   --categories=50
+ *   --posts=200000
+ *   --content-kb=4                     average LONGTEXT body size
+ *   --views=5000000 --votes=1000000 --bookmarks=500000
+ *   --comments=1000000
+ *   --comment-depth=12                 deepest reply chain in a comment thread
+ *   --zipf-exponent=1.1                skew of views, votes, bookmarks and comments over posts
+ *
+ *   --subscriber-ratio=0.3             share of users with a subscription history
+ *   --subscriptions-per-user=4         most subscriptions in one history
+ * </pre>
+ */
+record GeneratorConfig(String url, String user, String password, long seed, LocalDate anchor, int batchSize,
+                       int permissions, int roles, int users, int rolesPerUser, int permissionsPerUser,
+                       int categories, int posts, int contentKb, long views, long votes, long bookmarks,
+                       long comments, int commentDepth, double zipfExponent,
+                       double subscriberRatio, int subscriptionsPerUser) {
+
+    static GeneratorConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        GeneratorConfig config = new GeneratorConfig(
+                options.getOrDefault("url", "jdbc:mysql://localhost:3306/blogging_project"),
+                options.getOrDefault("user", "root"),
+                options.getOrDefault("password", ""),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                LocalDate.parse(options.getOrDefault("anchor", "2025-01-01")),
+                Integer.parseInt(options.getOrDefault("batch-size", "1000")),
+                Integer.parseInt(options.getOrDefault("permissions", "200")),
+                Integer.parseInt(options.getOrDefault("roles", "50")),
+                Integer.parseInt(options.getOrDefault("users", "100000")),
+                Integer.parseInt(options.getOrDefault("roles-per-user", "3")),
+                Integer.parseInt(options.getOrDefault("permissions-per-user", "2")),
+                Integer.parseInt(options.getOrDefault("categories", "50")),
+                Integer.parseInt(options.getOrDefault("posts", "200000")),
+                Integer.parseInt(options.getOrDefault("content-kb", "4")),
+                Long.parseLong(options.getOrDefault("views", "5000000")),
+                Long.parseLong(options.getOrDefault("votes", "1000000")),
+                Long.parseLong(options.getOrDefault("bookmarks", "500000")),
+                Long.parseLong(options.getOrDefault("comments", "1000000")),
+                Integer.parseInt(options.getOrDefault("comment-depth", "12")),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1")),
+                Double.parseDouble(options.getOrDefault("subscriber-ratio", "0.3")),
+                Integer.parseInt(options.getOrDefault("subscriptions-per-user", "4")));
+        if (config.batchSize() < 1 || config.zipfExponent() <= 0) {
+            throw new IllegalArgumentException("--batch-size must be positive and --zipf-exponent greater than 0");
+        }
+        return config;
+    }
+}
@@ -0,0 +1,18 @@
+package com.stech.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Consecutive primary keys {@code first .. first + count - 1}. The generator assigns ids itself,
+ * starting above the current maximum, so rows can reference each other without reading keys back.
+ */
+record IdRange(long first, long count) {
+
+    boolean isEmpty() {
+        return count <= 0;
+    }
+
+    long random(SplittableRandom random) {
+        return first + random.nextLong(count);
+    }
+}
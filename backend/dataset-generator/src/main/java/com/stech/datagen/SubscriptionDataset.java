@@ -0,0 +1,102 @@
+package com.stech.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * payment-service {@code user_subscriptions}: a history of consecutive subscriptions for a share
+ * of the users, on the plans the payment-service DatabaseSeeder created. Earlier entries are
+ * EXPIRED, UPGRADED or CANCELLED; the latest one is ACTIVE while it runs past the anchor date.
+ */
+final class SubscriptionDataset {
+
+    private static final int TWO_YEARS_DAYS = 2 * 365;
+
+    private final Connection connection;
+    private final GeneratorConfig config;
+    private final IdRange users;
+    private final SplittableRandom random;
+    private final LocalDateTime anchor;
+
+    SubscriptionDataset(Connection connection, GeneratorConfig config, IdRange users) {
+        this.connection = connection;
+        this.config = config;
+        this.users = users;
+        this.random = new SplittableRandom(config.seed() ^ 0xC0_0001L);
+        this.anchor = config.anchor().atStartOfDay();
+    }
+
+    void generate() throws SQLException {
+        if (users.isEmpty() || config.subscriberRatio() <= 0 || config.subscriptionsPerUser() <= 0) {
+            return;
+        }
+        List<long[]> plans = plans();
+        if (plans.isEmpty()) {
+            System.out.println("pricing_plans is empty, start payment-service once to seed it; skipping user_subscriptions");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long id = DatasetGenerator.nextId(connection, "user_subscriptions");
+        try (BatchInserter inserter = new BatchInserter(connection, "user_subscriptions", config.batchSize(),
+                "id", "user_id", "plan_id", "start_date", "end_date", "status", "created_at", "updated_at")) {
+            for (long userId = users.first(); userId < users.first() + users.count(); userId++) {
+                if (random.nextDouble() >= config.subscriberRatio()) {
+                    continue;
+                }
+                int history = 1 + random.nextInt(config.subscriptionsPerUser());
+                LocalDateTime startDate = anchor.minusDays(1 + random.nextInt(TWO_YEARS_DAYS)).plusMinutes(random.nextInt(24 * 60));
+                for (int k = 0; k < history && startDate.isBefore(anchor); k++) {
+                    long[] plan = plans.get(random.nextInt(plans.size()));
+                    LocalDateTime endDate = startDate.plusDays(plan[1]);
+                    boolean last = k == history - 1;
+                    LocalDateTime nextStart;
+                    String status;
+                    int outcome = random.nextInt(100);
+                    if (outcome < 15) {
+                        // Upgraded part-way through, the next plan starts the same day
+                        nextStart = startDate.plusDays(1 + random.nextLong(Math.max(1, plan[1])));
+                        status = "UPGRADED";
+                    } else if (outcome < 20) {
+                        nextStart = endDate.plusDays(random.nextInt(90));
+                        status = "CANCELLED";
+                    } else {
+                        nextStart = endDate.plusDays(random.nextInt(30));
+                        status = "EXPIRED";
+                    }
+                    if (last || !nextStart.isBefore(anchor)) {
+                        status = endDate.isAfter(anchor) && !"CANCELLED".equals(status) ? "ACTIVE" : status;
+                        if ("UPGRADED".equals(status)) {
+                            status = "EXPIRED";
+                        }
+                    }
+                    inserter.add(id++, userId, plan[0], startDate, endDate, status, startDate, min(endDate, anchor));
+                    startDate = nextStart;
+                }
+            }
+            DatasetGenerator.report("user_subscriptions", inserter.written(), start);
+        }
+    }
+
+    /** {id, durationDays} of every plan */
+    private List<long[]> plans() throws SQLException {
+        List<long[]> plans = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, duration_days FROM pricing_plans ORDER BY id");
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                plans.add(new long[] {rows.getLong(1), Math.max(1, rows.getInt(2))});
+            }
+        }
+        return plans;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
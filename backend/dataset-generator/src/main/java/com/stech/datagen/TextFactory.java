@@ -0,0 +1,99 @@
+package com.stech.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic names, addresses and prose. Names depend only on the user id, so posts and
+ * comments can show an author's name without the generator keeping every user in memory.
+ */
+final class TextFactory {
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Akash", "Ananya", "Arjun", "Diya", "Farhan", "Ishaan", "Kavya", "Meera",
+            "Neha", "Nikhil", "Pooja", "Rahul", "Riya", "Rohan", "Sanya", "Siddharth", "Sneha", "Vikram",
+            "Alice", "Ben", "Chloe", "Daniel", "Emma", "Felix", "Grace", "Hugo", "Isla", "Jonas"};
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Gupta", "Iyer", "Nair", "Reddy", "Banerjee", "Mukherjee", "Das", "Khan",
+            "Patel", "Singh", "Mehta", "Joshi", "Kulkarni", "Smith", "Brown", "Garcia", "Muller", "Rossi"};
+    private static final String[] WORDS = (
+            "the a of to and in that is for it as with was on be by this are or at from an have not which "
+            + "spring boot service request response latency cache index query database transaction thread "
+            + "performance throughput memory design pattern java cloud gateway token security scale load "
+            + "blog post reader writer story idea simple fast clean code review deploy release monitor "
+            + "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut "
+            + "labore et dolore magna aliqua enim ad minim veniam quis nostrud exercitation ullamco laboris")
+            .split(" ");
+
+    private TextFactory() {
+    }
+
+    static String firstName(long userId) {
+        return FIRST_NAMES[(int) Long.remainderUnsigned(mix(userId), FIRST_NAMES.length)];
+    }
+
+    static String lastName(long userId) {
+        return LAST_NAMES[(int) Long.remainderUnsigned(mix(userId) >>> 17, LAST_NAMES.length)];
+    }
+
+    static String fullName(long userId) {
+        return firstName(userId) + " " + lastName(userId);
+    }
+
+    static String email(long userId) {
+        return "user" + userId + "@dataset.local";
+    }
+
+    static String phone(SplittableRandom random) {
+        return "9" + (100_000_000L + random.nextLong(900_000_000L));
+    }
+
+    static String ipAddress(SplittableRandom random) {
+        return (1 + random.nextInt(223)) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+    }
+
+    /**
+     * A sentence of {@code minWords..maxWords} words, capitalised and ending with a full stop
+     */
+    static String sentence(SplittableRandom random, int minWords, int maxWords) {
+        StringBuilder sb = new StringBuilder(maxWords * 8);
+        appendSentence(sb, random, minWords + random.nextInt(maxWords - minWords + 1));
+        return sb.toString();
+    }
+
+    /**
+     * Paragraphs of prose of roughly {@code bytes} length
+     */
+    static String body(SplittableRandom random, int bytes) {
+        StringBuilder sb = new StringBuilder(bytes + 128);
+        while (sb.length() < bytes) {
+            int sentences = 3 + random.nextInt(5);
+            for (int i = 0; i < sentences; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                appendSentence(sb, random, 8 + random.nextInt(16));
+            }
+            sb.append("\n\n");
+        }
+        return sb.toString();
+    }
+
+    private static void appendSentence(StringBuilder sb, SplittableRandom random, int words) {
+        int start = sb.length();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+        sb.append('.');
+    }
+
+    /** SplitMix64 finalizer, spreads consecutive ids over the whole range */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
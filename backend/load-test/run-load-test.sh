@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Boots api-gateway, authentication-service, user-management and payment-service as local
+# processes on the "loadtest" profile (embedded H2 in MySQL mode, static discovery instead of
+# Eureka, stubbed Razorpay), drives them with the load driver and stops them again.
+#
+#   ./run-load-test.sh --rate=200 --duration=120
+#   ./run-load-test.sh --mix=feed:60,view:30,vote:10
+#
+# All arguments go to the driver (see LoadTestConfig). JAVA_OPTS is passed to every service,
+# e.g. JAVA_OPTS="-Xmx512m" or VIRTUAL_THREADS_ENABLED=true to compare execution modes.
+# Maven runs offline (-o) by default; set MVN_OFFLINE= for the first build on a machine.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+BACKEND_DIR="$(cd .. && pwd)"
+MVN="mvn -B -q ${MVN_OFFLINE--o}"
+LOG_DIR="target/logs"
+PIDS=()
+
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+# The runnable Spring Boot jar: "-exec" where the plain jar is the main artifact
+boot_jar() {
+    local module="$1"
+    local exec_jar
+    exec_jar=$(ls "$BACKEND_DIR/$module"/target/*-exec.jar 2>/dev/null | head -1 || true)
+    if [[ -n "$exec_jar" ]]; then
+        echo "$exec_jar"
+    else
+        ls "$BACKEND_DIR/$module"/target/*.jar | grep -v -e '\.original$' | head -1
+    fi
+}
+
+start_service() {
+    local module="$1" port="$2"
+    echo "Starting $module on port $port"
+    SPRING_PROFILES_ACTIVE=loadtest java ${JAVA_OPTS:-} -jar "$(boot_jar "$module")" \
+        > "$LOG_DIR/$module.log" 2>&1 &
+    PIDS+=($!)
+}
+
+wait_for_port() {
+    local module="$1" port="$2"
+    for _ in $(seq 1 120); do
+        if (echo > "/dev/tcp/localhost/$port") 2>/dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "$module did not open port $port, see $LOG_DIR/$module.log" >&2
+    exit 1
+}
+
+$MVN -f "$BACKEND_DIR/common-util/pom.xml" install -DskipTests
+for module in authentication-service user-management payment-service; do
+    $MVN -f "$BACKEND_DIR/$module/pom.xml" -Ploadtest package -DskipTests
+done
+$MVN -f "$BACKEND_DIR/api-gateway/pom.xml" package -DskipTests
+$MVN -f pom.xml package
+
+mkdir -p "$LOG_DIR"
+start_service authentication-service 9091
+start_service user-management 9092
+start_service payment-service 9093
+start_service api-gateway 9999
+wait_for_port authentication-service 9091
+wait_for_port user-management 9092
+wait_for_port payment-service 9093
+wait_for_port api-gateway 9999
+
+java -jar target/load-test.jar --output=target/load-test-report.json "$@"
@@ -0,0 +1,62 @@
+package com.stech.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-endpoint latency samples and error counts. Samples are kept raw (a few hundred thousand
+ * longs for a typical run), so the percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).add(latencyNanos, success);
+    }
+
+    Map<String, Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    static final class Endpoint {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicLong errors = new AtomicLong();
+        private long[] samples = new long[4096];
+        private int count;
+
+        private void add(long latencyNanos, boolean success) {
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            lock.lock();
+            try {
+                if (count == samples.length) {
+                    samples = Arrays.copyOf(samples, count * 2);
+                }
+                samples[count++] = latencyNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long[] sortedSamples() {
+            lock.lock();
+            try {
+                long[] copy = Arrays.copyOf(samples, count);
+                Arrays.sort(copy);
+                return copy;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long errors() {
+            return errors.get();
+        }
+    }
+}
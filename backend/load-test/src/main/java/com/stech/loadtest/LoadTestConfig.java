@@ -0,0 +1,64 @@
+package com.stech.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options of the load driver, all in {@code --name=value} form.
+ *
+ * <pre>
+ *   --gateway=http://localhost:9999   entry point, every call goes through the gateway
+ *   --rate=100                        scenario starts per second (open model)
+ *   --duration=60                     measured seconds
+ *   --warmup=10                       unmeasured seconds before that
+ *   --mix=login:5,feed:40,view:30,vote:10,comment:10,checkout:5
+ *   --posts=50                        posts created before the run
+ *   --max-in-flight=2000              scenarios in flight before new starts are dropped
+ *   --razorpay-secret=loadtest_secret must match razorpay.key.secret of the payment service
+ *   --output=load-test-report.json
+ * </pre>
+ */
+record LoadTestConfig(String gateway, int rate, Duration duration, Duration warmup,
+                      Map<Scenario, Integer> mix, int posts, int maxInFlight,
+                      String razorpaySecret, String output) {
+
+    static final String DEFAULT_MIX = "login:5,feed:40,view:30,vote:10,comment:10,checkout:5";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestConfig(
+                options.getOrDefault("gateway", "http://localhost:9999"),
+                Integer.parseInt(options.getOrDefault("rate", "100")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("posts", "50")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                options.getOrDefault("razorpay-secret", "loadtest_secret"),
+                options.getOrDefault("output", "load-test-report.json"));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The scenario mix is empty");
+        }
+        return weights;
+    }
+}
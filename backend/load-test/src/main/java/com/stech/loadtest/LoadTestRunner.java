@@ -0,0 +1,153 @@
+package com.stech.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver for the local stack started by {@code run-load-test.sh}.
+ * <p>
+ * Scenarios are started at a fixed rate regardless of how fast the stack answers, each on its
+ * own virtual thread, and their latency is measured from the intended start time. A stack that
+ * falls behind therefore shows up as higher latency instead of a silently lower request rate.
+ * The report lists throughput, p50/p99/p999 latency and error rate per endpoint and is also
+ * written as JSON.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LatencyRecorder recorder = new LatencyRecorder();
+        LatencyRecorder warmupRecorder = new LatencyRecorder();
+        StackClient client = new StackClient(config);
+
+        System.out.printf("Seeding %d posts through %s%n", config.posts(), config.gateway());
+        client.seed();
+
+        Scenario[] wheel = weightedWheel(config.mix());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long dropped = 0;
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        System.out.printf("Running %d scenarios/s for %d s (+%d s warm-up), mix %s%n",
+                config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), config.mix());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                // Scenarios belong to the window they were started in, however long they take
+                boolean measuring = intendedStart >= measureFrom;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    if (measuring) {
+                        dropped++;
+                    }
+                    continue;
+                }
+                Scenario scenario = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                executor.submit(() -> {
+                    try {
+                        client.run(scenario, intendedStart, measuring ? recorder : warmupRecorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        String report = report(config, recorder, dropped);
+        System.out.println(report);
+        writeJson(config, recorder, dropped);
+    }
+
+    private static Scenario[] weightedWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel.toArray(new Scenario[0]);
+    }
+
+    private static String report(LoadTestConfig config, LatencyRecorder recorder, long dropped) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%-46s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<String, LatencyRecorder.Endpoint> entry : new TreeMap<>(recorder.endpoints()).entrySet()) {
+            long[] samples = entry.getValue().sortedSamples();
+            if (samples.length == 0) {
+                continue;
+            }
+            out.append(String.format("%-46s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), samples.length, samples.length / seconds,
+                    100.0 * entry.getValue().errors() / samples.length,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(percentile(samples, 0.999)), millis(samples[samples.length - 1])));
+        }
+        if (dropped > 0) {
+            out.append(String.format("%d scenario starts dropped (more than %d in flight)%n", dropped, config.maxInFlight()));
+        }
+        return out.toString();
+    }
+
+    private static void writeJson(LoadTestConfig config, LatencyRecorder recorder, long dropped) throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"rate\": ").append(config.rate())
+                .append(",\n  \"durationSeconds\": ").append(config.duration().toSeconds())
+                .append(",\n  \"mix\": \"").append(config.mix()).append('"')
+                .append(",\n  \"droppedStarts\": ").append(dropped)
+                .append(",\n  \"endpoints\": [");
+        String separator = "\n";
+        for (Map.Entry<String, LatencyRecorder.Endpoint> entry : new TreeMap<>(recorder.endpoints()).entrySet()) {
+            long[] samples = entry.getValue().sortedSamples();
+            if (samples.length == 0) {
+                continue;
+            }
+            json.append(separator).append(String.format(Locale.ROOT,
+                    "    {\"endpoint\": \"%s\", \"requests\": %d, \"throughput\": %.2f, \"errors\": %d, "
+                            + "\"p50Ms\": %.3f, \"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f}",
+                    entry.getKey(), samples.length, samples.length / seconds, entry.getValue().errors(),
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(percentile(samples, 0.999)), millis(samples[samples.length - 1])));
+            separator = ",\n";
+        }
+        json.append("\n  ]\n}\n");
+        Files.writeString(Path.of(config.output()), json);
+        System.out.println("Report written to " + config.output());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
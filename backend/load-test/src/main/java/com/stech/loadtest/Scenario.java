@@ -0,0 +1,20 @@
+package com.stech.loadtest;
+
+/**
+ * User journeys of the traffic mix. Each one issues one or more requests through the gateway;
+ * the requests are recorded per endpoint, not per scenario.
+ */
+enum Scenario {
+    /** POST /auth/login with one of the seeded accounts */
+    LOGIN,
+    /** GET /user/public/posts on a random page, then the category list */
+    FEED,
+    /** GET /user/public/posts/{id}, then POST /user/blog/posts/{id}/view */
+    VIEW,
+    /** POST /user/blog/posts/{id}/vote */
+    VOTE,
+    /** POST /user/comments, then GET /user/public/posts/{id}/comments/threads */
+    COMMENT,
+    /** GET pricing plans, POST /payment/create-order, POST /payment/verify-payment */
+    CHECKOUT
+}
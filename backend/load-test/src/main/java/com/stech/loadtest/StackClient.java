@@ -0,0 +1,217 @@
+package com.stech.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Talks to the stack through the gateway: seeds the data the scenarios need and runs one
+ * scenario at a time, recording every request under a stable endpoint name.
+ * Responses are only probed with a few regular expressions, so the driver has no JSON dependency.
+ */
+final class StackClient {
+
+    /** Accounts created by the authentication-service DatabaseSeeder */
+    private static final String[][] SEEDED_USERS = {
+            {"admin@example.com", "Test12@#"},
+            {"manager@example.com", "Test12@#"},
+            {"user@example.com", "Test12@#"}
+    };
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern DATA_ID = Pattern.compile("\"data\"\\s*:\\s*\\{\\s*\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern PLAN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)[^}]*?\"price\"\\s*:\\s*([\\d.]+)");
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+
+    private String adminToken;
+    private final List<Long> postIds = new ArrayList<>();
+    private final List<long[]> paidPlans = new ArrayList<>();
+
+    StackClient(LoadTestConfig config) {
+        this.config = config;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Logs in as the seeded admin and creates the categories and posts the scenarios use
+     */
+    void seed() throws Exception {
+        adminToken = login(SEEDED_USERS[0][0], SEEDED_USERS[0][1]);
+        if (adminToken == null) {
+            throw new IllegalStateException("Admin login failed, is the stack running on the loadtest profile?");
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String body = send(post("/api/v1/user/blog/categories",
+                    "{\"name\":\"Load test " + i + "\",\"description\":\"Created by the load driver\"}"), adminToken).body();
+            find(DATA_ID, body).map(Long::parseLong).ifPresent(categoryIds::add);
+        }
+        if (categoryIds.isEmpty()) {
+            // Categories survive from an earlier run against the same stack
+            Matcher matcher = ID.matcher(send(get("/api/v1/user/public/categories"), null).body());
+            while (matcher.find()) {
+                categoryIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40);
+        for (int i = 0; i < config.posts(); i++) {
+            long categoryId = categoryIds.isEmpty() ? 0 : categoryIds.get(i % categoryIds.size());
+            String json = "{\"title\":\"Load test post " + i + "\",\"excerpt\":\"Excerpt " + i + "\","
+                    + "\"content\":\"" + content + "\",\"authorName\":\"Load Driver\","
+                    + (categoryId > 0 ? "\"categoryId\":" + categoryId + "," : "")
+                    + "\"type\":\"PUBLIC\"}";
+            find(DATA_ID, send(post("/api/v1/user/blog/posts", json), adminToken).body())
+                    .map(Long::parseLong)
+                    .ifPresent(postIds::add);
+        }
+        if (postIds.isEmpty()) {
+            throw new IllegalStateException("No posts could be created");
+        }
+
+        Matcher plans = PLAN.matcher(send(get("/api/v1/payment/public/pricing-plans"), null).body());
+        while (plans.find()) {
+            double price = Double.parseDouble(plans.group(2));
+            if (price > 0) {
+                paidPlans.add(new long[] {Long.parseLong(plans.group(1)), Math.round(price)});
+            }
+        }
+    }
+
+    /**
+     * Runs one scenario; warm-up scenarios pass a recorder that is thrown away
+     */
+    void run(Scenario scenario, long intendedStartNanos, LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long postId = postIds.get(random.nextInt(postIds.size()));
+        try {
+            switch (scenario) {
+                case LOGIN -> {
+                    String[] user = SEEDED_USERS[random.nextInt(SEEDED_USERS.length)];
+                    timed(recorder, "POST /auth/login", intendedStartNanos, post("/api/v1/auth/login",
+                            "{\"email\":\"" + user[0] + "\",\"password\":\"" + user[1] + "\"}"), null);
+                }
+                case FEED -> {
+                    Timed feed = timed(recorder, "GET /user/public/posts", intendedStartNanos,
+                            get("/api/v1/user/public/posts?page=" + random.nextInt(5) + "&size=10"), null);
+                    timed(recorder, "GET /user/public/categories", feed.end(), get("/api/v1/user/public/categories"), null);
+                }
+                case VIEW -> {
+                    Timed detail = timed(recorder, "GET /user/public/posts/{id}", intendedStartNanos,
+                            get("/api/v1/user/public/posts/" + postId), null);
+                    timed(recorder, "POST /user/blog/posts/{id}/view", detail.end(),
+                            post("/api/v1/user/blog/posts/" + postId + "/view", ""), adminToken);
+                }
+                case VOTE -> timed(recorder, "POST /user/blog/posts/{id}/vote", intendedStartNanos,
+                        post("/api/v1/user/blog/posts/" + postId + "/vote?type=" + (random.nextBoolean() ? 1 : -1), ""),
+                        adminToken);
+                case COMMENT -> {
+                    Timed comment = timed(recorder, "POST /user/comments", intendedStartNanos, post("/api/v1/user/comments",
+                            "{\"postId\":" + postId + ",\"content\":\"Load test comment\",\"authorName\":\"Load Driver\"}"),
+                            adminToken);
+                    timed(recorder, "GET /user/public/posts/{id}/comments/threads", comment.end(),
+                            get("/api/v1/user/public/posts/" + postId + "/comments/threads?size=10"), null);
+                }
+                case CHECKOUT -> checkout(recorder, intendedStartNanos, random);
+            }
+        } catch (Exception e) {
+            recorder.record("scenario " + scenario.name().toLowerCase() + " (aborted)",
+                    System.nanoTime() - intendedStartNanos, false);
+        }
+    }
+
+    private void checkout(LatencyRecorder recorder, long intendedStartNanos, ThreadLocalRandom random) throws Exception {
+        Timed plans = timed(recorder, "GET /payment/public/pricing-plans", intendedStartNanos,
+                get("/api/v1/payment/public/pricing-plans"), null);
+        if (paidPlans.isEmpty()) {
+            return;
+        }
+        long[] plan = paidPlans.get(random.nextInt(paidPlans.size()));
+
+        Timed order = timed(recorder, "POST /payment/create-order", plans.end(), post("/api/v1/payment/create-order",
+                "{\"planId\":" + plan[0] + ",\"amount\":" + plan[1] + ",\"currency\":\"INR\"}"), adminToken);
+        String orderId = find(ORDER_ID, order.response().body()).orElse(null);
+        if (orderId == null) {
+            return;
+        }
+
+        // Signed like Razorpay Checkout does, so the real signature check runs
+        String paymentId = "pay_" + Long.toHexString(random.nextLong());
+        String signature = hmacSha256(orderId + "|" + paymentId, config.razorpaySecret());
+        timed(recorder, "POST /payment/verify-payment", order.end(), post("/api/v1/payment/verify-payment",
+                "{\"razorpay_order_id\":\"" + orderId + "\",\"razorpay_payment_id\":\"" + paymentId
+                        + "\",\"razorpay_signature\":\"" + signature + "\",\"planId\":\"" + plan[0] + "\"}"), adminToken);
+    }
+
+    private String login(String email, String password) throws Exception {
+        HttpResponse<String> response = send(post("/api/v1/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"), null);
+        return find(ACCESS_TOKEN, response.body()).orElse(null);
+    }
+
+    /**
+     * Sends a request and records its latency from {@code startNanos}. For the first request of
+     * a scenario that is the intended start, so queueing delay is not hidden (no coordinated
+     * omission); later requests start when the previous one ended.
+     */
+    private Timed timed(LatencyRecorder recorder, String endpoint, long startNanos, HttpRequest.Builder request, String token) throws Exception {
+        HttpResponse<String> response = send(request, token);
+        long end = System.nanoTime();
+        recorder.record(endpoint, end - startNanos, response.statusCode() < 400);
+        return new Timed(response, end);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String token) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(config.gateway() + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(config.gateway() + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static Optional<String> find(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body == null ? "" : body);
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private static String hmacSha256(String payload, String secret) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record Timed(HttpResponse<String> response, long end) {
+    }
+}
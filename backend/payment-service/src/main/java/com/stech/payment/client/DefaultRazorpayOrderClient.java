@@ -0,0 +1,34 @@
+package com.stech.payment.client;
+
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+
+@Component
+@Profile("!loadtest")
+public class DefaultRazorpayOrderClient implements RazorpayOrderClient {
+
+    private final RazorpayClient razorpay;
+
+    public DefaultRazorpayOrderClient(@Value("${razorpay.key.id:rzp_test_placeholder}") String keyId,
+                                      @Value("${razorpay.key.secret:secret_placeholder}") String keySecret) throws RazorpayException {
+        // One client for the whole service instead of one per order
+        this.razorpay = new RazorpayClient(keyId, keySecret);
+    }
+
+    @Override
+    public RazorpayOrder createOrder(long amountInPaise, String currency, String receipt) throws Exception {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amountInPaise);
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", receipt);
+
+        Order order = razorpay.orders.create(orderRequest);
+        return new RazorpayOrder(order.get("id"), order.get("status"));
+    }
+}
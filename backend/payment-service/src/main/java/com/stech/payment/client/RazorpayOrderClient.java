@@ -0,0 +1,13 @@
+package com.stech.payment.client;
+
+/**
+ * Creates Razorpay orders. Kept behind an interface so the load-test profile can replace
+ * the remote call with {@link StubRazorpayOrderClient}.
+ */
+public interface RazorpayOrderClient {
+
+    RazorpayOrder createOrder(long amountInPaise, String currency, String receipt) throws Exception;
+
+    record RazorpayOrder(String id, String status) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.stech.payment.client;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load-test stand-in for Razorpay: answers with a generated order id after a configurable
+ * delay that models the remote round trip. Signatures are still checked by the real
+ * {@code Utils.verifyPaymentSignature}, so the driver signs with {@code razorpay.key.secret}.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class StubRazorpayOrderClient implements RazorpayOrderClient {
+
+    private final long latencyMs;
+
+    public StubRazorpayOrderClient(@Value("${app.loadtest.razorpay.latency-ms:150}") long latencyMs) {
+        this.latencyMs = latencyMs;
+        log.warn("Razorpay is stubbed (load-test profile), orders are not sent to Razorpay");
+    }
+
+    @Override
+    public RazorpayOrder createOrder(long amountInPaise, String currency, String receipt) throws Exception {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        return new RazorpayOrder("order_" + UUID.randomUUID().toString().replace("-", "").substring(0, 14), "created");
+    }
+}
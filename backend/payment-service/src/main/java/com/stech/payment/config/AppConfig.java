@@ -0,0 +1,23 @@
+package com.stech.payment.config;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.observation.ObservationRegistry;
+
+@Configuration
+public class AppConfig {
+
+    // Used by common-util to fetch the permission registry from AUTHENTICATION-SERVICE
+    @Bean(name = "loadBalancedRestTemplate")
+    @LoadBalanced
+    public RestTemplate loadBalancedRestTemplate(ObservationRegistry observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate();
+        // Client span per call; the W3C traceparent header is added next to X-Request-ID
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.stech.payment.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,6 +14,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.stech.common.security.authority.PermissionRegistryResolver;
 import com.stech.common.security.filter.CommonJwtAuthenticationFilter;
 import com.stech.common.security.util.SecurityUtils;
 
@@ -29,26 +31,28 @@ public class WebSecurityConfig {
      * No service-specific public URLs for payment-service
      */
     @Bean
-    public CommonJwtAuthenticationFilter jwtAuthenticationFilter() {
+    public CommonJwtAuthenticationFilter jwtAuthenticationFilter(PermissionRegistryResolver permissionRegistryResolver) {
         // No additional public URLs for this service
-        return new CommonJwtAuthenticationFilter(new String[0]);
+        return new CommonJwtAuthenticationFilter(new String[0], permissionRegistryResolver);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, CommonJwtAuthenticationFilter jwtAuthenticationFilter,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
             .cors(cors -> cors.disable())
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
                 .requestMatchers(SecurityUtils.DEFAULT_PUBLIC_URLS).permitAll()
+                .requestMatchers(SecurityUtils.prometheusScrape(managementPort)).permitAll()
                 // All payment endpoints require authentication
                 .requestMatchers("/api/v1/payments/**").authenticated()
                 // Everything else requires authentication
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -7,7 +7,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.stech.common.http.PreSerializedResponses;
 import com.stech.common.library.GlobalApiResponse;
 import com.stech.payment.dto.request.PricingPlanDto;
 import com.stech.payment.service.PricingPlanService;
@@ -20,15 +22,18 @@ import lombok.RequiredArgsConstructor;
 public class PublicPricingPlanController {
 
     private final PricingPlanService pricingPlanService;
+    private final PreSerializedResponses preSerializedResponses;
 
     @GetMapping("/{id}")
-    public ResponseEntity<GlobalApiResponse.ApiResult<PricingPlanDto>> getPlanById(@PathVariable Long id) {
-        return ResponseEntity.ok(GlobalApiResponse.success(pricingPlanService.getPricingPlanById(id), "Pricing plan fetched successfully"));
+    public ResponseEntity<GlobalApiResponse.ApiResult<PricingPlanDto>> getPlanById(@PathVariable Long id, WebRequest webRequest) {
+        return preSerializedResponses.of(webRequest, "pricing-plan:" + id, pricingPlanService.getPricingPlanVersion(id),
+                () -> GlobalApiResponse.success(pricingPlanService.getPricingPlanById(id), "Pricing plan fetched successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<GlobalApiResponse.ApiResult<List<PricingPlanDto>>> getAllPlans() {
-        return ResponseEntity.ok(GlobalApiResponse.success(pricingPlanService.getAllPricingPlans(), "Pricing plans fetched successfully"));
+    public ResponseEntity<GlobalApiResponse.ApiResult<List<PricingPlanDto>>> getAllPlans(WebRequest webRequest) {
+        return preSerializedResponses.of(webRequest, "pricing-plans", pricingPlanService.getAllPricingPlansVersion(),
+                () -> GlobalApiResponse.success(pricingPlanService.getAllPricingPlans(), "Pricing plans fetched successfully"));
     }
 }
 
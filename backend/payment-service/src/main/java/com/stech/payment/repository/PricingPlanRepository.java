@@ -2,11 +2,21 @@ package com.stech.payment.repository;
 
 import com.stech.payment.entity.PricingPlanEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PricingPlanRepository extends JpaRepository<PricingPlanEntity, Long> {
     Optional<PricingPlanEntity> findByName(String name);
+
+    // Cheap validators for conditional GETs: no row data is read
+    @Query("SELECT p.id, p.updatedAt FROM PricingPlanEntity p WHERE p.id = :id")
+    List<Object[]> findVersionById(Long id);
+
+    // Id and updatedAt of every plan; the catalog is a handful of rows
+    @Query("SELECT p.id, p.updatedAt FROM PricingPlanEntity p ORDER BY p.id")
+    List<Object[]> findCatalogVersions();
 }
@@ -1,5 +1,6 @@
 package com.stech.payment.service;
 
+import com.stech.common.http.ResourceVersion;
 import com.stech.payment.dto.request.PricingPlanDto;
 import java.util.List;
 
@@ -9,4 +10,6 @@ public interface PricingPlanService {
     void deletePricingPlan(Long id);
     PricingPlanDto getPricingPlanById(Long id);
     List<PricingPlanDto> getAllPricingPlans();
+    ResourceVersion getPricingPlanVersion(Long id);
+    ResourceVersion getAllPricingPlansVersion();
 }
@@ -1,8 +1,7 @@
 package com.stech.payment.service.impl;
 
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
 import com.razorpay.Utils;
+import com.stech.payment.client.RazorpayOrderClient;
 import com.stech.payment.dto.request.PaymentRequest;
 import com.stech.payment.dto.response.PaymentResponse;
 import com.stech.payment.service.PaymentService;
@@ -17,6 +16,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+    private final RazorpayOrderClient razorpayOrderClient;
+
     @Value("${razorpay.key.id:rzp_test_placeholder}")
     private String razorpayKeyId;
 
@@ -25,21 +26,17 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public PaymentResponse createOrder(PaymentRequest paymentRequest, Long userId) throws Exception {
-        RazorpayClient razorpay = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-
-        JSONObject orderRequest = new JSONObject();
-        orderRequest.put("amount", paymentRequest.getAmount() * 100); // Amount in paise
-        orderRequest.put("currency", "INR");
-        orderRequest.put("receipt", "txn_" + userId + "_" + System.currentTimeMillis());
-
-        Order order = razorpay.orders.create(orderRequest);
+        RazorpayOrderClient.RazorpayOrder order = razorpayOrderClient.createOrder(
+                Math.round(paymentRequest.getAmount() * 100), // Amount in paise
+                "INR",
+                "txn_" + userId + "_" + System.currentTimeMillis());
 
         return PaymentResponse.builder()
-                .orderId(order.get("id"))
+                .orderId(order.id())
                 .razorpayKey(razorpayKeyId)
                 .amount(paymentRequest.getAmount())
                 .currency("INR")
-                .status(order.get("status"))
+                .status(order.status())
                 .build();
     }
 
@@ -1,5 +1,6 @@
 package com.stech.payment.service.impl;
 
+import com.stech.common.http.ResourceVersion;
 import com.stech.payment.dto.request.PricingPlanDto;
 import com.stech.payment.entity.PricingPlanEntity;
 import com.stech.payment.exception.ResourceNotFoundException;
@@ -9,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -59,6 +62,27 @@ public class PricingPlanServiceImpl implements PricingPlanService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResourceVersion getPricingPlanVersion(Long id) {
+        List<Object[]> rows = pricingPlanRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Pricing plan not found with id: " + id);
+        }
+        return ResourceVersion.of((LocalDateTime) rows.get(0)[1], id);
+    }
+
+    @Override
+    public ResourceVersion getAllPricingPlansVersion() {
+        // Plans are hard-deleted, so the ETag covers the id set as well as each updatedAt. No
+        // Last-Modified: a deletion leaves MAX(updatedAt) unchanged or even moves it back
+        List<Object> parts = new ArrayList<>();
+        for (Object[] row : pricingPlanRepository.findCatalogVersions()) {
+            parts.add(row[0]);
+            parts.add(row[1]);
+        }
+        return ResourceVersion.ofParts(parts.toArray());
+    }
+
 
 
     private PricingPlanDto mapToDto(PricingPlanEntity entity) {
@@ -0,0 +1,63 @@
+package com.stech.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.stech.payment.entity.PricingPlanEntity;
+import com.stech.payment.repository.PricingPlanRepository;
+
+/**
+ * Validators of the public pricing plan list. Plans are hard-deleted, so deleting one that is
+ * not the most recently updated must still change the ETag, and the list sends no
+ * Last-Modified that an If-Modified-Since request could match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class PricingPlanCatalogVersionTests {
+
+    private static final String PLANS_URL = "/api/v1/payment/public/pricing-plans";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PricingPlanRepository pricingPlanRepository;
+
+    @Test
+    void deletingAnOlderPlanChangesTheEtag() throws Exception {
+        PricingPlanEntity older = pricingPlanRepository.save(plan("Catalog Version Older"));
+        pricingPlanRepository.save(plan("Catalog Version Newer"));
+
+        String before = mockMvc.perform(get(PLANS_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        pricingPlanRepository.deleteById(older.getId());
+
+        String after = mockMvc.perform(get(PLANS_URL).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotNull().isNotEqualTo(before);
+    }
+
+    private static PricingPlanEntity plan(String name) {
+        return PricingPlanEntity.builder()
+                .name(name)
+                .price(9.99)
+                .postLimit(5)
+                .durationDays(30)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.stech.payment;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.stech.common.persistence.QueryBudget;
+import com.stech.payment.entity.UserSubscriptionEntity;
+import com.stech.payment.enums.SubscriptionStatus;
+import com.stech.payment.repository.PricingPlanRepository;
+import com.stech.payment.repository.UserSubscriptionRepository;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL statement and entity-load budget of the subscription lookup the post editor makes before
+ * every publish, on the embedded database of the loadtest profile.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubscriptionQueryCountTests {
+
+    /** Same key as JwtTokenLibrary, which reads the user ID back from the token */
+    private static final String JWT_SECRET = "9C3953C4622DAD2D8A625DA26AA97508A994D75EA0EEB0EE75AFDA7A91317FA0";
+    private static final long USER_ID = 42L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PricingPlanRepository pricingPlanRepository;
+
+    @Autowired
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    private QueryBudget queryBudget;
+
+    @BeforeAll
+    void seed() {
+        queryBudget = new QueryBudget(mockMvc, entityManagerFactory);
+        userSubscriptionRepository.save(UserSubscriptionEntity.builder()
+                .userId(USER_ID)
+                .plan(pricingPlanRepository.findByName("Basic Plan").orElseThrow())
+                .startDate(LocalDateTime.now().minusDays(1))
+                .endDate(LocalDateTime.now().plusDays(29))
+                .status(SubscriptionStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    void currentSubscription() throws Exception {
+        // Active subscription and its EAGER plan
+        RequestBuilder request = get("/api/v1/payment/current-subscription")
+                .with(authentication(new UsernamePasswordAuthenticationToken("subscriber@example.com",
+                        accessToken(USER_ID), List.of())));
+        queryBudget.assertWithin(request, 2, 2);
+    }
+
+    private static String accessToken(long userId) {
+        return Jwts.builder()
+                .setId(String.valueOf(userId))
+                .setSubject("subscriber@example.com")
+                .claim("type", "ACCESS")
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)), SignatureAlgorithm.HS384)
+                .compact();
+    }
+}
@@ -0,0 +1,29 @@
+package com.stech.usermgmt.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers cache maintenance until the surrounding transaction has committed so that a
+ * concurrent reader cannot repopulate a cache with rows that are about to change.
+ * Runs the action immediately when no transaction is active.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
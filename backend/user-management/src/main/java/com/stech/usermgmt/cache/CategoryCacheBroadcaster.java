@@ -0,0 +1,87 @@
+package com.stech.usermgmt.cache;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.stech.common.concurrent.PropagatedHeaders;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells every other instance of this service registered in Eureka to reload its
+ * {@link CategoryCatalog}. Calls are fire-and-forget on a single background thread;
+ * an instance that misses a broadcast converges when its catalog TTL expires.
+ */
+@Component
+@Slf4j
+public class CategoryCacheBroadcaster {
+
+    public static final String REFRESH_PATH = "/api/v1/user/internal/cache/categories/refresh";
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final RestTemplate restTemplate;
+    private final String serviceId;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "category-cache-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CategoryCacheBroadcaster(DiscoveryClient discoveryClient,
+                                    ObjectProvider<Registration> registration,
+                                    @Qualifier("externalRestTemplate") RestTemplate restTemplate,
+                                    @Value("${spring.application.name}") String serviceId) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.restTemplate = restTemplate;
+        this.serviceId = serviceId;
+    }
+
+    public void broadcastRefresh() {
+        // The refresh endpoint needs a category write permission, so reuse the writer's token
+        String authorization = PropagatedHeaders.authorization();
+        executor.execute(() -> notifyPeers(authorization));
+    }
+
+    private void notifyPeers(String authorization) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        ServiceInstance self = registration.getIfAvailable();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        for (ServiceInstance instance : instances) {
+            if (self != null && instance.getHost().equals(self.getHost()) && instance.getPort() == self.getPort()) {
+                continue;
+            }
+            try {
+                restTemplate.exchange(instance.getUri() + REFRESH_PATH, HttpMethod.POST, entity, Void.class);
+            } catch (Exception e) {
+                log.warn("Category cache refresh failed for instance {}: {}", instance.getUri(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,196 @@
+package com.stech.usermgmt.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.stech.common.http.ResourceVersion;
+import com.stech.usermgmt.entity.CategoryEntity;
+import com.stech.usermgmt.repository.CategoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory catalog of blog categories.
+ * Readers always see an immutable snapshot keyed by id and by case-insensitive name; writers
+ * build a new snapshot (copy-on-write) once their transaction has committed and then ask the
+ * {@link CategoryCacheBroadcaster} to refresh the other USER-SERVICE instances. Reloads and
+ * applied changes swap the snapshot under the same lock, so neither overwrites the other.
+ * The catalog serves reads only: uniqueness checks of writes go to the database.
+ */
+@Component
+@Slf4j
+public class CategoryCatalog {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryCacheBroadcaster broadcaster;
+    private final long ttlMillis;
+
+    // Not synchronized: a monitor held across the reload query would pin a virtual thread
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CategoryCatalog(CategoryRepository categoryRepository,
+                           CategoryCacheBroadcaster broadcaster,
+                           @Value("${app.cache.category.ttl-seconds:300}") long ttlSeconds) {
+        this.categoryRepository = categoryRepository;
+        this.broadcaster = broadcaster;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public Optional<Entry> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    /**
+     * Category by name, ignoring case and surrounding spaces like the column's collation
+     */
+    public Optional<Entry> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(current().byName().get(nameKey(name)));
+    }
+
+    /**
+     * Categories that are not soft-deleted, in id order
+     */
+    public List<Entry> findActive() {
+        return current().active();
+    }
+
+    /**
+     * ETag of the active category list, a digest of the fields it returns
+     */
+    public ResourceVersion version() {
+        return current().version();
+    }
+
+    /**
+     * Replaces the cached copy of a category after the surrounding transaction commits
+     * and tells the rest of the cluster to refresh. The entity must be flushed, or its
+     * generated timestamps are not set yet.
+     */
+    public void publish(CategoryEntity entity) {
+        Entry entry = Entry.of(entity);
+        AfterCommit.run(() -> {
+            apply(entry);
+            broadcaster.broadcastRefresh();
+        });
+    }
+
+    /**
+     * Rebuilds the snapshot from the database; used at first access, after the TTL
+     * expires and when another instance broadcasts a change.
+     */
+    public void reload() {
+        writeLock.lock();
+        try {
+            load();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            writeLock.lock();
+            try {
+                if (snapshot == null) {
+                    load();
+                }
+                return snapshot;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        // Only one reader refreshes an expired snapshot, the others keep serving the old one
+        if (System.currentTimeMillis() - current.loadedAt() > ttlMillis && writeLock.tryLock()) {
+            try {
+                if (snapshot.loadedAt() == current.loadedAt()) {
+                    load();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            return snapshot;
+        }
+        return current;
+    }
+
+    // Callers hold writeLock
+    private void load() {
+        List<Entry> entries = categoryRepository.findAll().stream()
+                .map(Entry::of)
+                .toList();
+        snapshot = Snapshot.of(entries);
+        log.info("Category catalog loaded with {} categories", entries.size());
+    }
+
+    private void apply(Entry entry) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                load();
+                return;
+            }
+            Map<Long, Entry> byId = new HashMap<>(current.byId());
+            byId.put(entry.id(), entry);
+            snapshot = Snapshot.of(byId.values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public record Entry(Long id, String name, String description, LocalDateTime createdAt,
+                        LocalDateTime updatedAt, boolean deleted) {
+
+        static Entry of(CategoryEntity entity) {
+            return new Entry(entity.getId(), entity.getName(), entity.getDescription(),
+                    entity.getCreatedAt(), entity.getUpdatedAt(), entity.isDeleted());
+        }
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, Map<String, Entry> byName, List<Entry> active,
+                            ResourceVersion version, long loadedAt) {
+
+        static Snapshot of(Iterable<Entry> entries) {
+            Map<Long, Entry> byId = new HashMap<>();
+            Map<String, Entry> byName = new HashMap<>();
+            List<Entry> active = new ArrayList<>();
+            for (Entry entry : entries) {
+                byId.put(entry.id(), entry);
+                byName.put(nameKey(entry.name()), entry);
+                if (!entry.deleted()) {
+                    active.add(entry);
+                }
+            }
+            active.sort((a, b) -> Long.compare(a.id(), b.id()));
+            // Digest of the listed content itself, so it changes with every rename, insert and soft
+            // delete whenever updatedAt is generated; no Last-Modified for the same reason
+            Object[] parts = new Object[active.size() * 4];
+            for (int i = 0; i < active.size(); i++) {
+                Entry entry = active.get(i);
+                parts[i * 4] = entry.id();
+                parts[i * 4 + 1] = entry.name();
+                parts[i * 4 + 2] = entry.description();
+                parts[i * 4 + 3] = entry.createdAt();
+            }
+            ResourceVersion version = ResourceVersion.ofParts(parts);
+            return new Snapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName),
+                    Collections.unmodifiableList(active), version, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.stech.usermgmt.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.stech.usermgmt.dto.response.PostResponse;
+
+/**
+ * Cache of the user-independent part of a post detail response, bounded to the
+ * {@code max-entries} most recently read posts. Concurrent misses for the same post share
+ * one in-flight load, so a viral post is only read once per invalidation. Per-user fields
+ * such as {@code isBookmarked} are never stored here.
+ * <p>
+ * Every load gets its own slot, and a change only ever touches the slot it saw: an
+ * invalidation drops whatever slot is current, and a committed view is added to the slot
+ * only when that slot was loaded before the view, otherwise the slot is dropped. A load
+ * that overlaps a change therefore never outlives it.
+ */
+@Component
+public class PostDetailCache {
+
+    // Held for map operations only, never while a post loads
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so the least recently read post is evicted first; guarded by lock
+    private final LinkedHashMap<Long, Slot> slots;
+    private final long ttlMillis;
+
+    public PostDetailCache(@Value("${app.cache.post.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${app.cache.post.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached post or runs {@code loader} exactly once for all concurrent callers.
+     * The returned instance is shared; callers must copy it before changing any field.
+     */
+    public PostResponse get(Long postId, Supplier<PostResponse> loader) {
+        while (true) {
+            Slot slot;
+            boolean owner = false;
+            lock.lock();
+            try {
+                slot = slots.get(postId);
+                if (slot == null) {
+                    slot = new Slot();
+                    slots.put(postId, slot);
+                    owner = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (owner) {
+                return load(postId, slot, loader);
+            }
+
+            Entry entry = await(slot);
+            if (!entry.isExpired(ttlMillis)) {
+                return entry.post();
+            }
+            // Expired: drop it and let one caller reload
+            remove(postId, slot);
+        }
+    }
+
+    /**
+     * Evicts the post now and again once the current transaction commits
+     */
+    public void invalidate(Long postId) {
+        remove(postId, null);
+        AfterCommit.run(() -> remove(postId, null));
+    }
+
+    /**
+     * Applies a committed view to the cached copy instead of evicting it, because views
+     * are far more frequent than edits and do not change {@code updatedAt}. A copy that was
+     * still loading when the view was recorded may already count it, so it is evicted.
+     */
+    public void recordView(Long postId) {
+        Slot seen = peek(postId);
+        boolean loadedBefore = seen != null && seen.isLoaded();
+        AfterCommit.run(() -> {
+            lock.lock();
+            try {
+                Slot current = slots.get(postId);
+                if (current == null) {
+                    return;
+                }
+                if (current != seen || !loadedBefore) {
+                    slots.remove(postId);
+                    return;
+                }
+                Entry entry = current.entry;
+                PostResponse post = entry.post().toBuilder()
+                        .viewCount(entry.post().getViewCount() + 1)
+                        .build();
+                current.entry = new Entry(post, entry.loadedAt());
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private PostResponse load(Long postId, Slot slot, Supplier<PostResponse> loader) {
+        try {
+            PostResponse post = loader.get();
+            Entry entry = new Entry(post, System.currentTimeMillis());
+            slot.entry = entry;
+            slot.loaded.complete(entry);
+            return post;
+        } catch (RuntimeException e) {
+            remove(postId, slot);
+            slot.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Slot peek(Long postId) {
+        lock.lock();
+        try {
+            return slots.get(postId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes the post's slot, or only the given one when it is still the current slot
+    private void remove(Long postId, Slot expected) {
+        lock.lock();
+        try {
+            if (expected == null) {
+                slots.remove(postId);
+            } else {
+                slots.remove(postId, expected);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry await(Slot slot) {
+        try {
+            slot.loaded.join();
+            return slot.entry;
+        } catch (CompletionException e) {
+            // The loading caller already received the exception; waiters surface the same failure
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // One load of a post; committed views replace its entry in place
+    private static final class Slot {
+
+        private final CompletableFuture<Entry> loaded = new CompletableFuture<>();
+        private volatile Entry entry;
+
+        boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+    }
+
+    private record Entry(PostResponse post, long loadedAt) {
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.stech.usermgmt.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,6 +12,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.stech.common.security.authority.PermissionRegistryResolver;
 import com.stech.common.security.filter.CommonJwtAuthenticationFilter;
 import com.stech.common.security.util.SecurityUtils;
 
@@ -28,23 +30,25 @@ public class WebSecurityConfig {
      * No service-specific public URLs for user-management
      */
     @Bean
-    CommonJwtAuthenticationFilter jwtAuthenticationFilter() {
+    CommonJwtAuthenticationFilter jwtAuthenticationFilter(PermissionRegistryResolver permissionRegistryResolver) {
         // No additional public URLs for this service
-        return new CommonJwtAuthenticationFilter(new String[0]);
+        return new CommonJwtAuthenticationFilter(new String[0], permissionRegistryResolver);
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, CommonJwtAuthenticationFilter jwtAuthenticationFilter,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(SecurityUtils.DEFAULT_PUBLIC_URLS).permitAll()
+                .requestMatchers(SecurityUtils.prometheusScrape(managementPort)).permitAll()
                 .requestMatchers("/api/v1/user/**").authenticated()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -9,7 +9,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.stech.common.http.ConditionalResponses;
+import com.stech.common.http.ResourceVersion;
 import com.stech.common.library.GlobalApiResponse;
 import com.stech.common.permissions.UserManagementServicePermissionList;
 import com.stech.common.security.annotation.RequirePermission;
@@ -40,8 +43,11 @@ public class CategoryController {
 
     @GetMapping("/{id}")
     @RequirePermission(authority = UserManagementServicePermissionList.CATEGORY_READ)
-    public ResponseEntity<GlobalApiResponse.ApiResult<CategoryResponse>> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(GlobalApiResponse.success(categoryService.getCategoryById(id), "Category fetched successfully"));
+    public ResponseEntity<GlobalApiResponse.ApiResult<CategoryResponse>> getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        CategoryResponse category = categoryService.getCategoryById(id);
+        ResourceVersion version = ResourceVersion.ofParts(category.getId(), category.getName(),
+                category.getDescription(), category.getCreatedAt());
+        return ConditionalResponses.of(webRequest, version, category, "Category fetched successfully");
     }
 
     @DeleteMapping("/{id}")
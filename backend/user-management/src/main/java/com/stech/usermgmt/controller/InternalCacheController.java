@@ -0,0 +1,33 @@
+package com.stech.usermgmt.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.stech.common.library.GlobalApiResponse;
+import com.stech.common.permissions.UserManagementServicePermissionList;
+import com.stech.common.security.annotation.RequirePermission;
+import com.stech.usermgmt.cache.CategoryCatalog;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/user/internal/cache")
+@RequiredArgsConstructor
+public class InternalCacheController {
+
+    private final CategoryCatalog categoryCatalog;
+
+    // Called by CategoryCacheBroadcaster with the token of the user who changed a category
+    @PostMapping("/categories/refresh")
+    @RequirePermission(anyOf = {
+            UserManagementServicePermissionList.CATEGORY_WRITE,
+            UserManagementServicePermissionList.CATEGORY_UPDATE,
+            UserManagementServicePermissionList.CATEGORY_DELETE
+    })
+    public ResponseEntity<GlobalApiResponse.ApiResult<Object>> refreshCategories() {
+        categoryCatalog.reload();
+        return ResponseEntity.ok(GlobalApiResponse.success(null, "Category cache refreshed successfully"));
+    }
+}
@@ -11,10 +11,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.stech.common.http.ConditionalResponses;
+import com.stech.common.http.PreSerializedResponses;
+import com.stech.common.http.ResourceVersion;
 import com.stech.common.library.GlobalApiResponse;
 import com.stech.usermgmt.dto.response.CategoryResponse;
+import com.stech.usermgmt.dto.response.CommentRepliesResponse;
 import com.stech.usermgmt.dto.response.CommentResponse;
+import com.stech.usermgmt.dto.response.CommentThreadsResponse;
 import com.stech.usermgmt.dto.response.PostResponse;
 import com.stech.usermgmt.entity.PostEntity;
 import com.stech.usermgmt.service.CategoryService;
@@ -32,24 +38,37 @@ public class PublicPostController {
     private final PostService postService;
     private final CategoryService categoryService;
     private final CommentService commentService;
+    private final PreSerializedResponses preSerializedResponses;
 
     @GetMapping("/posts")
     public ResponseEntity<GlobalApiResponse.ApiResult<Page<PostResponse>>> getAllPosts(
             @RequestParam(required = false) PostEntity.PostType type,
             @RequestParam(required = false) String search,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
         Page<PostResponse> posts = postService.getAllPosts(type, search, pageable);
-        return ResponseEntity.ok(GlobalApiResponse.success(posts, "Posts fetched successfully"));
+        Object[] parts = new Object[posts.getNumberOfElements() + 3];
+        parts[0] = posts.getNumber();
+        parts[1] = posts.getSize();
+        parts[2] = posts.getTotalElements();
+        for (int i = 0; i < posts.getNumberOfElements(); i++) {
+            parts[i + 3] = versionOf(posts.getContent().get(i)).etag();
+        }
+        return ConditionalResponses.of(webRequest, ResourceVersion.ofParts(parts), posts, "Posts fetched successfully");
     }
 
     @GetMapping("/posts/{id}")
-    public ResponseEntity<GlobalApiResponse.ApiResult<PostResponse>> getPostById(@PathVariable Long id) {
-        return ResponseEntity.ok(GlobalApiResponse.success(postService.getPostById(id), "Post fetched successfully"));
+    public ResponseEntity<GlobalApiResponse.ApiResult<PostResponse>> getPostById(@PathVariable Long id, WebRequest webRequest) {
+        PostResponse post = postService.getPostById(id);
+        return preSerializedResponses.of(webRequest, "post:" + id + ":" + post.isBookmarked(), versionOf(post),
+                () -> GlobalApiResponse.success(post, "Post fetched successfully"));
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<GlobalApiResponse.ApiResult<List<CategoryResponse>>> getAllCategories() {
-        return ResponseEntity.ok(GlobalApiResponse.success(categoryService.getAllCategories(), "Categories fetched successfully"));
+    public ResponseEntity<GlobalApiResponse.ApiResult<List<CategoryResponse>>> getAllCategories(WebRequest webRequest) {
+        // The version comes from the in-memory catalog, so a 304 costs no query at all
+        return preSerializedResponses.of(webRequest, "categories", categoryService.getCategoriesVersion(),
+                () -> GlobalApiResponse.success(categoryService.getAllCategories(), "Categories fetched successfully"));
     }
 
     @GetMapping("/posts/{postId}/comments")
@@ -57,6 +76,24 @@ public class PublicPostController {
         return ResponseEntity.ok(GlobalApiResponse.success(commentService.getCommentsByPostId(postId), "Comments fetched successfully"));
     }
 
+    @GetMapping("/posts/{postId}/comments/threads")
+    public ResponseEntity<GlobalApiResponse.ApiResult<CommentThreadsResponse>> getCommentThreads(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "2") int depth) {
+        CommentThreadsResponse threads = commentService.getCommentThreads(postId, cursor, size, depth);
+        return ResponseEntity.ok(GlobalApiResponse.success(threads, "Comment threads fetched successfully"));
+    }
+
+    @GetMapping("/comments/{commentId}/replies")
+    public ResponseEntity<GlobalApiResponse.ApiResult<CommentRepliesResponse>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(GlobalApiResponse.success(commentService.getReplies(commentId, cursor, limit), "Replies fetched successfully"));
+    }
+
     @PostMapping("/posts/{id}/vote")
     public ResponseEntity<GlobalApiResponse.ApiResult<PostResponse>> votePost(
             @PathVariable Long id,
@@ -76,4 +113,13 @@ public class PublicPostController {
         postService.incrementView(id, userId, ipAddress);
         return ResponseEntity.ok(GlobalApiResponse.success(null, "View count incremented successfully"));
     }
+
+    /**
+     * Counters change without touching updatedAt, so posts are validated by ETag only
+     */
+    private ResourceVersion versionOf(PostResponse post) {
+        return ResourceVersion.ofParts(post.getId(), post.getUpdatedAt(), post.getViewCount(),
+                post.getVoteCount(), post.getCommentCount(), post.isBookmarked(),
+                post.getCategory() != null ? post.getCategory().getName() : null);
+    }
 }
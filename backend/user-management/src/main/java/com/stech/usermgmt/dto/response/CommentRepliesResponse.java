@@ -0,0 +1,24 @@
+package com.stech.usermgmt.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentRepliesResponse {
+    // Comment ids go out as strings, see CommentResponse
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long parentId;
+    private List<CommentResponse> replies;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor; // Null when there are no more replies
+    private boolean hasMore;
+}
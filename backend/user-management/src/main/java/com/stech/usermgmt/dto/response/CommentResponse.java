@@ -1,5 +1,7 @@
 package com.stech.usermgmt.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,12 +15,16 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class CommentResponse {
+    // Snowflake ids exceed JavaScript's 2^53, so comment ids go out as strings
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String content;
     private Long authorId;
     private String authorName;
     private Long postId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long parentId;
+    private Integer replyCount;
     private List<CommentResponse> replies;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
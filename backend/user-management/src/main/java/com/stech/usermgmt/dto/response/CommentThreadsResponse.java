@@ -0,0 +1,24 @@
+package com.stech.usermgmt.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentThreadsResponse {
+    // Comment ids go out as strings, see CommentResponse
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long postId;
+    private List<CommentResponse> threads;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor; // Id of the last top-level comment; null when there are no more
+    private boolean hasMore;
+}
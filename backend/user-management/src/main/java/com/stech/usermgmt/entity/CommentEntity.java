@@ -1,5 +1,6 @@
 package com.stech.usermgmt.entity;
 
+import com.stech.common.persistence.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "blog_comments")
+@Table(name = "blog_comments", indexes = {
+    @Index(name = "idx_blog_comments_post_deleted", columnList = "post_id, is_deleted"),
+    @Index(name = "idx_blog_comments_parent_deleted", columnList = "parent_id, is_deleted")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +23,7 @@ import java.util.List;
 public class CommentEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
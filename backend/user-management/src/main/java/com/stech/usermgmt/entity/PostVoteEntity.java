@@ -1,5 +1,6 @@
 package com.stech.usermgmt.entity;
 
+import com.stech.common.persistence.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -18,7 +19,7 @@ import java.time.LocalDateTime;
 public class PostVoteEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -14,6 +14,7 @@ import org.springframework.web.client.RestTemplate;
 
 import com.stech.usermgmt.external.ExternalAuthenticationService;
 import com.stech.common.library.CommunicationServiceUtil;
+import com.stech.common.logging.SampledLogger;
 import com.stech.common.resilience.annotation.GlobalCircuitBreaker;
 import com.stech.common.resilience.annotation.GlobalRateLimiter;
 import com.stech.common.resilience.annotation.GlobalRetry;
@@ -24,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ExternalAuthenticationServiceImpl implements ExternalAuthenticationService {
 
+    private static final SampledLogger callLog = SampledLogger.rateLimited(log);
+
     private final RestTemplate restTemplate;
 
     public ExternalAuthenticationServiceImpl(
@@ -37,7 +40,7 @@ public class ExternalAuthenticationServiceImpl implements ExternalAuthentication
     @GlobalCircuitBreaker(serviceName = "Authentication Service")
     public String getUserById(Long userId) {
         String url = CommunicationServiceUtil.getAuthenticationServiceMicroserviceUrl() + "/internal/user/" + userId;
-        log.info("Executing getUserById from Authentication Service...");
+        callLog.info("Executing getUserById from Authentication Service...");
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -45,10 +48,10 @@ public class ExternalAuthenticationServiceImpl implements ExternalAuthentication
         HttpEntity<Void> entity = new HttpEntity<>(headers);
         ParameterizedTypeReference<String> responseType = new ParameterizedTypeReference<>() {};
 
-        log.info("url: {}", url);
-        log.info("Fetching user details");
+        log.debug("Fetching user details from {}", url);
         ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, responseType);
-        log.info("Response: {}", response.getBody());
+        // Full body only for requests flagged for debug (or DEBUG level)
+        log.debug("Response: {}", response.getBody());
         return response.getBody();
     }
 
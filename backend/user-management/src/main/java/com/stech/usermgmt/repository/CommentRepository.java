@@ -1,13 +1,39 @@
 package com.stech.usermgmt.repository;
 
 import com.stech.usermgmt.entity.CommentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     List<CommentEntity> findByPostIdAndParentCommentIdIsNullAndIsDeletedFalse(Long postId);
     long countByPostIdAndIsDeletedFalse(Long postId);
+
+    // Comment counts of a page of posts; posts without comments have no row
+    @Query("SELECT c.post.id, COUNT(c) FROM CommentEntity c WHERE c.post.id IN :postIds AND c.isDeleted = false GROUP BY c.post.id")
+    List<Object[]> countActiveByPostIds(Collection<Long> postIds);
+
+    // Whole comment tree of a post in a single query; the tree is assembled in memory
+    @Query("SELECT c FROM CommentEntity c WHERE c.post.id = :postId AND c.isDeleted = false ORDER BY c.id")
+    List<CommentEntity> findActiveByPostId(Long postId);
+
+    // Keyset page of a post's top-level comments, ordered by id so the last id is the next cursor
+    @Query("SELECT c FROM CommentEntity c WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.isDeleted = false AND c.id > :cursor ORDER BY c.id")
+    List<CommentEntity> findActiveRootsAfter(Long postId, Long cursor, Pageable pageable);
+
+    // Direct replies of a set of comments: one level of a page of threads
+    @Query("SELECT c FROM CommentEntity c WHERE c.parentComment.id IN :parentIds AND c.isDeleted = false ORDER BY c.id")
+    List<CommentEntity> findActiveByParentIds(Collection<Long> parentIds);
+
+    // Keyset page of direct replies, ordered by id so the last id is the next cursor
+    @Query("SELECT c FROM CommentEntity c WHERE c.parentComment.id = :parentId AND c.isDeleted = false AND c.id > :cursor ORDER BY c.id")
+    List<CommentEntity> findActiveRepliesAfter(Long parentId, Long cursor, Pageable pageable);
+
+    @Query("SELECT c.parentComment.id, COUNT(c) FROM CommentEntity c WHERE c.parentComment.id IN :parentIds AND c.isDeleted = false GROUP BY c.parentComment.id")
+    List<Object[]> countActiveRepliesByParentIds(Collection<Long> parentIds);
 }
@@ -2,8 +2,11 @@ package com.stech.usermgmt.repository;
 
 import com.stech.usermgmt.entity.PostBookmarkEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,8 @@ public interface PostBookmarkRepository extends JpaRepository<PostBookmarkEntity
     Optional<PostBookmarkEntity> findByPostIdAndUserId(Long postId, Long userId);
     boolean existsByPostIdAndUserId(Long postId, Long userId);
     void deleteByPostIdAndUserId(Long postId, Long userId);
+
+    // Which posts of a page the user has bookmarked
+    @Query("SELECT b.post.id FROM PostBookmarkEntity b WHERE b.userId = :userId AND b.post.id IN :postIds")
+    List<Long> findBookmarkedPostIds(Long userId, Collection<Long> postIds);
 }
@@ -31,11 +31,11 @@ public interface PostRepository extends JpaRepository<PostEntity, Long> {
             
     List<PostEntity> findByCategoryIdAndIsDeletedFalse(Long categoryId);
 
-    @Modifying(clearAutomatically = true)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE PostEntity p SET p.viewCount = p.viewCount + 1 WHERE p.id = :id")
     void incrementViewCount(Long id);
 
-    @Modifying(clearAutomatically = true)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE PostEntity p SET p.voteCount = p.voteCount + :voteDelta WHERE p.id = :id")
     void updateVoteCount(Long id, int voteDelta);
 }
@@ -1,5 +1,6 @@
 package com.stech.usermgmt.service;
 
+import com.stech.common.http.ResourceVersion;
 import com.stech.usermgmt.dto.request.CategoryRequest;
 import com.stech.usermgmt.dto.response.CategoryResponse;
 
@@ -9,6 +10,7 @@ public interface CategoryService {
     CategoryResponse createCategory(CategoryRequest request);
     CategoryResponse updateCategory(Long id, CategoryRequest request);
     List<CategoryResponse> getAllCategories();
+    ResourceVersion getCategoriesVersion();
     CategoryResponse getCategoryById(Long id);
     void deleteCategory(Long id);
 }
@@ -1,12 +1,16 @@
 package com.stech.usermgmt.service;
 
 import com.stech.usermgmt.dto.request.CommentRequest;
+import com.stech.usermgmt.dto.response.CommentRepliesResponse;
 import com.stech.usermgmt.dto.response.CommentResponse;
+import com.stech.usermgmt.dto.response.CommentThreadsResponse;
 
 import java.util.List;
 
 public interface CommentService {
     CommentResponse createComment(CommentRequest request, Long authorId);
     List<CommentResponse> getCommentsByPostId(Long postId);
+    CommentThreadsResponse getCommentThreads(Long postId, Long cursor, int size, int depth);
+    CommentRepliesResponse getReplies(Long parentId, Long cursor, int limit);
     void deleteComment(Long commentId, Long userId);
 }
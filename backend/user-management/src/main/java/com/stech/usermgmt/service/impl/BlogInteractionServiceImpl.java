@@ -1,5 +1,6 @@
 package com.stech.usermgmt.service.impl;
 
+import com.stech.usermgmt.cache.PostDetailCache;
 import com.stech.usermgmt.entity.*;
 import com.stech.usermgmt.repository.*;
 import com.stech.usermgmt.service.BlogInteractionService;
@@ -16,6 +17,7 @@ public class BlogInteractionServiceImpl implements BlogInteractionService {
     private final PostRepository postRepository;
     private final PostViewRepository postViewRepository;
     private final PostVoteRepository postVoteRepository;
+    private final PostDetailCache postDetailCache;
 
     @Override
     @Transactional
@@ -30,9 +32,9 @@ public class BlogInteractionServiceImpl implements BlogInteractionService {
                 .build();
         postViewRepository.save(view);
 
-        // Update cached count in post
-        post.setViewCount(post.getViewCount() + 1);
-        postRepository.save(post);
+        // A view is not an edit: bump the count in place, leaving updatedAt and the cached detail
+        postRepository.incrementViewCount(postId);
+        postDetailCache.recordView(postId);
     }
 
     @Override
@@ -69,6 +71,7 @@ public class BlogInteractionServiceImpl implements BlogInteractionService {
         }
         
         postRepository.save(post);
+        postDetailCache.invalidate(postId);
     }
 
 
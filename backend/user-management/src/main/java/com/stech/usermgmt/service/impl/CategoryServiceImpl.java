@@ -1,5 +1,7 @@
 package com.stech.usermgmt.service.impl;
 
+import com.stech.common.http.ResourceVersion;
+import com.stech.usermgmt.cache.CategoryCatalog;
 import com.stech.usermgmt.dto.request.CategoryRequest;
 import com.stech.usermgmt.dto.response.CategoryResponse;
 import com.stech.usermgmt.entity.CategoryEntity;
@@ -18,10 +20,12 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
 
     @Override
     @Transactional
     public CategoryResponse createCategory(CategoryRequest request) {
+        // Uniqueness against the database, not the possibly stale catalog
         if (categoryRepository.findByName(request.getName()).isPresent()) {
             throw new CustomResourceAlreadyExistsException("Category with name '" + request.getName() + "' already exists");
         }
@@ -29,7 +33,8 @@ public class CategoryServiceImpl implements CategoryService {
                 .name(request.getName())
                 .description(request.getDescription())
                 .build();
-        entity = categoryRepository.save(entity);
+        entity = categoryRepository.saveAndFlush(entity);
+        categoryCatalog.publish(entity);
         return mapToResponse(entity);
     }
 
@@ -48,23 +53,30 @@ public class CategoryServiceImpl implements CategoryService {
 
         entity.setName(request.getName());
         entity.setDescription(request.getDescription());
-        entity = categoryRepository.save(entity);
+        // Flushed first, so the published copy carries the generated timestamps
+        entity = categoryRepository.saveAndFlush(entity);
+        categoryCatalog.publish(entity);
         return mapToResponse(entity);
     }
 
     @Override
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findByIsDeletedFalse().stream()
+        return categoryCatalog.findActive().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ResourceVersion getCategoriesVersion() {
+        return categoryCatalog.version();
+    }
+
     @Override
     public CategoryResponse getCategoryById(Long id) {
-        CategoryEntity entity = categoryRepository.findById(id)
-                .filter(c -> !c.isDeleted())
+        CategoryCatalog.Entry entry = categoryCatalog.findById(id)
+                .filter(c -> !c.deleted())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
-        return mapToResponse(entity);
+        return mapToResponse(entry);
     }
 
     @Override
@@ -73,7 +85,8 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryEntity entity = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         entity.setDeleted(true);
-        categoryRepository.save(entity);
+        categoryRepository.saveAndFlush(entity);
+        categoryCatalog.publish(entity);
     }
 
     private CategoryResponse mapToResponse(CategoryEntity entity) {
@@ -84,4 +97,13 @@ public class CategoryServiceImpl implements CategoryService {
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
+
+    private CategoryResponse mapToResponse(CategoryCatalog.Entry entry) {
+        return CategoryResponse.builder()
+                .id(entry.id())
+                .name(entry.name())
+                .description(entry.description())
+                .createdAt(entry.createdAt())
+                .build();
+    }
 }
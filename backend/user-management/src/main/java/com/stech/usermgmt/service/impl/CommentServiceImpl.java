@@ -1,25 +1,39 @@
 package com.stech.usermgmt.service.impl;
 
+import com.stech.usermgmt.cache.PostDetailCache;
 import com.stech.usermgmt.dto.request.CommentRequest;
+import com.stech.usermgmt.dto.response.CommentRepliesResponse;
 import com.stech.usermgmt.dto.response.CommentResponse;
+import com.stech.usermgmt.dto.response.CommentThreadsResponse;
 import com.stech.usermgmt.entity.CommentEntity;
 import com.stech.usermgmt.entity.PostEntity;
 import com.stech.usermgmt.repository.CommentRepository;
 import com.stech.usermgmt.repository.PostRepository;
 import com.stech.usermgmt.service.CommentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    private static final int MAX_REPLIES_PAGE_SIZE = 100;
+    private static final int MAX_THREADS_PAGE_SIZE = 50;
+    private static final int MAX_THREAD_DEPTH = 5;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final PostDetailCache postDetailCache;
 
     @Override
     @Transactional
@@ -42,17 +56,84 @@ public class CommentServiceImpl implements CommentService {
                 .build();
 
         comment = commentRepository.save(comment);
+        // The cached post detail carries the comment count
+        postDetailCache.invalidate(post.getId());
         return mapToResponse(comment);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostIdAndParentCommentIdIsNullAndIsDeletedFalse(postId)
-                .stream()
-                .map(this::mapToResponse)
+        CommentTree tree = loadTree(postId);
+        return tree.roots().stream()
+                .map(root -> buildNode(root, tree.children(), Integer.MAX_VALUE))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CommentThreadsResponse getCommentThreads(Long postId, Long cursor, int size, int depth) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_THREADS_PAGE_SIZE);
+        int levels = Math.min(Math.max(depth, 0), MAX_THREAD_DEPTH);
+        List<CommentEntity> roots = commentRepository.findActiveRootsAfter(
+                postId, cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = roots.size() > pageSize;
+        if (hasMore) {
+            roots = roots.subList(0, pageSize);
+        }
+
+        // One query per level below this page's roots, then the reply counts of the last level
+        Map<Long, List<CommentEntity>> children = new HashMap<>();
+        List<Long> level = roots.stream().map(CommentEntity::getId).toList();
+        for (int i = 0; i < levels && !level.isEmpty(); i++) {
+            List<Long> next = new ArrayList<>();
+            for (CommentEntity reply : commentRepository.findActiveByParentIds(level)) {
+                children.computeIfAbsent(parentIdOf(reply), k -> new ArrayList<>()).add(reply);
+                next.add(reply.getId());
+            }
+            level = next;
+        }
+        Map<Long, Integer> replyCounts = countReplies(level);
+
+        List<CommentResponse> threads = roots.stream()
+                .map(root -> buildThread(root, children, replyCounts, levels))
+                .collect(Collectors.toList());
+
+        return CommentThreadsResponse.builder()
+                .postId(postId)
+                .threads(threads)
+                .nextCursor(hasMore ? roots.get(roots.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentRepliesResponse getReplies(Long parentId, Long cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_REPLIES_PAGE_SIZE);
+        List<CommentEntity> replies = commentRepository.findActiveRepliesAfter(
+                parentId, cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = replies.size() > pageSize;
+        if (hasMore) {
+            replies = replies.subList(0, pageSize);
+        }
+
+        Map<Long, Integer> replyCounts = countReplies(replies.stream().map(CommentEntity::getId).toList());
+
+        List<CommentResponse> items = replies.stream()
+                .map(reply -> toResponse(reply, replyCounts.getOrDefault(reply.getId(), 0), Collections.emptyList()))
+                .collect(Collectors.toList());
+
+        return CommentRepliesResponse.builder()
+                .parentId(parentId)
+                .replies(items)
+                .nextCursor(hasMore ? replies.get(replies.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional
     public void deleteComment(Long commentId, Long userId) {
@@ -65,22 +146,89 @@ public class CommentServiceImpl implements CommentService {
 
         comment.setDeleted(true);
         commentRepository.save(comment);
+        postDetailCache.invalidate(comment.getPost().getId());
     }
 
     private CommentResponse mapToResponse(CommentEntity entity) {
+        return toResponse(entity, 0, Collections.emptyList());
+    }
+
+    /**
+     * Loads every active comment of the post with one query and groups them by parent.
+     * Replies whose parent is deleted are never reached from a root, so they stay hidden
+     * exactly as they did with the recursive lazy loading.
+     */
+    private CommentTree loadTree(Long postId) {
+        List<CommentEntity> roots = new ArrayList<>();
+        Map<Long, List<CommentEntity>> children = new HashMap<>();
+
+        for (CommentEntity comment : commentRepository.findActiveByPostId(postId)) {
+            Long parentId = parentIdOf(comment);
+            if (parentId == null) {
+                roots.add(comment);
+            } else {
+                children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(comment);
+            }
+        }
+        return new CommentTree(roots, children);
+    }
+
+    private CommentResponse buildNode(CommentEntity entity, Map<Long, List<CommentEntity>> children, int depth) {
+        List<CommentEntity> directReplies = children.getOrDefault(entity.getId(), Collections.emptyList());
+        List<CommentResponse> replies = depth > 0
+                ? directReplies.stream()
+                        .map(reply -> buildNode(reply, children, depth - 1))
+                        .collect(Collectors.toList())
+                : Collections.emptyList();
+        return toResponse(entity, directReplies.size(), replies);
+    }
+
+    /**
+     * Node of a page of threads: replies down to {@code depth} levels from the preloaded
+     * children, and below that only the reply count
+     */
+    private CommentResponse buildThread(CommentEntity entity, Map<Long, List<CommentEntity>> children,
+                                        Map<Long, Integer> replyCounts, int depth) {
+        if (depth == 0) {
+            return toResponse(entity, replyCounts.getOrDefault(entity.getId(), 0), Collections.emptyList());
+        }
+        List<CommentEntity> directReplies = children.getOrDefault(entity.getId(), Collections.emptyList());
+        List<CommentResponse> replies = directReplies.stream()
+                .map(reply -> buildThread(reply, children, replyCounts, depth - 1))
+                .collect(Collectors.toList());
+        return toResponse(entity, directReplies.size(), replies);
+    }
+
+    // Active direct replies per comment, one query for all of them
+    private Map<Long, Integer> countReplies(Collection<Long> commentIds) {
+        Map<Long, Integer> replyCounts = new HashMap<>();
+        if (!commentIds.isEmpty()) {
+            for (Object[] row : commentRepository.countActiveRepliesByParentIds(commentIds)) {
+                replyCounts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return replyCounts;
+    }
+
+    private CommentResponse toResponse(CommentEntity entity, int replyCount, List<CommentResponse> replies) {
         return CommentResponse.builder()
                 .id(entity.getId())
                 .content(entity.getContent())
                 .authorId(entity.getAuthorId())
                 .authorName(entity.getAuthorName())
                 .postId(entity.getPost().getId())
-                .parentId(entity.getParentComment() != null ? entity.getParentComment().getId() : null)
+                .parentId(parentIdOf(entity))
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
-                .replies(entity.getReplies().stream()
-                        .filter(reply -> !reply.isDeleted())
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList()))
+                .replyCount(replyCount)
+                .replies(replies)
                 .build();
     }
+
+    private Long parentIdOf(CommentEntity entity) {
+        return entity.getParentComment() != null ? entity.getParentComment().getId() : null;
+    }
+
+    private record CommentTree(List<CommentEntity> roots, Map<Long, List<CommentEntity>> children) {
+    }
 }
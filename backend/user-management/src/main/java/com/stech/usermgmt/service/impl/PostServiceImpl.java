@@ -1,6 +1,8 @@
 package com.stech.usermgmt.service.impl;
 
 import com.stech.common.security.util.SecurityUtils;
+import com.stech.usermgmt.cache.CategoryCatalog;
+import com.stech.usermgmt.cache.PostDetailCache;
 import com.stech.usermgmt.dto.request.PostRequest;
 import com.stech.usermgmt.dto.response.CategoryResponse;
 import com.stech.usermgmt.dto.response.PostResponse;
@@ -22,7 +24,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -34,12 +42,13 @@ public class PostServiceImpl implements PostService {
     private final PostVoteRepository postVoteRepository;
     private final PostViewRepository postViewRepository;
     private final PostBookmarkRepository postBookmarkRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final PostDetailCache postDetailCache;
 
     @Override
     @Transactional
     public PostResponse createPost(PostRequest request, Long authorId) {
-        CategoryEntity category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        CategoryEntity category = resolveCategory(request.getCategoryId());
 
         PostEntity entity = PostEntity.builder()
                 .title(request.getTitle())
@@ -66,8 +75,7 @@ public class PostServiceImpl implements PostService {
             throw new RuntimeException("Unauthorized to update this post");
         }
 
-        CategoryEntity category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        CategoryEntity category = resolveCategory(request.getCategoryId());
 
         entity.setTitle(request.getTitle());
         entity.setExcerpt(request.getExcerpt());
@@ -80,17 +88,21 @@ public class PostServiceImpl implements PostService {
         }
 
         entity = postRepository.save(entity);
+        postDetailCache.invalidate(id);
         return mapToResponse(entity);
     }
 
     @Override
     public PostResponse getPostById(Long id) {
-        PostEntity entity = postRepository.findById(id)
-                .filter(p -> !p.isDeleted())
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        
+        PostResponse shared = postDetailCache.get(id, () -> {
+            PostEntity entity = postRepository.findById(id)
+                    .filter(p -> !p.isDeleted())
+                    .orElseThrow(() -> new RuntimeException("Post not found"));
+            return mapToSharedResponse(entity);
+        });
+
         // Note: For private posts, the controller should handle authentication check
-        return mapToResponse(entity);
+        return withBookmarkFlag(shared);
     }
 
     @Override
@@ -106,7 +118,14 @@ public class PostServiceImpl implements PostService {
             entityPage = postRepository.findByIsDeletedFalse(pageable);
         }
 
-        return entityPage.map(this::mapToResponse);
+        // Comment counts and bookmark flags of the whole page in one query each, not one per post
+        List<Long> postIds = entityPage.map(PostEntity::getId).getContent();
+        Map<Long, Integer> commentCounts = countComments(postIds);
+        Set<Long> bookmarkedPostIds = findBookmarkedPostIds(postIds);
+        return entityPage.map(entity -> mapToSharedResponse(entity, commentCounts.getOrDefault(entity.getId(), 0))
+                .toBuilder()
+                .isBookmarked(bookmarkedPostIds.contains(entity.getId()))
+                .build());
     }
 
     @Override
@@ -121,6 +140,7 @@ public class PostServiceImpl implements PostService {
 
         entity.setDeleted(true);
         postRepository.save(entity);
+        postDetailCache.invalidate(id);
     }
 
     @Override
@@ -160,6 +180,8 @@ public class PostServiceImpl implements PostService {
             postRepository.updateVoteCount(id, voteType);
         }
 
+        postDetailCache.invalidate(id);
+
         // Return updated post
         PostEntity updatedPost = postRepository.findByIdWithLock(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
@@ -180,6 +202,7 @@ public class PostServiceImpl implements PostService {
         postViewRepository.save(view);
 
         postRepository.incrementViewCount(id);
+        postDetailCache.recordView(id);
     }
 
     @Override
@@ -204,14 +227,18 @@ public class PostServiceImpl implements PostService {
     }
 
     private PostResponse mapToResponse(PostEntity entity) {
+        return withBookmarkFlag(mapToSharedResponse(entity));
+    }
+
+    /**
+     * Builds the part of the response that is the same for every reader
+     */
+    private PostResponse mapToSharedResponse(PostEntity entity) {
         long commentCount = commentRepository.countByPostIdAndIsDeletedFalse(entity.getId());
-        
-        Long currentUserId = SecurityUtils.getCurrentUserId();
-        boolean isBookmarked = false;
-        if (currentUserId != null) {
-            isBookmarked = postBookmarkRepository.existsByPostIdAndUserId(entity.getId(), currentUserId);
-        }
+        return mapToSharedResponse(entity, (int) commentCount);
+    }
 
+    private PostResponse mapToSharedResponse(PostEntity entity, int commentCount) {
         return PostResponse.builder()
                 .id(entity.getId())
                 .title(entity.getTitle())
@@ -219,19 +246,75 @@ public class PostServiceImpl implements PostService {
                 .content(entity.getContent())
                 .authorId(entity.getAuthorId())
                 .authorName(entity.getAuthorName())
-                .category(CategoryResponse.builder()
-                        .id(entity.getCategory().getId())
-                        .name(entity.getCategory().getName())
-                        .description(entity.getCategory().getDescription())
-                        .build())
+                .category(mapCategory(entity.getCategory()))
                 .image(entity.getImage())
                 .type(entity.getType())
                 .viewCount(entity.getViewCount())
                 .voteCount(entity.getVoteCount())
-                .commentCount((int) commentCount)
-                .isBookmarked(isBookmarked)
+                .commentCount(commentCount)
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
     }
+
+    private Map<Long, Integer> countComments(Collection<Long> postIds) {
+        Map<Long, Integer> commentCounts = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (Object[] row : commentRepository.countActiveByPostIds(postIds)) {
+                commentCounts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return commentCounts;
+    }
+
+    /**
+     * Ids among {@code postIds} that the current user has bookmarked; none for anonymous readers
+     */
+    private Set<Long> findBookmarkedPostIds(Collection<Long> postIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null || postIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(postBookmarkRepository.findBookmarkedPostIds(currentUserId, postIds));
+    }
+
+    /**
+     * Overlays the current user's bookmark state on a copy of the shared response
+     */
+    private PostResponse withBookmarkFlag(PostResponse shared) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        boolean isBookmarked = false;
+        if (currentUserId != null) {
+            isBookmarked = postBookmarkRepository.existsByPostIdAndUserId(shared.getId(), currentUserId);
+        }
+        return shared.toBuilder()
+                .isBookmarked(isBookmarked)
+                .build();
+    }
+
+    /**
+     * Validates the category against the in-memory catalog and returns a reference
+     * without loading the row
+     */
+    private CategoryEntity resolveCategory(Long categoryId) {
+        if (categoryId == null || categoryCatalog.findById(categoryId).isEmpty()) {
+            throw new RuntimeException("Category not found");
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
+
+    private CategoryResponse mapCategory(CategoryEntity category) {
+        // getId() on the lazy proxy does not initialize it, the rest comes from the catalog
+        return categoryCatalog.findById(category.getId())
+                .map(entry -> CategoryResponse.builder()
+                        .id(entry.id())
+                        .name(entry.name())
+                        .description(entry.description())
+                        .build())
+                .orElseGet(() -> CategoryResponse.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .description(category.getDescription())
+                        .build());
+    }
 }
@@ -0,0 +1,65 @@
+package com.stech.usermgmt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.stech.usermgmt.dto.request.CategoryRequest;
+import com.stech.usermgmt.dto.response.CategoryResponse;
+import com.stech.usermgmt.service.CategoryService;
+
+/**
+ * Validators of the public category list on the instance that made the change: a rename or a
+ * soft delete must change the ETag at once, not after the catalog's next reload.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class CategoryListVersionTests {
+
+    private static final String CATEGORIES_URL = "/api/v1/user/public/categories";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void renamingACategoryChangesTheEtag() throws Exception {
+        CategoryResponse category = categoryService.createCategory(new CategoryRequest("Version Rename", "Before"));
+        String before = etag(null);
+
+        categoryService.updateCategory(category.getId(), new CategoryRequest("Version Renamed", "Before"));
+
+        assertThat(etag(before)).isNotEqualTo(before);
+    }
+
+    @Test
+    void deletingACategoryChangesTheEtag() throws Exception {
+        CategoryResponse category = categoryService.createCategory(new CategoryRequest("Version Delete", "Gone soon"));
+        String before = etag(null);
+
+        categoryService.deleteCategory(category.getId());
+
+        assertThat(etag(before)).isNotEqualTo(before);
+    }
+
+    // ETag of a 200 response; a stale ETag must not get a 304
+    private String etag(String ifNoneMatch) throws Exception {
+        return mockMvc.perform(ifNoneMatch == null ? get(CATEGORIES_URL)
+                        : get(CATEGORIES_URL).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
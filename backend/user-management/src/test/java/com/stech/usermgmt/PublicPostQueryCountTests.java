@@ -0,0 +1,148 @@
+package com.stech.usermgmt;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.stech.common.persistence.QueryBudget;
+import com.stech.usermgmt.cache.CategoryCatalog;
+import com.stech.usermgmt.entity.CategoryEntity;
+import com.stech.usermgmt.entity.CommentEntity;
+import com.stech.usermgmt.entity.PostEntity;
+import com.stech.usermgmt.repository.CategoryRepository;
+import com.stech.usermgmt.repository.CommentRepository;
+import com.stech.usermgmt.repository.PostRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL statement and entity-load budgets of the public blog endpoints, on the embedded database
+ * of the loadtest profile. A failing bound means a change added queries to a hot path: a new
+ * lazy association touched while mapping, an extra exists/count per row, and the like.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PublicPostQueryCountTests {
+
+    private static final String BASE_URL = "/api/v1/user/public";
+    private static final int POSTS = 25;
+    private static final int PAGE_SIZE = 10;
+    private static final int ROOT_COMMENTS = 10;
+    private static final int REPLIES_PER_COMMENT = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    private final List<PostEntity> posts = new ArrayList<>();
+    private int commentsOnFirstPost;
+
+    private QueryBudget queryBudget;
+
+    @BeforeAll
+    void seed() {
+        queryBudget = new QueryBudget(mockMvc, entityManagerFactory);
+        CategoryEntity category = categoryRepository.save(CategoryEntity.builder()
+                .name("Query Budget")
+                .description("Posts of the query-count tests")
+                .build());
+        categoryCatalog.reload();
+
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(postRepository.save(PostEntity.builder()
+                    .title("Post " + i)
+                    .excerpt("Excerpt " + i)
+                    .content("Content of post " + i)
+                    .authorId(1000L + i % 5)
+                    .authorName("Author " + i % 5)
+                    .category(category)
+                    .build()));
+        }
+
+        PostEntity commented = posts.get(0);
+        for (int i = 0; i < ROOT_COMMENTS; i++) {
+            CommentEntity root = commentRepository.save(comment(commented, null, "Comment " + i));
+            commentsOnFirstPost++;
+            for (int j = 0; j < REPLIES_PER_COMMENT; j++) {
+                CommentEntity reply = commentRepository.save(comment(commented, root, "Reply " + i + "." + j));
+                commentRepository.save(comment(commented, reply, "Nested reply " + i + "." + j));
+                commentsOnFirstPost += 2;
+            }
+        }
+    }
+
+    @Test
+    void feedPage() throws Exception {
+        // Page, total count and the comment counts of the whole page in one grouped query
+        queryBudget.assertWithin(get(BASE_URL + "/posts").param("page", "0").param("size", String.valueOf(PAGE_SIZE)),
+                3, PAGE_SIZE);
+    }
+
+    @Test
+    void postDetail() throws Exception {
+        // Post and comment count; the category comes from the in-memory catalog
+        queryBudget.assertWithin(get(BASE_URL + "/posts/{id}", posts.get(1).getId()), 2, 1);
+    }
+
+    @Test
+    void commentTree() throws Exception {
+        // The whole tree is loaded with one query, whatever its depth
+        queryBudget.assertWithin(get(BASE_URL + "/posts/{postId}/comments", posts.get(0).getId()), 1, commentsOnFirstPost);
+    }
+
+    @Test
+    void commentThreads() throws Exception {
+        // Page of roots, their replies and the replies' reply counts; only this page's comments load
+        queryBudget.assertWithin(get(BASE_URL + "/posts/{postId}/comments/threads", posts.get(0).getId())
+                .param("depth", "1").param("size", "5"), 3, 5 + 5 * REPLIES_PER_COMMENT);
+    }
+
+    @Test
+    void vote() throws Exception {
+        // Locked read, existing vote, insert, counter update, re-read and comment count
+        queryBudget.assertWithin(post(BASE_URL + "/posts/{id}/vote", posts.get(2).getId()).param("type", "1"), 6, 2);
+    }
+
+    @Test
+    void view() throws Exception {
+        // Locked read, view row and counter update
+        queryBudget.assertWithin(post(BASE_URL + "/posts/{id}/view", posts.get(3).getId()), 3, 1);
+    }
+
+    private static CommentEntity comment(PostEntity post, CommentEntity parent, String content) {
+        return CommentEntity.builder()
+                .post(post)
+                .parentComment(parent)
+                .content(content)
+                .authorId(2000L)
+                .authorName("Commenter")
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.stech.usermgmt.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stech.usermgmt.dto.response.PostResponse;
+
+/**
+ * Eviction order, invalidation and view counting of {@link PostDetailCache}. Without a
+ * transaction, changes apply at once; the view tests open a synchronization by hand to
+ * place a load between recording a view and its commit.
+ */
+class PostDetailCacheTests {
+
+    private final PostDetailCache cache = new PostDetailCache(60, 2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsTheLeastRecentlyReadPost() {
+        cache.get(1L, post(1L, 0));
+        cache.get(2L, post(2L, 0));
+        cache.get(1L, post(1L, 0));
+        cache.get(3L, post(3L, 0));
+        loads.set(0);
+
+        cache.get(1L, post(1L, 0));
+        assertThat(loads).hasValue(0);
+        cache.get(2L, post(2L, 0));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        cache.get(1L, post(1L, 0));
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, post(1L, 0)).getViewCount()).isZero();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void addsACommittedViewToACopyLoadedBeforeIt() {
+        cache.get(1L, post(1L, 5));
+        cache.recordView(1L);
+
+        assertThat(cache.get(1L, post(1L, 0)).getViewCount()).isEqualTo(6);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictsACopyLoadedWhileTheViewCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordView(1L);
+        // Loaded before the commit became visible or after it: the count is unknown
+        cache.get(1L, post(1L, 6));
+        commit();
+
+        assertThat(cache.get(1L, post(1L, 6)).getViewCount()).isEqualTo(6);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void dropsALoadOverlappingAnInvalidation() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        // Reads the row before the edit commits
+        cache.get(1L, post(1L, 0));
+        commit();
+
+        cache.get(1L, post(1L, 0));
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<PostResponse> post(Long id, int viewCount) {
+        return () -> {
+            loads.incrementAndGet();
+            return PostResponse.builder().id(id).viewCount(viewCount).build();
+        };
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -119,11 +119,11 @@ export function RolesList() {
                   </p>
                   <div className="flex items-center justify-between pt-4 border-t border-gray-100 dark:border-gray-700">
                     <div className="flex flex-col">
-                      <span className="text-xl font-bold text-gray-900 dark:text-white">{role.permissions?.length || 0}</span>
+                      <span className="text-xl font-bold text-gray-900 dark:text-white">{role.permissionCount ?? role.permissions?.length ?? 0}</span>
                       <span className="text-xs text-gray-500 uppercase tracking-tight">Permissions</span>
                     </div>
                     <div className="flex flex-col text-right">
-                      <span className="text-xl font-bold text-gray-900 dark:text-white">{role.userIds?.length || role.users?.length || 0}</span>
+                      <span className="text-xl font-bold text-gray-900 dark:text-white">{role.userCount ?? role.userIds?.length ?? role.users?.length ?? 0}</span>
                       <span className="text-xs text-gray-500 uppercase tracking-tight">Users</span>
                     </div>
                   </div>
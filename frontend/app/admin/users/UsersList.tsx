@@ -2,14 +2,14 @@ import { useState, useEffect } from "react";
 import { Link } from "react-router";
 import { AdminLayout } from "../layout/AdminLayout";
 import { useAppDispatch, useAppSelector } from "../../store/hooks";
-import { fetchUsers, deleteUser } from "../../store/slices/usersSlice";
+import { fetchUsers, searchUsers, deleteUser } from "../../store/slices/usersSlice";
 import type { Role } from "../../store/slices/usersSlice";
 import { showConfirmDialog } from "../../utils/sweetAlert";
 import { toast } from "react-hot-toast";
 
 export function UsersPage() {
   const dispatch = useAppDispatch();
-  const { users, isLoading, pageInfo } = useAppSelector((state) => state.users);
+  const { users, isLoading, pageInfo, nextCursor } = useAppSelector((state) => state.users);
 
   const [search, setSearch] = useState("");
   const [debouncedSearch, setDebouncedSearch] = useState("");
@@ -17,6 +17,9 @@ export function UsersPage() {
   const [size] = useState(10);
   const [sortBy] = useState("id");
   const [sortDir] = useState("desc");
+  // Search results are paged by cursor: cursors[n] is where page n starts
+  const [cursors, setCursors] = useState<(string | null)[]>([null]);
+  const searching = debouncedSearch.trim() !== "";
 
   // Debounce search effect
   useEffect(() => {
@@ -28,9 +31,20 @@ export function UsersPage() {
   }, [search]);
 
   useEffect(() => {
-    dispatch(fetchUsers({ page, size, sortBy, sortDir, search: debouncedSearch }));
+    if (searching) {
+      dispatch(searchUsers({ q: debouncedSearch.trim(), cursor: cursors[page], size }));
+    } else {
+      dispatch(fetchUsers({ page, size, sortBy, sortDir }));
+    }
   }, [dispatch, page, size, sortBy, sortDir, debouncedSearch]);
 
+  const goToNextPage = () => {
+    if (searching) {
+      setCursors([...cursors.slice(0, page + 1), nextCursor]);
+    }
+    setPage(page + 1);
+  };
+
   const handleDelete = async (id: number, name: string) => {
     const result = await showConfirmDialog({
       title: "Delete User?",
@@ -51,6 +65,7 @@ export function UsersPage() {
   const handleSearchChange = (e: React.ChangeEvent<HTMLInputElement>) => {
     setSearch(e.target.value);
     setPage(0); // Reset to first page on search
+    setCursors([null]);
   };
 
   return (
@@ -209,11 +224,18 @@ export function UsersPage() {
 
         {/* Pagination */}
         <div className="flex items-center justify-between py-2">
-          <p className="text-sm text-gray-500 dark:text-gray-400 font-medium">
-            Showing <span className="text-gray-900 dark:text-white font-bold">{pageInfo.number * pageInfo.size + (users.length > 0 ? 1 : 0)}</span> to{" "}
-            <span className="text-gray-900 dark:text-white font-bold">{pageInfo.number * pageInfo.size + users.length}</span> of{" "}
-            <span className="text-gray-900 dark:text-white font-bold">{pageInfo.totalElements}</span> members
-          </p>
+          {searching ? (
+            <p className="text-sm text-gray-500 dark:text-gray-400 font-medium">
+              Showing <span className="text-gray-900 dark:text-white font-bold">{page * size + (users.length > 0 ? 1 : 0)}</span> to{" "}
+              <span className="text-gray-900 dark:text-white font-bold">{page * size + users.length}</span> matching members
+            </p>
+          ) : (
+            <p className="text-sm text-gray-500 dark:text-gray-400 font-medium">
+              Showing <span className="text-gray-900 dark:text-white font-bold">{pageInfo.number * pageInfo.size + (users.length > 0 ? 1 : 0)}</span> to{" "}
+              <span className="text-gray-900 dark:text-white font-bold">{pageInfo.number * pageInfo.size + users.length}</span> of{" "}
+              <span className="text-gray-900 dark:text-white font-bold">{pageInfo.totalElements}</span> members
+            </p>
+          )}
           <div className="flex gap-3">
             <button
               onClick={() => setPage(page - 1)}
@@ -226,8 +248,8 @@ export function UsersPage() {
               Previous
             </button>
             <button
-              onClick={() => setPage(page + 1)}
-              disabled={page >= pageInfo.totalPages - 1 || isLoading}
+              onClick={goToNextPage}
+              disabled={(searching ? !nextCursor : page >= pageInfo.totalPages - 1) || isLoading}
               className="flex items-center gap-2 px-6 py-2 bg-white dark:bg-gray-900 border border-gray-200 dark:border-gray-700 rounded-xl text-sm font-bold text-gray-600 dark:text-gray-300 hover:bg-gray-50 dark:hover:bg-gray-800 disabled:opacity-40 disabled:cursor-not-allowed transition-all"
             >
               Next
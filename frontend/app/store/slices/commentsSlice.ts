@@ -1,13 +1,14 @@
 import { createSlice, createAsyncThunk } from "@reduxjs/toolkit";
 import { privateAxios } from "../../api/axiosInstance";
 
+// Comment ids are Snowflake ids, sent as strings because they exceed Number.MAX_SAFE_INTEGER
 export interface Comment {
-  id: number;
+  id: string;
   content: string;
   authorId: number;
   authorName: string;
   postId: number;
-  parentId: number | null;
+  parentId: string | null;
   replies: Comment[];
   createdAt: string;
   updatedAt: string;
@@ -16,7 +17,7 @@ export interface Comment {
 export interface CommentRequest {
   content: string;
   postId: number;
-  parentId?: number | null;
+  parentId?: string | null;
   authorName: string;
 }
 
@@ -58,7 +59,7 @@ export const createComment = createAsyncThunk(
 
 export const deleteComment = createAsyncThunk(
   "comments/delete",
-  async (id: number, { rejectWithValue }) => {
+  async (id: string, { rejectWithValue }) => {
     try {
       await privateAxios.delete(`/user/comments/${id}`);
       return id;
@@ -12,6 +12,8 @@ export interface Role {
   permissions: any[];
   users: any[] | null;
   userIds?: number[];
+  permissionCount?: number;
+  userCount?: number;
 }
 
 interface PageInfo {
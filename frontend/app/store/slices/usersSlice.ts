@@ -53,6 +53,7 @@ interface UsersState {
   isLoading: boolean;
   error: string | null;
   pageInfo: PageInfo;
+  nextCursor: string | null;
 }
 
 const initialState: UsersState = {
@@ -66,6 +67,7 @@ const initialState: UsersState = {
     totalElements: 0,
     totalPages: 0,
   },
+  nextCursor: null,
 };
 
 interface FetchUsersArgs {
@@ -73,15 +75,14 @@ interface FetchUsersArgs {
   size?: number;
   sortBy?: string;
   sortDir?: string;
-  search?: string;
 }
 
 export const fetchUsers = createAsyncThunk(
   "users/fetchUsers",
-  async ({ page = 0, size = 10, sortBy = "id", sortDir = "asc", search = "" }: FetchUsersArgs = {}, { rejectWithValue }) => {
+  async ({ page = 0, size = 10, sortBy = "id", sortDir = "asc" }: FetchUsersArgs = {}, { rejectWithValue }) => {
     try {
       const response = await privateAxios.get(`/auth/users`, {
-        params: { page, size, sortBy, sortDir, search },
+        params: { page, size, sortBy, sortDir },
       });
       return response.data;
     } catch (error: any) {
@@ -90,6 +91,27 @@ export const fetchUsers = createAsyncThunk(
   }
 );
 
+interface SearchUsersArgs {
+  q: string;
+  cursor?: string | null;
+  size?: number;
+}
+
+// Indexed directory search, paged by cursor instead of page number
+export const searchUsers = createAsyncThunk(
+  "users/searchUsers",
+  async ({ q, cursor = null, size = 10 }: SearchUsersArgs, { rejectWithValue }) => {
+    try {
+      const response = await privateAxios.get(`/auth/users/search`, {
+        params: { q, size, ...(cursor ? { cursor } : {}) },
+      });
+      return response.data;
+    } catch (error: any) {
+      return rejectWithValue(error.response?.data?.message || "Failed to search users");
+    }
+  }
+);
+
 export const createUser = createAsyncThunk(
   "users/createUser",
   async (payload: UserRequest, { rejectWithValue }) => {
@@ -164,6 +186,19 @@ const usersSlice = createSlice({
         state.isLoading = false;
         state.error = action.payload as string;
       })
+      .addCase(searchUsers.pending, (state) => {
+        state.isLoading = true;
+        state.error = null;
+      })
+      .addCase(searchUsers.fulfilled, (state, action) => {
+        state.isLoading = false;
+        state.users = action.payload.data.users;
+        state.nextCursor = action.payload.data.nextCursor ?? null;
+      })
+      .addCase(searchUsers.rejected, (state, action) => {
+        state.isLoading = false;
+        state.error = action.payload as string;
+      })
       .addCase(createUser.pending, (state) => {
         state.isLoading = true;
         state.error = null;
@@ -9,8 +9,8 @@ interface CommentSectionProps {
 
 const CommentItem: React.FC<{ 
     comment: Comment, 
-    onReply: (parentId: number) => void,
-    onDelete: (id: number) => void,
+    onReply: (parentId: string) => void,
+    onDelete: (id: string) => void,
     currentUserId?: number,
     isAuthenticated: boolean,
     isReply?: boolean 
@@ -93,14 +93,14 @@ export const CommentSection: React.FC<CommentSectionProps> = ({ postId }) => {
   const { comments, isLoading } = useAppSelector((state) => state.comments);
   
   const [newComment, setNewComment] = useState('');
-  const [replyTo, setReplyTo] = useState<number | null>(null);
+  const [replyTo, setReplyTo] = useState<string | null>(null);
   const [replyContent, setReplyContent] = useState('');
 
   useEffect(() => {
     dispatch(fetchCommentsByPostId(Number(postId)));
   }, [dispatch, postId]);
 
-  const handleSubmit = async (e: React.FormEvent, parentId?: number) => {
+  const handleSubmit = async (e: React.FormEvent, parentId?: string) => {
     e.preventDefault();
     const content = parentId ? replyContent : newComment;
     if (!content.trim()) return;